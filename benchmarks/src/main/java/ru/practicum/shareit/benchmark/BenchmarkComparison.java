@@ -0,0 +1,62 @@
+package ru.practicum.shareit.benchmark;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.TreeMap;
+
+// Сравнение двух JSON-результатов JMH (-rf json): для каждого бенчмарка с параметрами - оценка в базовом
+// и текущем прогоне и изменение в процентах. Изменение в пределах суммы погрешностей помечается "~"
+public final class BenchmarkComparison {
+
+    private BenchmarkComparison() {
+    }
+
+    private record Score(double value, double error, String unit) {
+    }
+
+    public static void main(String[] args) throws IOException {
+        if (args.length != 2) {
+            System.err.println("Использование: BenchmarkComparison <baseline.json> <current.json>");
+            System.exit(2);
+        }
+        Map<String, Score> baseline = read(new File(args[0]));
+        Map<String, Score> current = read(new File(args[1]));
+
+        System.out.printf("%-70s %14s %14s %9s%n", "benchmark", "baseline", "current", "change");
+        for (Map.Entry<String, Score> entry : current.entrySet()) {
+            Score now = entry.getValue();
+            Score before = baseline.get(entry.getKey());
+            if (before == null) {
+                System.out.printf("%-70s %14s %14.3f %9s%n", entry.getKey(), "-", now.value(), "new");
+                continue;
+            }
+            double change = (now.value() - before.value()) / before.value() * 100;
+            boolean significant = Math.abs(now.value() - before.value()) > now.error() + before.error();
+            System.out.printf("%-70s %14.3f %14.3f %+8.1f%%%s %s%n", entry.getKey(), before.value(), now.value(),
+                    change, significant ? "" : "~", now.unit());
+        }
+    }
+
+    // Ключ - имя бенчмарка с параметрами, например MapperBenchmark.bookingPage{pageSize=20}
+    private static Map<String, Score> read(File file) throws IOException {
+        Map<String, Score> scores = new TreeMap<>();
+        for (JsonNode run : new ObjectMapper().readTree(file)) {
+            String benchmark = run.path("benchmark").asText();
+            Map<String, String> params = new LinkedHashMap<>();
+            Iterator<Map.Entry<String, JsonNode>> fields = run.path("params").fields();
+            fields.forEachRemaining(param -> params.put(param.getKey(), param.getValue().asText()));
+            String key = benchmark.substring(benchmark.lastIndexOf('.', benchmark.lastIndexOf('.') - 1) + 1)
+                    + (params.isEmpty() ? "" : params.toString());
+            JsonNode metric = run.path("primaryMetric");
+            scores.put(key, new Score(metric.path("score").asDouble(), metric.path("scoreError").asDouble(),
+                    metric.path("scoreUnit").asText()));
+        }
+        return scores;
+    }
+}
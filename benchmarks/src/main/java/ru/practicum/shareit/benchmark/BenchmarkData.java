@@ -0,0 +1,121 @@
+package ru.practicum.shareit.benchmark;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+import ru.practicum.shareit.booking.BookingStatus;
+import ru.practicum.shareit.booking.dto.BookingDtoOnlyDate;
+import ru.practicum.shareit.booking.model.Booking;
+import ru.practicum.shareit.item.model.Comment;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.user.model.User;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+// Наборы данных для бенчмарков: сущности в памяти для мапперов и сериализации
+// и заполнение БД для сервисов. Данные детерминированы, чтобы прогоны на разных коммитах были сравнимы
+final class BenchmarkData {
+    static final int ITEMS_PER_OWNER = 5;
+    static final int BOOKINGS_PER_ITEM = 10;
+    static final int COMMENTS_PER_ITEM = 2;
+    // Каждая сотая вещь находится поиском по SEARCH_TERM
+    static final String SEARCH_TERM = "дрель";
+
+    private static final LocalDateTime BASE = LocalDateTime.of(2030, 1, 1, 12, 0);
+
+    private BenchmarkData() {
+    }
+
+    static User user(long id) {
+        User user = new User();
+        user.setId(id);
+        user.setName("user " + id);
+        user.setEmail("user" + id + "@shareit.ru");
+        return user;
+    }
+
+    static Item item(long id, User owner) {
+        Item item = new Item();
+        item.setId(id);
+        item.setName("item " + id);
+        item.setDescription("description of item " + id);
+        item.setAvailable(true);
+        item.setOwner(owner);
+        return item;
+    }
+
+    static List<Item> items(int count) {
+        List<Item> items = new ArrayList<>(count);
+        for (int i = 1; i <= count; i++) {
+            items.add(item(i, user((i - 1) / ITEMS_PER_OWNER + 1)));
+        }
+        return items;
+    }
+
+    static List<Booking> bookings(int count) {
+        List<Booking> bookings = new ArrayList<>(count);
+        for (int i = 1; i <= count; i++) {
+            Booking booking = new Booking();
+            booking.setId((long) i);
+            booking.setStartDate(BASE.plusDays(i * 3L));
+            booking.setEndDate(BASE.plusDays(i * 3L + 2));
+            booking.setItem(item(i, user(i)));
+            booking.setBooker(user(i + 1));
+            booking.setStatus(BookingStatus.APPROVED);
+            bookings.add(booking);
+        }
+        return bookings;
+    }
+
+    static List<Comment> comments(List<Item> items, int perItem) {
+        List<Comment> comments = new ArrayList<>(items.size() * perItem);
+        long id = 1;
+        for (Item item : items) {
+            for (int i = 0; i < perItem; i++) {
+                Comment comment = new Comment();
+                comment.setId(id);
+                comment.setText("comment " + id++ + " about " + item.getName());
+                comment.setItem(item);
+                comment.setAuthor(user(item.getOwner().getId() + 1));
+                comment.setCreated(BASE);
+                comments.add(comment);
+            }
+        }
+        return comments;
+    }
+
+    static BookingDtoOnlyDate bookingDate(long id, long dayOffset) {
+        return new BookingDtoOnlyDate(id, BASE.plusDays(dayOffset), BASE.plusDays(dayOffset + 2),
+                BookingStatus.APPROVED);
+    }
+
+    // Заполнение пустой БД: items вещей по ITEMS_PER_OWNER у владельца, по BOOKINGS_PER_ITEM непересекающихся
+    // бронирований на вещь (прошедшие, текущие и будущие; 80% подтверждены) и по COMMENTS_PER_ITEM комментариев
+    static void seed(JdbcTemplate jdbc, int items) {
+        int users = items / ITEMS_PER_OWNER;
+        jdbc.update("INSERT INTO users (id, name, email) " +
+                "SELECT x, 'user ' || x, 'user' || x || '@shareit.ru' FROM SYSTEM_RANGE(1, ?)", users);
+        jdbc.update("INSERT INTO items (id, name, description, available, owner_id) " +
+                "SELECT x, 'item ' || x, " +
+                "       'description of item ' || x || CASE WHEN MOD(x, 100) = 0 THEN ' " + SEARCH_TERM + "' ELSE '' END, " +
+                "       MOD(x, 10) <> 0, (x - 1) / ? + 1 " +
+                "FROM SYSTEM_RANGE(1, ?)", ITEMS_PER_OWNER, items);
+        // Бронирование x - слот (x - 1) / items вещи MOD(x - 1, items) + 1: двое суток каждые трое,
+        // первые слоты уже прошли. Бронирующий - не владелец вещи
+        jdbc.update("INSERT INTO bookings (id, start_date, end_date, item_id, booker_id, status) " +
+                "SELECT x, " +
+                "       DATEADD('DAY', ((x - 1) / ?) * 3 - 9, LOCALTIMESTAMP), " +
+                "       DATEADD('DAY', ((x - 1) / ?) * 3 - 7, LOCALTIMESTAMP), " +
+                "       MOD(x - 1, ?) + 1, " +
+                "       MOD((MOD(x - 1, ?) / ?) + 1 + (x - 1) / ?, ?) + 1, " +
+                "       CASE MOD(x + (x - 1) / ?, 10) WHEN 0 THEN 'REJECTED' WHEN 1 THEN 'WAITING' ELSE 'APPROVED' END " +
+                "FROM SYSTEM_RANGE(1, ?)",
+                items, items, items, items, ITEMS_PER_OWNER, items, users, items, items * BOOKINGS_PER_ITEM);
+        jdbc.update("INSERT INTO comments (id, text, item_id, author_id, created) " +
+                "SELECT x, 'comment ' || x, MOD(x - 1, ?) + 1, MOD((MOD(x - 1, ?) / ?) + 1, ?) + 1, " +
+                "       DATEADD('DAY', -1, LOCALTIMESTAMP) " +
+                "FROM SYSTEM_RANGE(1, ?)",
+                items, items, ITEMS_PER_OWNER, users, items * COMMENTS_PER_ITEM);
+        jdbc.execute("ANALYZE");
+    }
+}
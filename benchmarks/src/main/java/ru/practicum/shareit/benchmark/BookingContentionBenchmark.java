@@ -0,0 +1,128 @@
+package ru.practicum.shareit.benchmark;
+
+import org.openjdk.jmh.annotations.*;
+import org.springframework.context.ConfigurableApplicationContext;
+import ru.practicum.shareit.booking.dto.BookingAddDto;
+import ru.practicum.shareit.booking.dto.BookingFrontDto;
+import ru.practicum.shareit.booking.service.BookingService;
+import ru.practicum.shareit.exception.ConflictException;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.item.repository.ItemRepository;
+import ru.practicum.shareit.user.model.User;
+import ru.practicum.shareit.user.repository.UserRepository;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+// Конкуренция за «горячую» вещь: create + approve из нескольких потоков на одну вещь против той же нагрузки,
+// распределённой по вещам потоков, и отказ по индексу интервалов на уже подтверждённый период.
+// Каждое бронирование - отдельный часовой слот без пересечений, потоки конкурируют только за блокировку вещи.
+// На каждую итерацию создаются новые вещи, чтобы число интервалов вещи не росло от итерации к итерации
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SampleTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Threads(BookingContentionBenchmark.THREADS)
+@Fork(1)
+public class BookingContentionBenchmark {
+    static final int THREADS = 8;
+
+    private ConfigurableApplicationContext context;
+    private BookingService bookingService;
+    private ItemRepository itemRepository;
+    private User owner;
+    private User booker;
+    private LocalDateTime start;
+    private final AtomicInteger threadIndexes = new AtomicInteger();
+
+    private List<Item> items;
+    private AtomicInteger slots;
+
+    // Номер потока - индекс его вещи в сценарии с разными вещами
+    @State(Scope.Thread)
+    public static class ThreadIndex {
+        int index;
+
+        @Setup(Level.Trial)
+        public void setUp(BookingContentionBenchmark benchmark) {
+            index = benchmark.threadIndexes.getAndIncrement() % THREADS;
+        }
+    }
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = BenchmarkContext.start("booking_contention");
+        bookingService = context.getBean(BookingService.class);
+        itemRepository = context.getBean(ItemRepository.class);
+        UserRepository userRepository = context.getBean(UserRepository.class);
+        owner = userRepository.save(user("owner"));
+        booker = userRepository.save(user("booker"));
+        start = LocalDateTime.now().plusDays(1).withNano(0);
+    }
+
+    // Первый слот горячей вещи (items[0]) подтверждается заранее: на него приходятся попытки с пересечением
+    @Setup(Level.Iteration)
+    public void setUpIteration() {
+        items = new ArrayList<>(THREADS);
+        for (int i = 0; i < THREADS; i++) {
+            Item item = new Item();
+            item.setName("item " + i);
+            item.setDescription("description of item " + i);
+            item.setAvailable(true);
+            item.setOwner(owner);
+            items.add(itemRepository.save(item));
+        }
+        slots = new AtomicInteger();
+        createAndApprove(items.getFirst());
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    private static User user(String name) {
+        User user = new User();
+        user.setName(name);
+        user.setEmail(name + "@shareit.ru");
+        return user;
+    }
+
+    private BookingAddDto booking(Item item, LocalDateTime bookingStart) {
+        BookingAddDto dto = new BookingAddDto();
+        dto.setItemId(item.getId());
+        dto.setStart(bookingStart);
+        dto.setEnd(bookingStart.plusHours(1));
+        return dto;
+    }
+
+    private BookingFrontDto createAndApprove(Item item) {
+        int slot = slots.getAndIncrement();
+        Long bookingId = bookingService.create(booker.getId(), booking(item, start.plusHours(slot))).getId();
+        return bookingService.approve(owner.getId(), bookingId, true);
+    }
+
+    @Benchmark
+    public BookingFrontDto createAndApproveOwnItem(ThreadIndex thread) {
+        return createAndApprove(items.get(thread.index));
+    }
+
+    @Benchmark
+    public BookingFrontDto createAndApproveHotItem() {
+        return createAndApprove(items.getFirst());
+    }
+
+    @Benchmark
+    public ConflictException createOverlappingHotItem() {
+        try {
+            bookingService.create(booker.getId(), booking(items.getFirst(), start.plusMinutes(30)));
+        } catch (ConflictException e) {
+            return e;
+        }
+        throw new IllegalStateException("Пересекающееся бронирование не отклонено");
+    }
+}
@@ -0,0 +1,84 @@
+package ru.practicum.shareit.benchmark;
+
+import org.openjdk.jmh.annotations.*;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.jdbc.datasource.init.ResourceDatabasePopulator;
+import ru.practicum.shareit.item.repository.ItemRepository;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+// Поиск вещей через LIKE против полнотекстового поиска PostgreSQL на 1 млн вещей. Нужен PostgreSQL с расширением
+// pg_trgm (адрес и учётная запись - параметры url, user, password); вещи добавляются один раз, если их меньше ITEMS.
+// В прогон по умолчанию не входит (jmh.exclude), запускается явно с -Djmh.include=ItemSearchBenchmark
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SampleTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(1)
+public class ItemSearchBenchmark {
+    private static final int ITEMS = 1_000_000;
+    private static final int LIMIT = 100;
+
+    private static final String LIKE_SEARCH_SQL = "SELECT i.* FROM items i " +
+            "WHERE i.available = TRUE " +
+            "AND (upper(i.name) LIKE upper('%' || :text || '%') " +
+            "  OR upper(i.description) LIKE upper('%' || :text || '%')) " +
+            "LIMIT :limit";
+
+    @Param({"jdbc:postgresql://localhost:5432/shareit"})
+    public String url;
+
+    @Param({"shareit"})
+    public String user;
+
+    @Param({"shareit"})
+    public String password;
+
+    @Param({"like", "fulltext"})
+    public String engine;
+
+    @Param({"дрель", "a1b2", "item 7f3", "description 00"})
+    public String term;
+
+    private NamedParameterJdbcTemplate jdbc;
+    private String sql;
+    private Map<String, Object> params;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        DriverManagerDataSource dataSource = new DriverManagerDataSource(url, user, password);
+        new ResourceDatabasePopulator(new ClassPathResource("schema.sql"),
+                new ClassPathResource("schema-postgresql.sql")).execute(dataSource);
+        jdbc = new NamedParameterJdbcTemplate(dataSource);
+        seed();
+        sql = engine.equals("like") ? LIKE_SEARCH_SQL : ItemRepository.FULL_TEXT_SEARCH_SQL;
+        params = Map.of("text", term, "limit", LIMIT);
+    }
+
+    // Каждая тысячная вещь находится по слову «дрель», каждая десятая недоступна для бронирования
+    private void seed() {
+        Long items = jdbc.getJdbcTemplate().queryForObject("SELECT count(*) FROM items", Long.class);
+        if (items != null && items >= ITEMS) {
+            return;
+        }
+        jdbc.getJdbcTemplate().update("INSERT INTO users(name, email) VALUES ('benchmark', 'benchmark@shareit.ru') " +
+                "ON CONFLICT DO NOTHING");
+        jdbc.getJdbcTemplate().update("INSERT INTO items(name, description, available, owner_id) " +
+                "SELECT 'item ' || md5(g::text), " +
+                "       'description ' || md5((g * 7)::text) || CASE WHEN g % 1000 = 0 THEN ' дрель' ELSE '' END, " +
+                "       g % 10 <> 0, " +
+                "       (SELECT id FROM users WHERE email = 'benchmark@shareit.ru') " +
+                "FROM generate_series(1, ?) g", ITEMS - (items == null ? 0 : items));
+        jdbc.getJdbcTemplate().execute("ANALYZE items");
+    }
+
+    @Benchmark
+    public List<Map<String, Object>> search() {
+        return jdbc.queryForList(sql, params);
+    }
+}
@@ -0,0 +1,64 @@
+package ru.practicum.shareit.benchmark;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import ru.practicum.shareit.booking.BookingMapper;
+import ru.practicum.shareit.booking.dto.BookingFrontDto;
+import ru.practicum.shareit.item.CommentMapper;
+import ru.practicum.shareit.item.ItemMapper;
+import ru.practicum.shareit.item.dto.CommentNestedDto;
+import ru.practicum.shareit.item.dto.ItemFrontDtoWithBookingDate;
+import ru.practicum.shareit.item.model.Item;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+// Сериализация ответов в JSON тем же ObjectMapper, что собирает Spring Boot (даты - строками ISO-8601)
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class JsonSerializationBenchmark {
+    @Param({"20", "100"})
+    public int pageSize;
+
+    private ObjectMapper objectMapper;
+    private List<BookingFrontDto> bookingPage;
+    private List<ItemFrontDtoWithBookingDate> ownerItems;
+
+    @Setup
+    public void setUp() {
+        objectMapper = Jackson2ObjectMapperBuilder.json()
+                .featuresToDisable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+                .build();
+        bookingPage = BenchmarkData.bookings(pageSize).stream()
+                .map(BookingMapper::bookingToFrontBookingDto)
+                .toList();
+        List<Item> items = BenchmarkData.items(pageSize);
+        Map<Long, List<CommentNestedDto>> comments = CommentMapper.commentToCommentNestedDtoByItemId(
+                BenchmarkData.comments(items, BenchmarkData.COMMENTS_PER_ITEM));
+        ownerItems = items.stream()
+                .map(item -> ItemMapper.itemToFrontDtoWithBookingDate(
+                        BenchmarkData.bookingDate(item.getId(), -3),
+                        BenchmarkData.bookingDate(item.getId() + 1, 3),
+                        comments.getOrDefault(item.getId(), List.of()),
+                        item))
+                .toList();
+    }
+
+    @Benchmark
+    public byte[] bookingFrontDtoPage() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(bookingPage);
+    }
+
+    @Benchmark
+    public byte[] ownerItemsWithBookingDates() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(ownerItems);
+    }
+}
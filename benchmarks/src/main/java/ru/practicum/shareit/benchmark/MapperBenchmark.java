@@ -0,0 +1,68 @@
+package ru.practicum.shareit.benchmark;
+
+import org.openjdk.jmh.annotations.*;
+import ru.practicum.shareit.booking.BookingMapper;
+import ru.practicum.shareit.booking.dto.BookingFrontDto;
+import ru.practicum.shareit.booking.model.Booking;
+import ru.practicum.shareit.item.CommentMapper;
+import ru.practicum.shareit.item.ItemMapper;
+import ru.practicum.shareit.item.dto.CommentNestedDto;
+import ru.practicum.shareit.item.dto.ItemFrontDto;
+import ru.practicum.shareit.item.dto.ItemFrontDtoWithBookingDate;
+import ru.practicum.shareit.item.model.Comment;
+import ru.practicum.shareit.item.model.Item;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+// Мапперы на объёмах одной страницы ответа: страница бронирований, вещи владельца и комментарии к ним
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class MapperBenchmark {
+    @Param({"20", "100"})
+    public int pageSize;
+
+    private List<Booking> bookings;
+    private List<Item> items;
+    private List<Comment> comments;
+    private Map<Long, List<CommentNestedDto>> commentsByItemId;
+
+    @Setup
+    public void setUp() {
+        bookings = BenchmarkData.bookings(pageSize);
+        items = BenchmarkData.items(pageSize);
+        comments = BenchmarkData.comments(items, BenchmarkData.COMMENTS_PER_ITEM);
+        commentsByItemId = CommentMapper.commentToCommentNestedDtoByItemId(comments);
+    }
+
+    @Benchmark
+    public List<BookingFrontDto> bookingPage() {
+        return bookings.stream().map(BookingMapper::bookingToFrontBookingDto).toList();
+    }
+
+    @Benchmark
+    public List<ItemFrontDto> itemsWithComments() {
+        return ItemMapper.itemToFrontItemDtoList(commentsByItemId, items);
+    }
+
+    @Benchmark
+    public List<ItemFrontDtoWithBookingDate> ownerItemsWithBookingDates() {
+        return items.stream()
+                .map(item -> ItemMapper.itemToFrontDtoWithBookingDate(
+                        BenchmarkData.bookingDate(item.getId(), -3),
+                        BenchmarkData.bookingDate(item.getId() + 1, 3),
+                        commentsByItemId.getOrDefault(item.getId(), List.of()),
+                        item))
+                .toList();
+    }
+
+    @Benchmark
+    public Map<Long, List<CommentNestedDto>> commentsGroupedByItem() {
+        return CommentMapper.commentToCommentNestedDtoByItemId(comments);
+    }
+}
@@ -0,0 +1,76 @@
+package ru.practicum.shareit.benchmark;
+
+import org.openjdk.jmh.annotations.*;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+import ru.practicum.shareit.booking.BookingQueryState;
+import ru.practicum.shareit.booking.dto.BookingFrontDto;
+import ru.practicum.shareit.booking.service.BookingService;
+import ru.practicum.shareit.pagination.KeysetPage;
+
+import java.util.concurrent.TimeUnit;
+
+// Бронирования владельца по состояниям: один владелец, bookings бронирований его вещей на год назад и год вперёд.
+// pages - глубина обхода по курсору: 1 - первая страница, больше - стоимость чтения глубоких страниц
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(1)
+public class OwnerBookingsBenchmark {
+    private static final int ITEMS = 1_000;
+    private static final int PAGE_SIZE = 20;
+    private static final long OWNER_ID = 1L;
+
+    @Param({"100000"})
+    public int bookings;
+
+    @Param({"ALL", "CURRENT", "PAST", "FUTURE", "WAITING", "REJECTED"})
+    public BookingQueryState state;
+
+    @Param({"1", "50"})
+    public int pages;
+
+    private ConfigurableApplicationContext context;
+    private BookingService bookingService;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = BenchmarkContext.start("owner_bookings");
+        seed(context.getBean(JdbcTemplate.class), bookings);
+        bookingService = context.getBean(BookingService.class);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    // Владелец 1 и бронирующий 2; бронирования равномерно распределены по ITEMS вещам владельца
+    // на год назад и год вперёд от текущего момента, статусы чередуются
+    private static void seed(JdbcTemplate jdbc, int bookings) {
+        jdbc.update("INSERT INTO users (id, name, email) VALUES (1, 'owner', 'owner@shareit.ru'), " +
+                "(2, 'booker', 'booker@shareit.ru')");
+        jdbc.update("INSERT INTO items (id, name, description, available, owner_id) " +
+                "SELECT x, 'item ' || x, 'description of item ' || x, TRUE, 1 FROM SYSTEM_RANGE(1, ?)", ITEMS);
+        jdbc.update("INSERT INTO bookings (id, start_date, end_date, item_id, booker_id, status) " +
+                "SELECT x, " +
+                "       DATEADD('MINUTE', (x - ? / 2) * 10, LOCALTIMESTAMP), " +
+                "       DATEADD('MINUTE', (x - ? / 2) * 10 + 60, LOCALTIMESTAMP), " +
+                "       MOD(x, ?) + 1, 2, " +
+                "       CASE MOD(x, 3) WHEN 0 THEN 'WAITING' WHEN 1 THEN 'APPROVED' ELSE 'REJECTED' END " +
+                "FROM SYSTEM_RANGE(1, ?)", bookings, bookings, ITEMS, bookings);
+        jdbc.execute("ANALYZE");
+    }
+
+    @Benchmark
+    public KeysetPage<BookingFrontDto> ownerBookings() {
+        KeysetPage<BookingFrontDto> page = bookingService.getBookingOfOwnerByState(OWNER_ID, state, 0, PAGE_SIZE,
+                null);
+        for (int i = 1; i < pages && page.getNextCursor() != null; i++) {
+            page = bookingService.getBookingOfOwnerByState(OWNER_ID, state, 0, PAGE_SIZE, page.getNextCursor());
+        }
+        return page;
+    }
+}
@@ -0,0 +1,92 @@
+package ru.practicum.shareit.benchmark;
+
+import org.openjdk.jmh.annotations.*;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+import ru.practicum.shareit.booking.BookingQueryState;
+import ru.practicum.shareit.booking.dto.BookingFrontDto;
+import ru.practicum.shareit.booking.service.BookingService;
+import ru.practicum.shareit.item.dto.ItemAvailabilityDto;
+import ru.practicum.shareit.item.dto.ItemFrontDto;
+import ru.practicum.shareit.item.dto.ItemFrontDtoWithBookingDate;
+import ru.practicum.shareit.item.service.ItemService;
+import ru.practicum.shareit.pagination.KeysetPage;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+// Сервисы вместе с запросами репозиториев на H2 в памяти. Контекст приложения поднимается без веб-сервера
+// с профилем test; БД заполняется один раз на форк (items вещей, в 10 раз больше бронирований).
+// Бенчмарки только читают данные, поэтому результаты итераций не зависят друг от друга
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(1)
+public class ServiceBenchmark {
+    private static final int PAGE_SIZE = 20;
+
+    @Param({"10000"})
+    public int items;
+
+    private ConfigurableApplicationContext context;
+    private ItemService itemService;
+    private BookingService bookingService;
+    private int users;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = BenchmarkContext.start("benchmark");
+        BenchmarkData.seed(context.getBean(JdbcTemplate.class), items);
+        itemService = context.getBean(ItemService.class);
+        bookingService = context.getBean(BookingService.class);
+        users = items / BenchmarkData.ITEMS_PER_OWNER;
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    private long randomUser() {
+        return ThreadLocalRandom.current().nextLong(1, users + 1);
+    }
+
+    private long randomItem() {
+        return ThreadLocalRandom.current().nextLong(1, items + 1);
+    }
+
+    @Benchmark
+    public ItemFrontDto itemById() {
+        return itemService.getItemFrontDtoById(randomItem());
+    }
+
+    @Benchmark
+    public Collection<ItemFrontDtoWithBookingDate> ownerItemsWithBookingDetails() {
+        return itemService.getOwnerItemsWithBookingDetails(randomUser());
+    }
+
+    @Benchmark
+    public ItemAvailabilityDto itemAvailabilityForMonth() {
+        LocalDateTime from = LocalDateTime.now();
+        return itemService.getAvailability(randomItem(), from, from.plusDays(30));
+    }
+
+    @Benchmark
+    public Collection<ItemFrontDto> itemSearch() {
+        return itemService.itemSearchByNameOrDescription(BenchmarkData.SEARCH_TERM);
+    }
+
+    @Benchmark
+    public KeysetPage<BookingFrontDto> bookerBookingsAll() {
+        return bookingService.getBookingOfUserByState(randomUser(), BookingQueryState.ALL, 0, PAGE_SIZE, null);
+    }
+
+    @Benchmark
+    public KeysetPage<BookingFrontDto> ownerBookingsFuture() {
+        return bookingService.getBookingOfOwnerByState(randomUser(), BookingQueryState.FUTURE, 0, PAGE_SIZE, null);
+    }
+}
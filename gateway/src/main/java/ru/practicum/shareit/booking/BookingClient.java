@@ -1,16 +1,19 @@
 package ru.practicum.shareit.booking;
 
+import jakarta.servlet.http.HttpServletResponse;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.boot.web.client.RestTemplateBuilder;
 import org.springframework.http.ResponseEntity;
-import org.springframework.http.client.HttpComponentsClientHttpRequestFactory;
+import org.springframework.http.client.ClientHttpRequestFactory;
 import org.springframework.stereotype.Service;
 import org.springframework.web.util.DefaultUriBuilderFactory;
 import ru.practicum.shareit.booking.dto.BookItemRequestDto;
 import ru.practicum.shareit.booking.dto.BookingState;
 import ru.practicum.shareit.client.BaseClient;
 
+import java.io.IOException;
+import java.util.HashMap;
 import java.util.Map;
 
 @Service
@@ -18,22 +21,19 @@ public class BookingClient extends BaseClient {
     private static final String API_PREFIX = "/bookings";
 
     @Autowired
-    public BookingClient(@Value("${shareit-server.url}") String serverUrl, RestTemplateBuilder builder) {
+    public BookingClient(@Value("${shareit-server.url}") String serverUrl, RestTemplateBuilder builder,
+                         ClientHttpRequestFactory shareItServerRequestFactory) {
         super(
                 builder
                         .uriTemplateHandler(new DefaultUriBuilderFactory(serverUrl + API_PREFIX))
-                        .requestFactory(() -> new HttpComponentsClientHttpRequestFactory())
+                        .requestFactory(() -> shareItServerRequestFactory)
                         .build()
         );
     }
 
-    public ResponseEntity<Object> getBookings(long userId, BookingState state, Integer from, Integer size) {
-        Map<String, Object> parameters = Map.of(
-                "state", state.name(),
-                "from", from,
-                "size", size
-        );
-        return get("?state={state}&from={from}&size={size}", userId, parameters);
+    public ResponseEntity<Object> getBookings(long userId, BookingState state, Integer from, Integer size, String cursor) {
+        return get("?state={state}&from={from}&size={size}" + cursorQuery(cursor), userId,
+                pageParameters(state.name(), from, size, cursor));
     }
 
     public ResponseEntity<Object> bookItem(long userId, BookItemRequestDto requestDto) {
@@ -48,7 +48,24 @@ public class BookingClient extends BaseClient {
         return patch(String.format("/%d?approved=%b", bookingId, approved), approverId, bookingId);
     }
 
-    public ResponseEntity<Object> getBookingOfOwnerByState(Long ownerId, BookingQueryState bookingQueryState) {
-        return get(String.format("/owner/state=%b", bookingQueryState), ownerId);
+    public ResponseEntity<Object> getBookingOfOwnerByState(Long ownerId, BookingQueryState bookingQueryState,
+                                                           Integer from, Integer size, String cursor) {
+        return get("/owner?state={state}&from={from}&size={size}" + cursorQuery(cursor), ownerId,
+                pageParameters(bookingQueryState.name(), from, size, cursor));
+    }
+
+    public void exportBookingsOfOwner(long ownerId, HttpServletResponse response) throws IOException {
+        stream("/owner/export", ownerId, response);
+    }
+
+    private static Map<String, Object> pageParameters(String state, Integer from, Integer size, String cursor) {
+        Map<String, Object> parameters = new HashMap<>();
+        parameters.put("state", state);
+        parameters.put("from", from);
+        parameters.put("size", size);
+        if (cursor != null) {
+            parameters.put("cursor", cursor);
+        }
+        return parameters;
     }
 }
\ No newline at end of file
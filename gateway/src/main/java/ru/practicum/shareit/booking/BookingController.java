@@ -1,5 +1,6 @@
 package ru.practicum.shareit.booking;
 
+import jakarta.servlet.http.HttpServletResponse;
 import jakarta.validation.Valid;
 import jakarta.validation.constraints.Positive;
 import jakarta.validation.constraints.PositiveOrZero;
@@ -12,6 +13,8 @@ import org.springframework.web.bind.annotation.*;
 import ru.practicum.shareit.booking.dto.BookItemRequestDto;
 import ru.practicum.shareit.booking.dto.BookingState;
 
+import java.io.IOException;
+
 
 @Slf4j
 @Controller
@@ -25,11 +28,12 @@ public class BookingController {
     public ResponseEntity<Object> getBookings(@RequestHeader("X-Sharer-User-Id") long userId,
                                               @RequestParam(name = "state", defaultValue = "all") String stateParam,
                                               @PositiveOrZero @RequestParam(name = "from", defaultValue = "0") Integer from,
-                                              @Positive @RequestParam(name = "size", defaultValue = "10") Integer size) {
+                                              @Positive @RequestParam(name = "size", defaultValue = "10") Integer size,
+                                              @RequestParam(name = "cursor", required = false) String cursor) {
         BookingState state = BookingState.from(stateParam)
                 .orElseThrow(() -> new IllegalArgumentException("Unknown state: " + stateParam));
-        log.info("Get booking with state {}, userId={}, from={}, size={}", stateParam, userId, from, size);
-        return bookingClient.getBookings(userId, state, from, size);
+        log.info("Get booking with state {}, userId={}, from={}, size={}, cursor={}", stateParam, userId, from, size, cursor);
+        return bookingClient.getBookings(userId, state, from, size, cursor);
     }
 
     @PostMapping
@@ -57,8 +61,19 @@ public class BookingController {
     @GetMapping("/owner")
     public ResponseEntity<Object> getBookingOfOwnerByState(@RequestHeader("X-Sharer-User-Id") Long ownerId,
                                                            @RequestParam(value = "state",
-                                                                   defaultValue = "ALL") BookingQueryState bookingQueryState) {
-        return bookingClient.getBookingOfOwnerByState(ownerId, bookingQueryState);
+                                                                   defaultValue = "ALL") BookingQueryState bookingQueryState,
+                                                           @PositiveOrZero @RequestParam(name = "from", defaultValue = "0") Integer from,
+                                                           @Positive @RequestParam(name = "size", defaultValue = "10") Integer size,
+                                                           @RequestParam(name = "cursor", required = false) String cursor) {
+        log.info("Get owner bookings with state {}, ownerId={}, from={}, size={}, cursor={}",
+                bookingQueryState, ownerId, from, size, cursor);
+        return bookingClient.getBookingOfOwnerByState(ownerId, bookingQueryState, from, size, cursor);
     }
 
+    @GetMapping("/owner/export")
+    public void exportBookingsOfOwner(@RequestHeader("X-Sharer-User-Id") long ownerId,
+                                      HttpServletResponse response) throws IOException {
+        log.info("Export owner bookings, ownerId={}", ownerId);
+        bookingClient.exportBookingsOfOwner(ownerId, response);
+    }
 }
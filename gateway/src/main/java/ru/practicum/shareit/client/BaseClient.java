@@ -1,34 +1,60 @@
 package ru.practicum.shareit.client;
 
+import jakarta.servlet.http.HttpServletResponse;
 import org.springframework.http.*;
 import org.springframework.lang.Nullable;
+import org.springframework.util.StreamUtils;
 import org.springframework.web.client.HttpStatusCodeException;
 import org.springframework.web.client.RestTemplate;
 
+import java.io.IOException;
 import java.util.List;
+import java.util.Locale;
 import java.util.Map;
+import java.util.Set;
 
 public class BaseClient {
+    private static final Set<String> HOP_BY_HOP_HEADERS = Set.of("connection", "keep-alive", "proxy-authenticate",
+            "proxy-authorization", "te", "trailer", "transfer-encoding", "upgrade", "content-length");
+
     protected final RestTemplate rest;
+    @Nullable
+    private final ResponseCache responseCache;
 
     public BaseClient(RestTemplate rest) {
-        this.rest = rest;
+        this(rest, null);
     }
 
-    private static ResponseEntity<Object> prepareGatewayResponse(ResponseEntity<Object> response) {
-        if (response.getStatusCode().is2xxSuccessful()) {
-            return response;
-        }
+    public BaseClient(RestTemplate rest, @Nullable ResponseCache responseCache) {
+        this.rest = rest;
+        this.responseCache = responseCache;
+    }
 
-        ResponseEntity.BodyBuilder responseBuilder = ResponseEntity.status(response.getStatusCode());
+    // Тело ответа сервера передаётся клиенту байтами как есть, без разбора и повторной сериализации JSON
+    private static ResponseEntity<Object> prepareGatewayResponse(HttpStatusCode status, @Nullable HttpHeaders headers,
+                                                                 @Nullable byte[] body) {
+        ResponseEntity.BodyBuilder responseBuilder = ResponseEntity.status(status).headers(passThroughHeaders(headers));
 
-        if (response.hasBody()) {
-            return responseBuilder.body(response.getBody());
+        if (body != null && body.length > 0) {
+            return responseBuilder.body(body);
         }
 
         return responseBuilder.build();
     }
 
+    // Заголовки соединения (hop-by-hop) относятся к связи шлюз-сервер и клиенту не передаются
+    private static HttpHeaders passThroughHeaders(@Nullable HttpHeaders headers) {
+        HttpHeaders result = new HttpHeaders();
+        if (headers != null) {
+            headers.forEach((name, values) -> {
+                if (!HOP_BY_HOP_HEADERS.contains(name.toLowerCase(Locale.ROOT))) {
+                    result.addAll(name, values);
+                }
+            });
+        }
+        return result;
+    }
+
     protected ResponseEntity<Object> get(String path) {
         return get(path, null, null);
     }
@@ -41,6 +67,57 @@ public class BaseClient {
         return makeAndSendRequest(HttpMethod.GET, path, userId, parameters, null);
     }
 
+    // GET через кэш шлюза: свежая запись отдаётся без обращения к серверу,
+    // устаревшая перепроверяется запросом с If-None-Match (304 - тело не передаётся повторно)
+    protected ResponseEntity<Object> getCached(String path, Long userId) {
+        if (responseCache == null) {
+            return get(path, userId, null);
+        }
+        String uri = uri(path);
+        ResponseCache.CachedResponse cached = responseCache.get(uri, userId);
+        if (cached != null && cached.isFresh()) {
+            responseCache.recordHit();
+            return prepareGatewayResponse(HttpStatus.OK, cached.headers(), cached.body());
+        }
+
+        HttpHeaders headers = defaultHeaders(userId);
+        if (cached != null) {
+            headers.setIfNoneMatch(cached.etag());
+        }
+        ResponseEntity<byte[]> shareitServerResponse;
+        try {
+            shareitServerResponse = rest.exchange(path, HttpMethod.GET, new HttpEntity<>(headers), byte[].class);
+        } catch (HttpStatusCodeException e) {
+            responseCache.invalidate(uri);
+            return prepareGatewayResponse(e.getStatusCode(), e.getResponseHeaders(), e.getResponseBodyAsByteArray());
+        }
+
+        if (cached != null && shareitServerResponse.getStatusCode().isSameCodeAs(HttpStatus.NOT_MODIFIED)) {
+            responseCache.recordRevalidation();
+            cached = responseCache.refresh(uri, userId, cached);
+            return prepareGatewayResponse(HttpStatus.OK, cached.headers(), cached.body());
+        }
+        responseCache.recordMiss();
+        String etag = shareitServerResponse.getHeaders().getETag();
+        if (shareitServerResponse.getStatusCode().isSameCodeAs(HttpStatus.OK) && etag != null
+                && shareitServerResponse.getBody() != null) {
+            responseCache.put(uri, userId, etag, shareitServerResponse.getHeaders(), shareitServerResponse.getBody());
+        }
+        return prepareGatewayResponse(shareitServerResponse.getStatusCode(), shareitServerResponse.getHeaders(),
+                shareitServerResponse.getBody());
+    }
+
+    // Сбрасывает закэшированные ответы по ресурсу после его изменения через шлюз
+    protected void evict(String path) {
+        if (responseCache != null) {
+            responseCache.invalidate(uri(path));
+        }
+    }
+
+    private String uri(String path) {
+        return rest.getUriTemplateHandler().expand(path).toString();
+    }
+
     protected <T> ResponseEntity<Object> post(String path, T body) {
         return post(path, null, null, body);
     }
@@ -92,19 +169,52 @@ public class BaseClient {
     private <T> ResponseEntity<Object> makeAndSendRequest(HttpMethod method, String path, Long userId, @Nullable Map<String, Object> parameters, @Nullable T body) {
         HttpEntity<T> requestEntity = new HttpEntity<>(body, defaultHeaders(userId));
 
-        ResponseEntity<Object> shareitServerResponse;
+        ResponseEntity<byte[]> shareitServerResponse;
         try {
             if (parameters != null) {
-                shareitServerResponse = rest.exchange(path, method, requestEntity, Object.class, parameters);
+                shareitServerResponse = rest.exchange(path, method, requestEntity, byte[].class, parameters);
             } else {
-                shareitServerResponse = rest.exchange(path, method, requestEntity, Object.class);
+                shareitServerResponse = rest.exchange(path, method, requestEntity, byte[].class);
             }
         } catch (HttpStatusCodeException e) {
-            return ResponseEntity.status(e.getStatusCode()).body(e.getResponseBodyAsByteArray());
+            return prepareGatewayResponse(e.getStatusCode(), e.getResponseHeaders(), e.getResponseBodyAsByteArray());
+        }
+        return prepareGatewayResponse(shareitServerResponse.getStatusCode(), shareitServerResponse.getHeaders(),
+                shareitServerResponse.getBody());
+    }
+
+    // Курсор keyset-пагинации передаётся серверу только если он задан
+    protected static String cursorQuery(String cursor) {
+        return cursor == null ? "" : "&cursor={cursor}";
+    }
+
+    // Потоковая передача ответа сервера клиенту: тело копируется по мере чтения, без буферизации в шлюзе
+    protected void stream(String path, long userId, HttpServletResponse target) throws IOException {
+        try {
+            rest.execute(path, HttpMethod.GET,
+                    request -> {
+                        request.getHeaders().putAll(defaultHeaders(userId));
+                        request.getHeaders().setAccept(List.of(MediaType.APPLICATION_NDJSON, MediaType.APPLICATION_JSON));
+                    },
+                    response -> {
+                        target.setStatus(response.getStatusCode().value());
+                        MediaType contentType = response.getHeaders().getContentType();
+                        if (contentType != null) {
+                            target.setContentType(contentType.toString());
+                        }
+                        StreamUtils.copy(response.getBody(), target.getOutputStream());
+                        return null;
+                    });
+        } catch (HttpStatusCodeException e) {
+            // Ошибка получена до начала передачи тела - её можно вернуть клиенту как есть
+            target.setStatus(e.getStatusCode().value());
+            target.setContentType(MediaType.APPLICATION_JSON_VALUE);
+            target.getOutputStream().write(e.getResponseBodyAsByteArray());
         }
-        return prepareGatewayResponse(shareitServerResponse);
     }
 
+    // Заголовок traceparent к этим заголовкам добавляет наблюдение RestTemplate (клиенты собираются из
+    // RestTemplateBuilder Spring Boot): спан запроса шлюза к серверу становится родителем спанов сервера
     private HttpHeaders defaultHeaders(Long userId) {
         HttpHeaders headers = new HttpHeaders();
         headers.setContentType(MediaType.APPLICATION_JSON);
@@ -0,0 +1,26 @@
+package ru.practicum.shareit.client;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+// Настройки общего пула HTTP-соединений шлюза к shareit-server
+@Getter
+@Setter
+@ConfigurationProperties("shareit-server.http-client")
+public class HttpClientProperties {
+    // Все клиенты обращаются к одному хосту, поэтому лимит на маршрут совпадает с общим
+    private int maxConnections = 500;
+    private int maxConnectionsPerRoute = 500;
+    private Duration connectTimeout = Duration.ofSeconds(2);
+    // Ожидание свободного соединения из пула
+    private Duration connectionRequestTimeout = Duration.ofSeconds(2);
+    private Duration responseTimeout = Duration.ofSeconds(10);
+    // Меньше keep-alive таймаута Tomcat на сервере (20 с), чтобы не получить закрытое сервером соединение
+    private Duration keepAlive = Duration.ofSeconds(15);
+    private Duration idleEviction = Duration.ofSeconds(30);
+    private Duration validateAfterInactivity = Duration.ofSeconds(2);
+    private Duration timeToLive = Duration.ofMinutes(5);
+}
@@ -0,0 +1,94 @@
+package ru.practicum.shareit.client;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpHeaders;
+import org.springframework.lang.Nullable;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+// Кэш ответов shareit-server в шлюзе: ограниченный по размеру (LRU) и по времени жизни записи.
+// Ключ - полный URI запроса и X-Sharer-User-Id; устаревшая запись не удаляется, а перепроверяется по ETag
+@Component
+public class ResponseCache {
+    private static final String METRIC = "gateway.response.cache";
+
+    private final int maxEntries;
+    private final Duration ttl;
+    private final Map<Key, CachedResponse> entries;
+
+    private final Counter hits;
+    private final Counter misses;
+    private final Counter revalidations;
+
+    public ResponseCache(@Value("${shareit-server.cache.max-entries:10000}") int maxEntries,
+                         @Value("${shareit-server.cache.ttl:30s}") Duration ttl,
+                         MeterRegistry meterRegistry) {
+        this.maxEntries = maxEntries;
+        this.ttl = ttl;
+        // accessOrder = true: при переполнении вытесняется давно не запрашиваемая запись
+        this.entries = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Key, CachedResponse> eldest) {
+                return size() > ResponseCache.this.maxEntries;
+            }
+        };
+        this.hits = meterRegistry.counter(METRIC, "result", "hit");
+        this.misses = meterRegistry.counter(METRIC, "result", "miss");
+        this.revalidations = meterRegistry.counter(METRIC, "result", "revalidated");
+        Gauge.builder(METRIC + ".size", this, ResponseCache::size).register(meterRegistry);
+    }
+
+    private record Key(String uri, @Nullable Long userId) {
+    }
+
+    public record CachedResponse(String etag, HttpHeaders headers, byte[] body, Instant expiresAt) {
+        public boolean isFresh() {
+            return Instant.now().isBefore(expiresAt);
+        }
+    }
+
+    @Nullable
+    public synchronized CachedResponse get(String uri, @Nullable Long userId) {
+        return entries.get(new Key(uri, userId));
+    }
+
+    public synchronized void put(String uri, @Nullable Long userId, String etag, HttpHeaders headers, byte[] body) {
+        entries.put(new Key(uri, userId), new CachedResponse(etag, headers, body, Instant.now().plus(ttl)));
+    }
+
+    // Сервер подтвердил (304), что запись не изменилась - продлеваем её жизнь
+    public synchronized CachedResponse refresh(String uri, @Nullable Long userId, CachedResponse cached) {
+        CachedResponse refreshed = new CachedResponse(cached.etag(), cached.headers(), cached.body(),
+                Instant.now().plus(ttl));
+        entries.put(new Key(uri, userId), refreshed);
+        return refreshed;
+    }
+
+    // Изменение ресурса делает недействительными его записи для всех пользователей
+    public synchronized void invalidate(String uri) {
+        entries.keySet().removeIf(key -> key.uri().equals(uri));
+    }
+
+    public synchronized int size() {
+        return entries.size();
+    }
+
+    public void recordHit() {
+        hits.increment();
+    }
+
+    public void recordMiss() {
+        misses.increment();
+    }
+
+    public void recordRevalidation() {
+        revalidations.increment();
+    }
+}
@@ -4,24 +4,30 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.boot.web.client.RestTemplateBuilder;
 import org.springframework.http.ResponseEntity;
-import org.springframework.http.client.HttpComponentsClientHttpRequestFactory;
+import org.springframework.http.client.ClientHttpRequestFactory;
 import org.springframework.stereotype.Service;
 import org.springframework.web.util.DefaultUriBuilderFactory;
 import ru.practicum.shareit.client.BaseClient;
+import ru.practicum.shareit.client.ResponseCache;
 import ru.practicum.shareit.item.dto.CommentAddDto;
 import ru.practicum.shareit.item.dto.ItemAddDto;
 
+import java.time.LocalDateTime;
+import java.util.Map;
+
 @Service
 public class ItemClient extends BaseClient {
     private static final String API_PREFIX = "/items";
 
     @Autowired
-    public ItemClient(@Value("${shareit-server.url}") String serverUrl, RestTemplateBuilder builder) {
+    public ItemClient(@Value("${shareit-server.url}") String serverUrl, RestTemplateBuilder builder,
+                      ClientHttpRequestFactory shareItServerRequestFactory, ResponseCache responseCache) {
         super(
                 builder
                         .uriTemplateHandler(new DefaultUriBuilderFactory(serverUrl + API_PREFIX))
-                        .requestFactory(() -> new HttpComponentsClientHttpRequestFactory())
-                        .build()
+                        .requestFactory(() -> shareItServerRequestFactory)
+                        .build(),
+                responseCache
         );
     }
 
@@ -30,11 +36,30 @@ public class ItemClient extends BaseClient {
     }
 
     public ResponseEntity<Object> createComment(Long authorId, Long itemId, CommentAddDto commentAddDto) {
-        return post("/" + itemId + "/comment", authorId, commentAddDto);
+        ResponseEntity<Object> response = post("/" + itemId + "/comment", authorId, commentAddDto);
+        // Комментарии входят в ответ GET /items/{itemId}
+        evict("/" + itemId);
+        return response;
     }
 
     public ResponseEntity<Object> getItem(long itemId) {
-        return get("/" + itemId);
+        return getCached("/" + itemId, null);
+    }
+
+    public ResponseEntity<Object> searchItems(String text) {
+        Map<String, Object> parameters = Map.of(
+                "text", text
+        );
+        return get("/search?text={text}", null, parameters);
+    }
+
+    // Календарь меняется с каждым подтверждением, поэтому кэш шлюза не используется
+    public ResponseEntity<Object> getAvailability(long itemId, LocalDateTime from, LocalDateTime to) {
+        Map<String, Object> parameters = Map.of(
+                "from", from,
+                "to", to
+        );
+        return get("/" + itemId + "/availability?from={from}&to={to}", null, parameters);
     }
 
 }
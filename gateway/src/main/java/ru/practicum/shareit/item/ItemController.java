@@ -3,6 +3,7 @@ package ru.practicum.shareit.item;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.ResponseEntity;
 import org.springframework.stereotype.Controller;
 import org.springframework.validation.annotation.Validated;
@@ -10,6 +11,8 @@ import org.springframework.web.bind.annotation.*;
 import ru.practicum.shareit.item.dto.CommentAddDto;
 import ru.practicum.shareit.item.dto.ItemAddDto;
 
+import java.time.LocalDateTime;
+import java.util.List;
 
 @Slf4j
 @Controller
@@ -32,6 +35,23 @@ public class ItemController {
         return itemClient.getItem(itemId);
     }
 
+    @GetMapping("/search")
+    public ResponseEntity<Object> searchItems(@RequestParam String text) {
+        log.info("Search items, text={}", text);
+        if (text.isBlank()) {
+            return ResponseEntity.ok(List.of());
+        }
+        return itemClient.searchItems(text);
+    }
+
+    @GetMapping("/{itemId}/availability")
+    public ResponseEntity<Object> getAvailability(@PathVariable Long itemId,
+                                                  @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+                                                  @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to) {
+        log.info("Get availability itemId={}, from={}, to={}", itemId, from, to);
+        return itemClient.getAvailability(itemId, from, to);
+    }
+
     @PostMapping("/{itemId}/comment")
     public ResponseEntity<Object> addComment(@Valid @PathVariable Long itemId,
                                              @RequestHeader("X-Sharer-User-Id") Long authorId,
@@ -1,6 +1,8 @@
 package ru.practicum.shareit.request;
 
 import jakarta.validation.Valid;
+import jakarta.validation.constraints.Positive;
+import jakarta.validation.constraints.PositiveOrZero;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.http.ResponseEntity;
@@ -33,8 +35,12 @@ public class ItemRequestController {
 
     // Запросы других пользователей
     @GetMapping("/all")
-    public ResponseEntity<Object> getOtherRequests(@RequestHeader("X-Sharer-User-Id") Long ownerId) {
-        return itemRequestClient.getOtherUserRequests(ownerId);
+    public ResponseEntity<Object> getOtherRequests(@RequestHeader("X-Sharer-User-Id") Long ownerId,
+                                                   @PositiveOrZero @RequestParam(name = "from", defaultValue = "0") Integer from,
+                                                   @Positive @RequestParam(name = "size", defaultValue = "10") Integer size,
+                                                   @RequestParam(name = "cursor", required = false) String cursor) {
+        log.info("Get other users requests, userId={}, from={}, size={}, cursor={}", ownerId, from, size, cursor);
+        return itemRequestClient.getOtherUserRequests(ownerId, from, size, cursor);
     }
 
     // Вывод запроса предметов с ответами по его id
@@ -4,10 +4,11 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.boot.web.client.RestTemplateBuilder;
 import org.springframework.http.ResponseEntity;
-import org.springframework.http.client.HttpComponentsClientHttpRequestFactory;
+import org.springframework.http.client.ClientHttpRequestFactory;
 import org.springframework.stereotype.Service;
 import org.springframework.web.util.DefaultUriBuilderFactory;
 import ru.practicum.shareit.client.BaseClient;
+import ru.practicum.shareit.client.ResponseCache;
 import ru.practicum.shareit.user.dto.UserAddDto;
 import ru.practicum.shareit.user.dto.UserUpdateDto;
 
@@ -16,12 +17,14 @@ public class UserClient extends BaseClient {
     private static final String API_PREFIX = "/users";
 
     @Autowired
-    public UserClient(@Value("${shareit-server.url}") String serverUrl, RestTemplateBuilder builder) {
+    public UserClient(@Value("${shareit-server.url}") String serverUrl, RestTemplateBuilder builder,
+                      ClientHttpRequestFactory shareItServerRequestFactory, ResponseCache responseCache) {
         super(
                 builder
                         .uriTemplateHandler(new DefaultUriBuilderFactory(serverUrl + API_PREFIX))
-                        .requestFactory(() -> new HttpComponentsClientHttpRequestFactory())
-                        .build()
+                        .requestFactory(() -> shareItServerRequestFactory)
+                        .build(),
+                responseCache
         );
     }
 
@@ -30,15 +33,19 @@ public class UserClient extends BaseClient {
     }
 
     public ResponseEntity<Object> getUser(long userId) {
-        return get("/" + userId);
+        return getCached("/" + userId, null);
     }
 
     public ResponseEntity<Object> updateUser(long userId, UserUpdateDto userUpdateDto) {
-        return patch("/" + userId, userUpdateDto);
+        ResponseEntity<Object> response = patch("/" + userId, userUpdateDto);
+        evict("/" + userId);
+        return response;
     }
 
     public ResponseEntity<Object> deleteUser(long userId) {
-        return delete(String.format("/%s", userId));
+        ResponseEntity<Object> response = delete(String.format("/%s", userId));
+        evict("/" + userId);
+        return response;
     }
 
 }
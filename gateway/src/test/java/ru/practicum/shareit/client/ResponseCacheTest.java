@@ -0,0 +1,82 @@
+package ru.practicum.shareit.client;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ResponseCacheTest {
+    private static final String ETAG = "\"v1\"";
+
+    private static ResponseCache cache(int maxEntries, Duration ttl) {
+        return new ResponseCache(maxEntries, ttl, new SimpleMeterRegistry());
+    }
+
+    private static void put(ResponseCache cache, String uri, Long userId) {
+        cache.put(uri, userId, ETAG, new HttpHeaders(), uri.getBytes(StandardCharsets.UTF_8));
+    }
+
+    @Test
+    @DisplayName("Запись свежа в пределах ttl и устаревает по его истечении, но не удаляется")
+    void get_respectsTtl() {
+        ResponseCache fresh = cache(10, Duration.ofMinutes(1));
+        ResponseCache expired = cache(10, Duration.ZERO);
+        put(fresh, "/items/1", null);
+        put(expired, "/items/1", null);
+
+        assertThat(fresh.get("/items/1", null).isFresh()).isTrue();
+        assertThat(expired.get("/items/1", null)).isNotNull()
+                .satisfies(cached -> assertThat(cached.isFresh()).isFalse());
+    }
+
+    @Test
+    @DisplayName("Подтверждение сервером (304) продлевает жизнь записи, тело и ETag сохраняются")
+    void refresh_extendsExpiry() {
+        ResponseCache cache = cache(10, Duration.ZERO);
+        put(cache, "/items/1", null);
+        ResponseCache.CachedResponse stale = cache.get("/items/1", null);
+
+        ResponseCache.CachedResponse refreshed = cache.refresh("/items/1", null, stale);
+
+        assertThat(refreshed.expiresAt()).isAfterOrEqualTo(stale.expiresAt());
+        assertThat(refreshed.etag()).isEqualTo(ETAG);
+        assertThat(refreshed.body()).isEqualTo(stale.body());
+        assertThat(cache.get("/items/1", null)).isSameAs(refreshed);
+    }
+
+    @Test
+    @DisplayName("При переполнении вытесняется давно не запрашиваемая запись")
+    void put_evictsLeastRecentlyUsed() {
+        ResponseCache cache = cache(2, Duration.ofMinutes(1));
+        put(cache, "/items/1", null);
+        put(cache, "/items/2", null);
+        cache.get("/items/1", null);
+
+        put(cache, "/items/3", null);
+
+        assertThat(cache.size()).isEqualTo(2);
+        assertThat(cache.get("/items/1", null)).isNotNull();
+        assertThat(cache.get("/items/2", null)).isNull();
+        assertThat(cache.get("/items/3", null)).isNotNull();
+    }
+
+    @Test
+    @DisplayName("Записи разных пользователей хранятся отдельно, invalidate удаляет их все")
+    void invalidate_removesEntriesOfAllUsers() {
+        ResponseCache cache = cache(10, Duration.ofMinutes(1));
+        put(cache, "/items/1", 1L);
+        put(cache, "/items/1", 2L);
+        put(cache, "/items/2", 1L);
+
+        cache.invalidate("/items/1");
+
+        assertThat(cache.get("/items/1", 1L)).isNull();
+        assertThat(cache.get("/items/1", 2L)).isNull();
+        assertThat(cache.get("/items/2", 1L)).isNotNull();
+    }
+}
@@ -0,0 +1,119 @@
+package ru.practicum.shareit.user;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.test.web.client.MockServerRestTemplateCustomizer;
+import org.springframework.boot.web.client.RestTemplateBuilder;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.http.client.SimpleClientHttpRequestFactory;
+import org.springframework.test.web.client.MockRestServiceServer;
+import ru.practicum.shareit.client.ResponseCache;
+import ru.practicum.shareit.user.dto.UserUpdateDto;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.client.match.MockRestRequestMatchers.header;
+import static org.springframework.test.web.client.match.MockRestRequestMatchers.headerDoesNotExist;
+import static org.springframework.test.web.client.match.MockRestRequestMatchers.method;
+import static org.springframework.test.web.client.match.MockRestRequestMatchers.requestTo;
+import static org.springframework.test.web.client.response.MockRestResponseCreators.withStatus;
+import static org.springframework.test.web.client.response.MockRestResponseCreators.withSuccess;
+
+// Кэш ответов GET /users/{id} в шлюзе: запросы к shareit-server проверяет MockRestServiceServer
+class UserClientTest {
+    private static final String SERVER_URL = "http://shareit-server";
+    private static final String USER_URL = SERVER_URL + "/users/1";
+    private static final String ETAG = "\"v1\"";
+    private static final byte[] USER = "{\"id\":1,\"name\":\"User\",\"email\":\"user@mail.com\"}"
+            .getBytes(StandardCharsets.UTF_8);
+
+    private MockRestServiceServer server;
+
+    private UserClient client(Duration ttl) {
+        MockServerRestTemplateCustomizer customizer = new MockServerRestTemplateCustomizer();
+        UserClient client = new UserClient(SERVER_URL, new RestTemplateBuilder(customizer),
+                new SimpleClientHttpRequestFactory(), new ResponseCache(100, ttl, new SimpleMeterRegistry()));
+        server = customizer.getServer();
+        return client;
+    }
+
+    private void expectUser() {
+        server.expect(requestTo(USER_URL))
+                .andExpect(method(HttpMethod.GET))
+                .andExpect(headerDoesNotExist(HttpHeaders.IF_NONE_MATCH))
+                .andRespond(withSuccess(USER, MediaType.APPLICATION_JSON).header(HttpHeaders.ETAG, ETAG));
+    }
+
+    @Test
+    @DisplayName("Свежая запись отдаётся без обращения к серверу")
+    void getUser_freshEntryServedFromCache() {
+        UserClient client = client(Duration.ofMinutes(1));
+        expectUser();
+
+        client.getUser(1L);
+        ResponseEntity<Object> cached = client.getUser(1L);
+
+        server.verify();
+        assertThat(cached.getStatusCode()).isEqualTo(HttpStatus.OK);
+        assertThat((byte[]) cached.getBody()).isEqualTo(USER);
+    }
+
+    @Test
+    @DisplayName("Устаревшая запись перепроверяется по ETag: на 304 сервера возвращается закэшированное тело")
+    void getUser_notModifiedReturnsCachedBody() {
+        UserClient client = client(Duration.ZERO);
+        expectUser();
+        server.expect(requestTo(USER_URL))
+                .andExpect(method(HttpMethod.GET))
+                .andExpect(header(HttpHeaders.IF_NONE_MATCH, ETAG))
+                .andRespond(withStatus(HttpStatus.NOT_MODIFIED).header(HttpHeaders.ETAG, ETAG));
+
+        client.getUser(1L);
+        ResponseEntity<Object> revalidated = client.getUser(1L);
+
+        server.verify();
+        assertThat(revalidated.getStatusCode()).isEqualTo(HttpStatus.OK);
+        assertThat((byte[]) revalidated.getBody()).isEqualTo(USER);
+    }
+
+    @Test
+    @DisplayName("PATCH пользователя удаляет запись: следующий GET идёт на сервер без If-None-Match")
+    void updateUser_evictsCachedEntry() {
+        UserClient client = client(Duration.ofMinutes(1));
+        expectUser();
+        server.expect(requestTo(USER_URL))
+                .andExpect(method(HttpMethod.PATCH))
+                .andRespond(withSuccess(USER, MediaType.APPLICATION_JSON));
+        expectUser();
+
+        client.getUser(1L);
+        client.updateUser(1L, new UserUpdateDto("User", null));
+        client.getUser(1L);
+
+        server.verify();
+    }
+
+    @Test
+    @DisplayName("DELETE пользователя удаляет запись: следующий GET идёт на сервер")
+    void deleteUser_evictsCachedEntry() {
+        UserClient client = client(Duration.ofMinutes(1));
+        expectUser();
+        server.expect(requestTo(USER_URL))
+                .andExpect(method(HttpMethod.DELETE))
+                .andRespond(withStatus(HttpStatus.NO_CONTENT));
+        expectUser();
+
+        client.getUser(1L);
+        client.deleteUser(1L);
+        client.getUser(1L);
+
+        server.verify();
+    }
+}
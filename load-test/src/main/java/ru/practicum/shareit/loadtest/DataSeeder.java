@@ -0,0 +1,166 @@
+package ru.practicum.shareit.loadtest;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.List;
+
+// Заполнение БД, схему которой уже создал сервер при старте. Вставка идёт пакетами с явными id,
+// поэтому данные одинаковы в H2 и PostgreSQL; последовательности id затем сдвигаются за вставленные строки
+final class DataSeeder {
+    // Слова в названиях вещей - по ним строятся поисковые запросы
+    static final List<String> WORDS = List.of("дрель", "пила", "лестница", "палатка", "велосипед",
+            "шуруповёрт", "проектор", "самокат", "перфоратор", "байдарка");
+
+    private static final int BATCH_SIZE = 1_000;
+    private static final List<String> TABLES = List.of("users", "requests", "items", "bookings");
+
+    private final LoadTestOptions options;
+    private final String url;
+    private final String user;
+    private final String password;
+
+    DataSeeder(LoadTestOptions options, String url, String user, String password) {
+        this.options = options;
+        this.url = url;
+        this.user = user;
+        this.password = password;
+    }
+
+    void seed() throws SQLException {
+        try (Connection connection = DriverManager.getConnection(url, user, password)) {
+            connection.setAutoCommit(false);
+            checkEmpty(connection);
+            LocalDateTime now = LocalDateTime.now();
+            seedUsers(connection);
+            seedRequests(connection, now);
+            seedItems(connection);
+            seedBookings(connection, now);
+            connection.commit();
+            restartIdentities(connection);
+            connection.commit();
+        }
+    }
+
+    // Прогон не должен смешивать свои данные с существующими (и тем более затирать их в локальном PostgreSQL)
+    private static void checkEmpty(Connection connection) throws SQLException {
+        try (Statement statement = connection.createStatement();
+             ResultSet users = statement.executeQuery("SELECT count(*) FROM users")) {
+            users.next();
+            if (users.getLong(1) > 0) {
+                throw new IllegalStateException("В БД уже есть пользователи - нагрузочный прогон требует пустую БД");
+            }
+        }
+    }
+
+    private void seedUsers(Connection connection) throws SQLException {
+        try (PreparedStatement insert = connection.prepareStatement(
+                "INSERT INTO users (id, name, email) VALUES (?, ?, ?)")) {
+            for (int id = 1; id <= options.users(); id++) {
+                insert.setLong(1, id);
+                insert.setString(2, "user " + id);
+                insert.setString(3, "user" + id + "@shareit.ru");
+                addBatch(insert, id);
+            }
+            insert.executeBatch();
+        }
+    }
+
+    private void seedRequests(Connection connection, LocalDateTime now) throws SQLException {
+        try (PreparedStatement insert = connection.prepareStatement(
+                "INSERT INTO requests (id, description, requester_id, created) VALUES (?, ?, ?, ?)")) {
+            for (int id = 1; id <= options.requests(); id++) {
+                insert.setLong(1, id);
+                insert.setString(2, "нужна " + WORDS.get(id % WORDS.size()) + " на выходные");
+                insert.setLong(3, (id - 1) % options.users() + 1);
+                insert.setTimestamp(4, Timestamp.valueOf(now.minusMinutes(id)));
+                addBatch(insert, id);
+            }
+            insert.executeBatch();
+        }
+    }
+
+    // Вещь id принадлежит пользователю (id - 1) % users + 1; каждая десятая недоступна,
+    // каждая двадцатая создана по запросу
+    private void seedItems(Connection connection) throws SQLException {
+        try (PreparedStatement insert = connection.prepareStatement(
+                "INSERT INTO items (id, name, description, available, owner_id, request_id) VALUES (?, ?, ?, ?, ?, ?)")) {
+            for (int id = 1; id <= options.items(); id++) {
+                String word = WORDS.get(id % WORDS.size());
+                insert.setLong(1, id);
+                insert.setString(2, word + " " + id);
+                insert.setString(3, "Описание: " + word + ", экземпляр " + id);
+                insert.setBoolean(4, id % 10 != 0);
+                insert.setLong(5, ownerOf(id));
+                if (id % 20 == 0 && options.requests() > 0) {
+                    insert.setLong(6, id / 20 % options.requests() + 1);
+                } else {
+                    insert.setNull(6, java.sql.Types.BIGINT);
+                }
+                addBatch(insert, id);
+            }
+            insert.executeBatch();
+        }
+    }
+
+    // Бронирования вещи - непересекающиеся двухдневные слоты каждые трое суток, первые три уже в прошлом.
+    // Бронирующий - не владелец вещи; статусы: 10% ожидают решения, 10% отклонены, остальные подтверждены
+    private void seedBookings(Connection connection, LocalDateTime now) throws SQLException {
+        try (PreparedStatement insert = connection.prepareStatement(
+                "INSERT INTO bookings (id, start_date, end_date, item_id, booker_id, status) VALUES (?, ?, ?, ?, ?, ?)")) {
+            long id = 0;
+            for (int item = 1; item <= options.items(); item++) {
+                for (int slot = 0; slot < options.bookingsPerItem(); slot++) {
+                    id++;
+                    LocalDateTime start = now.plusDays(slot * 3L - 9);
+                    insert.setLong(1, id);
+                    insert.setTimestamp(2, Timestamp.valueOf(start));
+                    insert.setTimestamp(3, Timestamp.valueOf(start.plusDays(2)));
+                    insert.setLong(4, item);
+                    insert.setLong(5, (ownerOf(item) + slot) % options.users() + 1);
+                    insert.setString(6, switch ((int) (id % 10)) {
+                        case 0 -> "REJECTED";
+                        case 1 -> "WAITING";
+                        default -> "APPROVED";
+                    });
+                    addBatch(insert, id);
+                }
+            }
+            insert.executeBatch();
+        }
+    }
+
+    private long ownerOf(int item) {
+        return (item - 1) % options.users() + 1;
+    }
+
+    private static void addBatch(PreparedStatement insert, long row) throws SQLException {
+        insert.addBatch();
+        if (row % BATCH_SIZE == 0) {
+            insert.executeBatch();
+        }
+    }
+
+    private void restartIdentities(Connection connection) throws SQLException {
+        try (Statement statement = connection.createStatement()) {
+            for (String table : TABLES) {
+                if (options.db().equals("postgres")) {
+                    statement.execute("SELECT setval(pg_get_serial_sequence('" + table + "', 'id'), " +
+                            "(SELECT max(id) FROM " + table + "))");
+                } else {
+                    long next;
+                    try (ResultSet max = statement.executeQuery("SELECT coalesce(max(id), 0) + 1 FROM " + table)) {
+                        max.next();
+                        next = max.getLong(1);
+                    }
+                    statement.execute("ALTER TABLE " + table + " ALTER COLUMN id RESTART WITH " + next);
+                }
+            }
+        }
+    }
+}
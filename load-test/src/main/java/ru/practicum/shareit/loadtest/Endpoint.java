@@ -0,0 +1,66 @@
+package ru.practicum.shareit.loadtest;
+
+import java.net.URI;
+import java.net.URLEncoder;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Random;
+
+// Эндпоинты шлюза в смеси нагрузки. Пользователь в X-Sharer-User-Id и параметры выбираются случайно
+// из засеянных данных, чтобы запросы не попадали в одни и те же строки и кэши
+enum Endpoint {
+    SEARCH("search") {
+        @Override
+        String path(Random random) {
+            String word = DataSeeder.WORDS.get(random.nextInt(DataSeeder.WORDS.size()));
+            return "/items/search?text=" + URLEncoder.encode(word, StandardCharsets.UTF_8);
+        }
+    },
+    BOOKINGS("bookings") {
+        @Override
+        String path(Random random) {
+            return "/bookings?state=" + BOOKER_STATES.get(random.nextInt(BOOKER_STATES.size())) + "&from=0&size=20";
+        }
+    },
+    OWNER("owner") {
+        @Override
+        String path(Random random) {
+            return "/bookings/owner?state=" + OWNER_STATES.get(random.nextInt(OWNER_STATES.size())) + "&from=0&size=20";
+        }
+    },
+    REQUESTS("requests") {
+        @Override
+        String path(Random random) {
+            return "/requests/all?from=0&size=20";
+        }
+    };
+
+    // Чаще всего пользователи смотрят все свои бронирования, реже - отфильтрованные по состоянию
+    private static final List<String> BOOKER_STATES = List.of("ALL", "ALL", "ALL", "CURRENT", "FUTURE", "PAST");
+    private static final List<String> OWNER_STATES = List.of("ALL", "ALL", "WAITING", "FUTURE");
+
+    private final String name;
+
+    Endpoint(String name) {
+        this.name = name;
+    }
+
+    abstract String path(Random random);
+
+    URI uri(String baseUrl, Random random) {
+        return URI.create(baseUrl + path(random));
+    }
+
+    String displayName() {
+        return name;
+    }
+
+    static Endpoint byName(String name) {
+        for (Endpoint endpoint : values()) {
+            if (endpoint.name.equals(name)) {
+                return endpoint;
+            }
+        }
+        throw new IllegalArgumentException("Неизвестный эндпоинт в --mix: " + name);
+    }
+}
@@ -0,0 +1,51 @@
+package ru.practicum.shareit.loadtest;
+
+import java.util.Arrays;
+
+// Задержки запросов одного эндпоинта. Каждый поток нагрузки пишет в свой экземпляр, после прогона они сливаются
+final class LatencyStats {
+    private long[] latencies = new long[1024];
+    private int count;
+    private int errors;
+    private boolean sorted;
+
+    void record(long nanos, boolean success) {
+        if (count == latencies.length) {
+            latencies = Arrays.copyOf(latencies, count * 2);
+        }
+        latencies[count++] = nanos;
+        if (!success) {
+            errors++;
+        }
+    }
+
+    void merge(LatencyStats other) {
+        if (count + other.count > latencies.length) {
+            latencies = Arrays.copyOf(latencies, count + other.count);
+        }
+        System.arraycopy(other.latencies, 0, latencies, count, other.count);
+        count += other.count;
+        errors += other.errors;
+    }
+
+    int count() {
+        return count;
+    }
+
+    int errors() {
+        return errors;
+    }
+
+    // Перцентиль в миллисекундах по ближайшему рангу; вызывается после слияния
+    double percentileMillis(double percentile) {
+        if (count == 0) {
+            return 0;
+        }
+        if (!sorted) {
+            Arrays.sort(latencies, 0, count);
+            sorted = true;
+        }
+        int rank = (int) Math.ceil(percentile / 100 * count) - 1;
+        return latencies[Math.max(rank, 0)] / 1_000_000.0;
+    }
+}
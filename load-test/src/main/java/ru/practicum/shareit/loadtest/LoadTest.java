@@ -0,0 +1,244 @@
+package ru.practicum.shareit.loadtest;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import org.h2.tools.Server;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+// Нагрузочный прогон: БД (H2 в этом процессе или локальный PostgreSQL) -> сервер -> шлюз, смесь GET-запросов
+// к шлюзу из concurrency потоков по замкнутому циклу (следующий запрос - после ответа на предыдущий).
+// После прогрева считаются p50/p99 задержки и пропускная способность по эндпоинтам. При --gateway-threads=both
+// шлюз перезапускается с платформенными и с виртуальными потоками при одинаковом -Xmx, сервер и данные - общие
+public final class LoadTest {
+    private static final String H2_USER = "sa";
+    private static final String H2_PASSWORD = "";
+
+    private LoadTest() {
+    }
+
+    private record RunResult(boolean virtualThreads, Duration measured, Map<Endpoint, LatencyStats> stats,
+                             Map<String, Double> gatewayMetrics) {
+    }
+
+    public static void main(String[] args) throws Exception {
+        LoadTestOptions options = LoadTestOptions.parse(args);
+        Path serverJar = options.serverJar() != null ? options.serverJar()
+                : ServiceProcess.findJar(options.projectDir().resolve("server"), "-exec.jar");
+        Path gatewayJar = options.gatewayJar() != null ? options.gatewayJar()
+                : ServiceProcess.findJar(options.projectDir().resolve("gateway"), ".jar");
+        Path logDir = options.report().toAbsolutePath().getParent().resolve("logs");
+
+        Server h2 = null;
+        try {
+            List<String> serverJvmArgs = new ArrayList<>();
+            List<String> serverArgs = new ArrayList<>(List.of("--logging.level.ru.practicum.shareit=WARN"));
+            String url;
+            String user;
+            String password;
+            if (options.db().equals("h2")) {
+                // H2 по TCP: сервер и заполнение данных работают с одной БД в памяти этого процесса.
+                // Драйвер H2 в исполняемый jar сервера не входит и подключается через loader.path
+                int port = ServiceProcess.freePort();
+                h2 = Server.createTcpServer("-tcpPort", String.valueOf(port), "-ifNotExists").start();
+                url = "jdbc:h2:tcp://localhost:" + port + "/mem:shareit;DB_CLOSE_DELAY=-1";
+                user = H2_USER;
+                password = H2_PASSWORD;
+                serverJvmArgs.add("-Dloader.path=" + Path.of(org.h2.Driver.class.getProtectionDomain()
+                        .getCodeSource().getLocation().toURI()));
+                serverArgs.addAll(List.of(
+                        "--spring.profiles.active=test",
+                        "--spring.datasource.driverClassName=org.h2.Driver"));
+            } else {
+                url = options.postgresUrl();
+                user = options.postgresUser();
+                password = options.postgresPassword();
+            }
+            serverArgs.addAll(List.of(
+                    "--spring.datasource.url=" + url,
+                    "--spring.datasource.username=" + user,
+                    "--spring.datasource.password=" + password));
+
+            List<RunResult> results = new ArrayList<>();
+            try (ServiceProcess server = ServiceProcess.start("server", serverJar, serverJvmArgs, serverArgs, logDir)) {
+                System.out.printf("Сервер: %s, БД: %s. Заполнение: %d пользователей, %d вещей, %d бронирований, %d запросов%n",
+                        server.baseUrl(), options.db(), options.users(), options.items(),
+                        (long) options.items() * options.bookingsPerItem(), options.requests());
+                new DataSeeder(options, url, user, password).seed();
+
+                for (boolean virtualThreads : options.gatewayVirtualThreads()) {
+                    List<String> gatewayArgs = List.of(
+                            "--shareit-server.url=" + server.baseUrl(),
+                            "--spring.threads.virtual.enabled=" + virtualThreads,
+                            "--logging.level.ru.practicum.shareit=WARN",
+                            "--logging.level.org.springframework.web.client.RestTemplate=WARN");
+                    String name = "gateway-" + threadsName(virtualThreads);
+                    try (ServiceProcess gateway = ServiceProcess.start(name, gatewayJar,
+                            List.of("-Xmx" + options.gatewayHeap()), gatewayArgs, logDir)) {
+                        RunResult result = run(options, gateway.baseUrl(), virtualThreads);
+                        results.add(result);
+                        print(options, result);
+                    }
+                }
+            }
+            writeReport(options, results);
+        } finally {
+            if (h2 != null) {
+                h2.stop();
+            }
+        }
+    }
+
+    private static String threadsName(boolean virtualThreads) {
+        return virtualThreads ? "virtual" : "platform";
+    }
+
+    private static RunResult run(LoadTestOptions options, String gatewayUrl, boolean virtualThreads)
+            throws Exception {
+        HttpClient client = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .connectTimeout(Duration.ofSeconds(5))
+                .build();
+        Endpoint[] endpoints = options.mix().keySet().toArray(Endpoint[]::new);
+        int[] cumulativeWeights = new int[endpoints.length];
+        int totalWeight = 0;
+        for (int i = 0; i < endpoints.length; i++) {
+            totalWeight += options.mix().get(endpoints[i]);
+            cumulativeWeights[i] = totalWeight;
+        }
+        int weights = totalWeight;
+
+        long measureFrom = System.nanoTime() + options.warmup().toNanos();
+        long measureTo = measureFrom + options.duration().toNanos();
+        List<Future<Map<Endpoint, LatencyStats>>> workers = new ArrayList<>();
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (int worker = 0; worker < options.concurrency(); worker++) {
+                Random random = new Random(worker);
+                workers.add(executor.submit(() -> {
+                    Map<Endpoint, LatencyStats> stats = new EnumMap<>(Endpoint.class);
+                    while (System.nanoTime() < measureTo) {
+                        int pick = random.nextInt(weights);
+                        int index = 0;
+                        while (cumulativeWeights[index] <= pick) {
+                            index++;
+                        }
+                        Endpoint endpoint = endpoints[index];
+                        HttpRequest request = HttpRequest.newBuilder(endpoint.uri(gatewayUrl, random))
+                                .header("X-Sharer-User-Id", String.valueOf(random.nextInt(options.users()) + 1))
+                                .timeout(Duration.ofSeconds(30))
+                                .build();
+                        long start = System.nanoTime();
+                        boolean success;
+                        try {
+                            success = client.send(request, HttpResponse.BodyHandlers.discarding()).statusCode() / 100 == 2;
+                        } catch (IOException e) {
+                            success = false;
+                        }
+                        if (start >= measureFrom) {
+                            stats.computeIfAbsent(endpoint, key -> new LatencyStats())
+                                    .record(System.nanoTime() - start, success);
+                        }
+                    }
+                    return stats;
+                }));
+            }
+        }
+
+        Map<Endpoint, LatencyStats> merged = new EnumMap<>(Endpoint.class);
+        for (Future<Map<Endpoint, LatencyStats>> worker : workers) {
+            worker.get().forEach((endpoint, stats) ->
+                    merged.computeIfAbsent(endpoint, key -> new LatencyStats()).merge(stats));
+        }
+        return new RunResult(virtualThreads, options.duration(), merged, gatewayMetrics(client, gatewayUrl));
+    }
+
+    // Потребление памяти и потоков шлюза сразу после прогона - из /actuator/metrics
+    private static Map<String, Double> gatewayMetrics(HttpClient client, String gatewayUrl) throws InterruptedException {
+        Map<String, Double> metrics = new LinkedHashMap<>();
+        ObjectMapper objectMapper = new ObjectMapper();
+        for (String metric : List.of("jvm.memory.used?tag=area:heap", "jvm.threads.live", "jvm.threads.peak")) {
+            try {
+                HttpResponse<String> response = client.send(HttpRequest.newBuilder(
+                        URI.create(gatewayUrl + "/actuator/metrics/" + metric)).build(), HttpResponse.BodyHandlers.ofString());
+                JsonNode measurements = objectMapper.readTree(response.body()).path("measurements");
+                metrics.put(metric.substring(0, metric.contains("?") ? metric.indexOf('?') : metric.length()),
+                        measurements.path(0).path("value").asDouble());
+            } catch (IOException e) {
+                System.err.println("Метрика шлюза " + metric + " недоступна: " + e.getMessage());
+            }
+        }
+        return metrics;
+    }
+
+    private static LatencyStats total(RunResult result) {
+        LatencyStats total = new LatencyStats();
+        result.stats().values().forEach(total::merge);
+        return total;
+    }
+
+    private static void print(LoadTestOptions options, RunResult result) {
+        System.out.printf("%n== Шлюз на %s потоках: %d параллельных клиентов, %d с ==%n",
+                result.virtualThreads() ? "виртуальных" : "платформенных", options.concurrency(),
+                result.measured().toSeconds());
+        System.out.printf("%-10s %10s %8s %10s %10s %10s%n", "endpoint", "requests", "errors", "rps", "p50, ms", "p99, ms");
+        result.stats().forEach((endpoint, stats) -> printRow(endpoint.displayName(), stats, result.measured()));
+        printRow("total", total(result), result.measured());
+        System.out.printf("Шлюз: heap %.1f MB (-Xmx%s), потоков %.0f, пик %.0f%n",
+                result.gatewayMetrics().getOrDefault("jvm.memory.used", 0.0) / (1024 * 1024), options.gatewayHeap(),
+                result.gatewayMetrics().getOrDefault("jvm.threads.live", 0.0),
+                result.gatewayMetrics().getOrDefault("jvm.threads.peak", 0.0));
+    }
+
+    private static void printRow(String name, LatencyStats stats, Duration measured) {
+        System.out.printf("%-10s %10d %8d %10.1f %10.2f %10.2f%n", name, stats.count(), stats.errors(),
+                stats.count() / (measured.toMillis() / 1000.0), stats.percentileMillis(50), stats.percentileMillis(99));
+    }
+
+    private static Map<String, Object> summary(LatencyStats stats, Duration measured) {
+        Map<String, Object> summary = new LinkedHashMap<>();
+        summary.put("requests", stats.count());
+        summary.put("errors", stats.errors());
+        summary.put("throughput", stats.count() / (measured.toMillis() / 1000.0));
+        summary.put("p50Ms", stats.percentileMillis(50));
+        summary.put("p99Ms", stats.percentileMillis(99));
+        return summary;
+    }
+
+    // JSON-отчёт для сравнения прогонов между коммитами
+    private static void writeReport(LoadTestOptions options, List<RunResult> results) throws IOException {
+        List<Map<String, Object>> runs = new ArrayList<>();
+        for (RunResult result : results) {
+            Map<String, Object> run = new LinkedHashMap<>();
+            run.put("gatewayThreads", threadsName(result.virtualThreads()));
+            run.put("db", options.db());
+            run.put("concurrency", options.concurrency());
+            run.put("durationSeconds", result.measured().toSeconds());
+            Map<String, Object> endpoints = new LinkedHashMap<>();
+            result.stats().forEach((endpoint, stats) -> endpoints.put(endpoint.displayName(), summary(stats, result.measured())));
+            run.put("endpoints", endpoints);
+            run.put("total", summary(total(result), result.measured()));
+            run.put("gateway", result.gatewayMetrics());
+            runs.add(run);
+        }
+        Files.createDirectories(options.report().toAbsolutePath().getParent());
+        new ObjectMapper().enable(SerializationFeature.INDENT_OUTPUT).writeValue(options.report().toFile(), runs);
+        System.out.printf("%nОтчёт: %s%n", options.report());
+    }
+}
@@ -0,0 +1,97 @@
+package ru.practicum.shareit.loadtest;
+
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+// Параметры прогона в виде --name=value. Значения по умолчанию - небольшой, но показательный объём данных
+record LoadTestOptions(Path projectDir,
+                       Path serverJar,
+                       Path gatewayJar,
+                       String db,
+                       String postgresUrl,
+                       String postgresUser,
+                       String postgresPassword,
+                       int users,
+                       int items,
+                       int bookingsPerItem,
+                       int requests,
+                       int concurrency,
+                       Duration warmup,
+                       Duration duration,
+                       Map<Endpoint, Integer> mix,
+                       List<Boolean> gatewayVirtualThreads,
+                       String gatewayHeap,
+                       Path report) {
+
+    static LoadTestOptions parse(String[] args) {
+        Map<String, String> values = new HashMap<>();
+        for (String arg : args) {
+            if (!arg.startsWith("--") || !arg.contains("=")) {
+                throw new IllegalArgumentException("Ожидается параметр вида --name=value: " + arg);
+            }
+            values.put(arg.substring(2, arg.indexOf('=')), arg.substring(arg.indexOf('=') + 1));
+        }
+        Path projectDir = Path.of(values.getOrDefault("project-dir",
+                System.getProperty("shareit.project.dir", System.getProperty("user.dir"))));
+        String db = values.getOrDefault("db", "h2");
+        if (!db.equals("h2") && !db.equals("postgres")) {
+            throw new IllegalArgumentException("--db: h2 или postgres, получено " + db);
+        }
+        return new LoadTestOptions(
+                projectDir,
+                values.containsKey("server-jar") ? Path.of(values.get("server-jar")) : null,
+                values.containsKey("gateway-jar") ? Path.of(values.get("gateway-jar")) : null,
+                db,
+                values.getOrDefault("postgres-url", "jdbc:postgresql://localhost:5432/shareit"),
+                values.getOrDefault("postgres-user", "shareit"),
+                values.getOrDefault("postgres-password", "shareit"),
+                Integer.parseInt(values.getOrDefault("users", "1000")),
+                Integer.parseInt(values.getOrDefault("items", "10000")),
+                Integer.parseInt(values.getOrDefault("bookings-per-item", "10")),
+                Integer.parseInt(values.getOrDefault("requests", "2000")),
+                Integer.parseInt(values.getOrDefault("concurrency", "64")),
+                duration(values.getOrDefault("warmup", "10s")),
+                duration(values.getOrDefault("duration", "60s")),
+                mix(values.getOrDefault("mix", "search:30,bookings:30,owner:25,requests:15")),
+                gatewayThreads(values.getOrDefault("gateway-threads", "virtual")),
+                values.getOrDefault("gateway-heap", "512m"),
+                Path.of(values.getOrDefault("report", projectDir.resolve("load-test/target/load-test-report.json").toString())));
+    }
+
+    // 30s, 2m, 500ms
+    private static Duration duration(String value) {
+        if (value.endsWith("ms")) {
+            return Duration.ofMillis(Long.parseLong(value.substring(0, value.length() - 2)));
+        }
+        long amount = Long.parseLong(value.substring(0, value.length() - 1));
+        return switch (value.charAt(value.length() - 1)) {
+            case 's' -> Duration.ofSeconds(amount);
+            case 'm' -> Duration.ofMinutes(amount);
+            default -> throw new IllegalArgumentException("Длительность вида 30s, 2m или 500ms: " + value);
+        };
+    }
+
+    // search:30,bookings:30,... - доли запросов по эндпоинтам
+    private static Map<Endpoint, Integer> mix(String value) {
+        Map<Endpoint, Integer> mix = new LinkedHashMap<>();
+        for (String part : value.split(",")) {
+            String[] weight = part.split(":");
+            mix.put(Endpoint.byName(weight[0].trim()), Integer.parseInt(weight[1].trim()));
+        }
+        return mix;
+    }
+
+    // virtual, platform или both - сравнение потоков Tomcat в шлюзе при одинаковом размере кучи
+    private static List<Boolean> gatewayThreads(String value) {
+        return switch (value) {
+            case "virtual" -> List.of(true);
+            case "platform" -> List.of(false);
+            case "both" -> List.of(false, true);
+            default -> throw new IllegalArgumentException("--gateway-threads: virtual, platform или both, получено " + value);
+        };
+    }
+}
@@ -0,0 +1,23 @@
+-- Разовая миграция перед включением ограничения ex_bookings_approved_overlap (schema-postgresql.sql) в БД,
+-- где уже есть пересекающиеся подтверждённые бронирования. Запускается оператором вручную, не при старте сервера:
+--   psql -d shareit -f server/db/approved-overlap-cleanup.sql
+-- Из пересекающихся подтверждений вещи остаётся самое раннее (по началу, затем по id), остальные возвращаются
+-- в WAITING на повторное решение владельца. Id изменённых бронирований выводятся сообщением NOTICE
+DO $$
+DECLARE
+  booking RECORD;
+  demoted BIGINT[] := '{}';
+BEGIN
+  FOR booking IN SELECT id, item_id, start_date, end_date FROM bookings
+                 WHERE status = 'APPROVED' ORDER BY item_id, start_date, id LOOP
+    IF EXISTS (SELECT 1 FROM bookings kept
+               WHERE kept.item_id = booking.item_id AND kept.status = 'APPROVED'
+                 AND (kept.start_date, kept.id) < (booking.start_date, booking.id)
+                 AND tsrange(kept.start_date, kept.end_date) && tsrange(booking.start_date, booking.end_date)) THEN
+      UPDATE bookings SET status = 'WAITING' WHERE id = booking.id;
+      demoted := demoted || booking.id;
+    END IF;
+  END LOOP;
+  RAISE NOTICE 'bookings moved back to WAITING: %', demoted;
+END
+$$;
@@ -1,13 +1,19 @@
 package ru.practicum.shareit.booking;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
 import jakarta.validation.Valid;
 import lombok.AllArgsConstructor;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 import ru.practicum.shareit.booking.dto.BookingAddDto;
 import ru.practicum.shareit.booking.dto.BookingFrontDto;
 import ru.practicum.shareit.booking.service.BookingService;
 
+import java.io.IOException;
+import java.io.UncheckedIOException;
 import java.util.List;
 
 @AllArgsConstructor
@@ -15,6 +21,7 @@ import java.util.List;
 @RequestMapping(path = "/bookings")
 public class BookingController {
     private final BookingService bookingService;
+    private final ObjectMapper objectMapper;
 
     // Создание запроса на бронирование
     @PostMapping("")
@@ -41,17 +48,41 @@ public class BookingController {
 
     // Запрос списка запросов на бронирование от пользователя c отбором по состоянию
     @GetMapping("")
-    public List<BookingFrontDto> getBookingOfUserByState(@RequestHeader("X-Sharer-User-Id") Long userId,
-                                                         @RequestParam(value = "state",
-                                                                 defaultValue = "ALL") BookingQueryState bookingQueryState) {
-        return bookingService.getBookingOfUserByState(userId, bookingQueryState);
+    public ResponseEntity<List<BookingFrontDto>> getBookingOfUserByState(@RequestHeader("X-Sharer-User-Id") Long userId,
+                                                                         @RequestParam(value = "state",
+                                                                                 defaultValue = "ALL") BookingQueryState bookingQueryState,
+                                                                         @RequestParam(defaultValue = "0") Integer from,
+                                                                         @RequestParam(defaultValue = "10") Integer size,
+                                                                         @RequestParam(required = false) String cursor) {
+        return bookingService.getBookingOfUserByState(userId, bookingQueryState, from, size, cursor).toResponseEntity();
     }
 
     // Запрос списка запросов на бронирование владельцу
     @GetMapping("/owner")
-    public List<BookingFrontDto> getBookingOfOwnerByState(@RequestHeader("X-Sharer-User-Id") Long ownerId,
-                                                          @RequestParam(value = "state",
-                                                                  defaultValue = "ALL") BookingQueryState bookingQueryState) {
-        return bookingService.getBookingOfOwnerByState(ownerId, bookingQueryState);
+    public ResponseEntity<List<BookingFrontDto>> getBookingOfOwnerByState(@RequestHeader("X-Sharer-User-Id") Long ownerId,
+                                                                          @RequestParam(value = "state",
+                                                                                  defaultValue = "ALL") BookingQueryState bookingQueryState,
+                                                                          @RequestParam(defaultValue = "0") Integer from,
+                                                                          @RequestParam(defaultValue = "10") Integer size,
+                                                                          @RequestParam(required = false) String cursor) {
+        return bookingService.getBookingOfOwnerByState(ownerId, bookingQueryState, from, size, cursor).toResponseEntity();
+    }
+
+    // Потоковая выгрузка всех бронирований владельца в формате NDJSON (по одному JSON-объекту в строке)
+    @GetMapping(value = "/owner/export", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<StreamingResponseBody> exportBookingsOfOwner(@RequestHeader("X-Sharer-User-Id") Long ownerId) {
+        // Проверка до начала выгрузки: после отправки заголовков ответа статус уже не изменить
+        bookingService.checkUserExists(ownerId);
+        StreamingResponseBody body = out -> bookingService.exportBookingsOfOwner(ownerId, booking -> {
+            try {
+                out.write(objectMapper.writeValueAsBytes(booking));
+                out.write('\n');
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        });
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_NDJSON)
+                .body(body);
     }
 }
@@ -1,8 +0,0 @@
-package ru.practicum.shareit.booking;
-
-public enum BookingTimeFilter {
-    CURRENT,
-    PAST,
-    FUTURE,
-    ALL // для случаев без фильтра
-}
\ No newline at end of file
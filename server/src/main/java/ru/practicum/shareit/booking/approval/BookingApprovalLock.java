@@ -0,0 +1,10 @@
+package ru.practicum.shareit.booking.approval;
+
+// Защита от одновременного подтверждения пересекающихся бронирований одной вещи.
+// Реализация выбирается свойством shareit.booking.approval-lock
+public interface BookingApprovalLock {
+    String STRATEGY_PROPERTY = "shareit.booking.approval-lock";
+
+    // Вызывается в транзакции подтверждения перед проверкой пересечений
+    void lock(Long itemId);
+}
@@ -0,0 +1,17 @@
+package ru.practicum.shareit.booking.approval;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+// Без явной блокировки: пересечения исключает ограничение ex_bookings_approved_overlap (schema-postgresql.sql).
+// PostgreSQL заставляет ждать только подтверждения, пересекающиеся по периоду, поэтому решения по
+// непересекающимся бронированиям одной вещи выполняются параллельно. Только для PostgreSQL
+@Component
+@ConditionalOnProperty(name = BookingApprovalLock.STRATEGY_PROPERTY, havingValue = "exclusion-constraint")
+public class ExclusionConstraintApprovalLock implements BookingApprovalLock {
+
+    @Override
+    public void lock(Long itemId) {
+        // Пересечение обнаружит сама БД при записи подтверждения
+    }
+}
@@ -0,0 +1,25 @@
+package ru.practicum.shareit.booking.approval;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+import ru.practicum.shareit.item.repository.ItemRepository;
+
+import java.util.NoSuchElementException;
+
+// Блокировка строки вещи до конца транзакции - работает на любой БД (в том числе H2 в тестах),
+// но подтверждения бронирований одной вещи выполняются строго по очереди, даже непересекающиеся
+@Component
+@ConditionalOnProperty(name = BookingApprovalLock.STRATEGY_PROPERTY, havingValue = "item-row", matchIfMissing = true)
+public class ItemRowApprovalLock implements BookingApprovalLock {
+    private final ItemRepository itemRepository;
+
+    public ItemRowApprovalLock(ItemRepository itemRepository) {
+        this.itemRepository = itemRepository;
+    }
+
+    @Override
+    public void lock(Long itemId) {
+        itemRepository.lockById(itemId)
+                .orElseThrow(() -> new NoSuchElementException(String.format("Предмет с id=%s не найден", itemId)));
+    }
+}
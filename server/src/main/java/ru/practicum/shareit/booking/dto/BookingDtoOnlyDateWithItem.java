@@ -0,0 +1,20 @@
+package ru.practicum.shareit.booking.dto;
+
+import ru.practicum.shareit.booking.BookingStatus;
+
+import java.time.LocalDateTime;
+
+// Проекция последнего/следующего бронирования вещи для пакетной загрузки
+public interface BookingDtoOnlyDateWithItem {
+    String getKind();                    // LAST или NEXT
+
+    Long getItemId();
+
+    Long getId();
+
+    LocalDateTime getStartDate();
+
+    LocalDateTime getEndDate();
+
+    BookingStatus getStatus();
+}
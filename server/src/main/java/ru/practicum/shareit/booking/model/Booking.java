@@ -25,11 +25,14 @@ public class Booking {
     private LocalDateTime startDate;         // Дата и время начала бронирования
     @Column(name = "end_date")
     private LocalDateTime endDate;           // Дата и время окончания бронирования
-    @ManyToOne()
+    @ManyToOne(fetch = FetchType.LAZY)
     @ToString.Exclude
     private Item item;                   // Вещь, которую бронируют
-    @ManyToOne
+    @ManyToOne(fetch = FetchType.LAZY)
+    @ToString.Exclude
     private User booker;                // Пользователь, осуществляющий бронирование
     @Enumerated(EnumType.STRING)
     private BookingStatus status;       // Текущий статус бронирования
+    @Version
+    private long version;               // Версия для оптимистической блокировки
 }
@@ -1,18 +1,27 @@
 package ru.practicum.shareit.booking.repository;
 
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import ru.practicum.shareit.booking.BookingStatus;
-import ru.practicum.shareit.booking.dto.BookingDtoOnlyDate;
+import ru.practicum.shareit.booking.dto.BookingDtoOnlyDateWithItem;
 import ru.practicum.shareit.booking.model.Booking;
 
 import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 public interface BookingRepository extends JpaRepository<Booking, Long> {
 
+    // Вещь загружается тем же запросом: она нужна и для проверки прав, и для ответа
+    @EntityGraph(attributePaths = "item")
     Optional<Booking> getItemById(Long bookingId);
 
     @Query("SELECT b " +
@@ -23,53 +32,206 @@ public interface BookingRepository extends JpaRepository<Booking, Long> {
     )
     List<Booking> checkApprovedBookingExist(Long bookerId, Long itemId);
 
+    // Подтверждённые бронирования вещи, пересекающиеся с полуинтервалом [start, end).
+    // excludeBookingId - само подтверждаемое бронирование (null при создании нового)
+    @Query("SELECT COUNT(b) > 0 " +
+            "FROM Booking b " +
+            "WHERE b.item.id = :itemId " +
+            "AND b.status = 'APPROVED' " +
+            "AND b.startDate < :end AND b.endDate > :start " +
+            "AND (:excludeBookingId IS NULL OR b.id <> :excludeBookingId)"
+    )
+    boolean existsApprovedOverlap(@Param("itemId") Long itemId,
+                                  @Param("start") LocalDateTime start,
+                                  @Param("end") LocalDateTime end,
+                                  @Param("excludeBookingId") Long excludeBookingId);
+
+    // Ещё не закончившиеся подтверждённые бронирования вещи - для построения индекса интервалов
     @Query("SELECT b " +
             "FROM Booking b " +
-            "JOIN b.item i " +
-            "WHERE i.owner.id = :ownerId " +
-            "AND (:status IS NULL OR b.status = :status) " +
-            "AND (" +
-            ":timeFilter IS NULL " +
-            "OR (:timeFilter = 'CURRENT' AND CURRENT_TIMESTAMP BETWEEN b.startDate AND b.endDate) " +
-            "OR (:timeFilter = 'PAST' AND b.endDate < CURRENT_TIMESTAMP) " +
-            "OR (:timeFilter = 'FUTURE' AND b.startDate > CURRENT_TIMESTAMP)" +
-            ")"
+            "WHERE b.item.id = :itemId " +
+            "AND b.status = 'APPROVED' " +
+            "AND b.endDate > :now"
+    )
+    List<Booking> findApprovedNotEndedByItemId(@Param("itemId") Long itemId, @Param("now") LocalDateTime now);
+
+    String EXPORT_FETCH_SIZE = "500";
+
+    // Keyset-пагинация: записи строго после курсора в порядке (startDate DESC, id DESC)
+    String AFTER_CURSOR = "AND (b.startDate < :cursorStart OR (b.startDate = :cursorStart AND b.id < :cursorId)) ";
+    String ORDER_BY_START_DESC = "ORDER BY b.startDate DESC, b.id DESC";
+
+    // Списки бронирований сразу загружают вещь - это всё, что нужно BookingFrontDto
+    // (от автора бронирования нужен только id, он есть в самой строке бронирования)
+    String FETCH_ITEM = "JOIN FETCH b.item i ";
+
+    String OWNER_BOOKINGS = "SELECT b " +
+            "FROM Booking b " +
+            FETCH_ITEM +
+            "WHERE i.owner.id = :ownerId ";
+
+    // Бронирования вещей владельца: отдельный запрос на каждое состояние, чтобы условие по датам
+    // было индексируемым (без OR-цепочек по параметрам)
+    //ALL
+    @Query(OWNER_BOOKINGS +
+            AFTER_CURSOR +
+            ORDER_BY_START_DESC
+    )
+    List<Booking> findByOwnerId(@Param("ownerId") Long ownerId,
+                                @Param("cursorStart") LocalDateTime cursorStart,
+                                @Param("cursorId") Long cursorId,
+                                Pageable pageable);
+
+    //CURRENT
+    @Query(OWNER_BOOKINGS +
+            "AND b.startDate < :now AND b.endDate > :now " +
+            AFTER_CURSOR +
+            ORDER_BY_START_DESC
+    )
+    List<Booking> findCurrentByOwnerId(@Param("ownerId") Long ownerId,
+                                       @Param("now") LocalDateTime now,
+                                       @Param("cursorStart") LocalDateTime cursorStart,
+                                       @Param("cursorId") Long cursorId,
+                                       Pageable pageable);
+
+    //PAST
+    @Query(OWNER_BOOKINGS +
+            "AND b.endDate < :now " +
+            AFTER_CURSOR +
+            ORDER_BY_START_DESC
+    )
+    List<Booking> findPastByOwnerId(@Param("ownerId") Long ownerId,
+                                    @Param("now") LocalDateTime now,
+                                    @Param("cursorStart") LocalDateTime cursorStart,
+                                    @Param("cursorId") Long cursorId,
+                                    Pageable pageable);
+
+    //FUTURE
+    @Query(OWNER_BOOKINGS +
+            "AND b.startDate > :now " +
+            AFTER_CURSOR +
+            ORDER_BY_START_DESC
+    )
+    List<Booking> findFutureByOwnerId(@Param("ownerId") Long ownerId,
+                                      @Param("now") LocalDateTime now,
+                                      @Param("cursorStart") LocalDateTime cursorStart,
+                                      @Param("cursorId") Long cursorId,
+                                      Pageable pageable);
+
+    //WAITING
+    //REJECTED
+    @Query(OWNER_BOOKINGS +
+            "AND b.status = :status " +
+            AFTER_CURSOR +
+            ORDER_BY_START_DESC
     )
     List<Booking> findByOwnerIdAndStatus(@Param("ownerId") Long ownerId,
                                          @Param("status") BookingStatus status,
-                                         @Param("timeFilter") String timeFilter);
+                                         @Param("cursorStart") LocalDateTime cursorStart,
+                                         @Param("cursorId") Long cursorId,
+                                         Pageable pageable);
+
+    // Все бронирования владельца потоком: строки читаются из курсора JDBC порциями по fetchSize.
+    // Вызывать внутри транзакции и закрывать поток после чтения
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = EXPORT_FETCH_SIZE),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query(OWNER_BOOKINGS +
+            ORDER_BY_START_DESC
+    )
+    Stream<Booking> streamByOwnerId(@Param("ownerId") Long ownerId);
 
     //ALL - Запрос всех бронирований текущего пользователя
-    List<Booking> findByBookerIdOrderByStartDateDesc(Long bookerId);
+    @Query("SELECT b " +
+            "FROM Booking b " +
+            FETCH_ITEM +
+            "WHERE b.booker.id = :bookerId " +
+            AFTER_CURSOR +
+            ORDER_BY_START_DESC
+    )
+    List<Booking> findByBookerId(@Param("bookerId") Long bookerId,
+                                 @Param("cursorStart") LocalDateTime cursorStart,
+                                 @Param("cursorId") Long cursorId,
+                                 Pageable pageable);
 
     //CURRENT
-    List<Booking> findByBookerIdAndStartDateBeforeAndEndDateAfterOrderByStartDateDesc(Long bookerId, LocalDateTime now1,
-                                                                                      LocalDateTime now2);
+    @Query("SELECT b " +
+            "FROM Booking b " +
+            FETCH_ITEM +
+            "WHERE b.booker.id = :bookerId " +
+            "AND b.startDate < :now AND b.endDate > :now " +
+            AFTER_CURSOR +
+            ORDER_BY_START_DESC
+    )
+    List<Booking> findCurrentByBookerId(@Param("bookerId") Long bookerId,
+                                        @Param("now") LocalDateTime now,
+                                        @Param("cursorStart") LocalDateTime cursorStart,
+                                        @Param("cursorId") Long cursorId,
+                                        Pageable pageable);
 
     //PAST
-    List<Booking> findByBookerIdAndEndDateBeforeOrderByStartDateDesc(Long bookerId, LocalDateTime now);
+    @Query("SELECT b " +
+            "FROM Booking b " +
+            FETCH_ITEM +
+            "WHERE b.booker.id = :bookerId " +
+            "AND b.endDate < :now " +
+            AFTER_CURSOR +
+            ORDER_BY_START_DESC
+    )
+    List<Booking> findPastByBookerId(@Param("bookerId") Long bookerId,
+                                     @Param("now") LocalDateTime now,
+                                     @Param("cursorStart") LocalDateTime cursorStart,
+                                     @Param("cursorId") Long cursorId,
+                                     Pageable pageable);
 
     //FUTURE
-    List<Booking> findByBookerIdAndStartDateAfterOrderByStartDateDesc(Long bookerId, LocalDateTime now);
+    @Query("SELECT b " +
+            "FROM Booking b " +
+            FETCH_ITEM +
+            "WHERE b.booker.id = :bookerId " +
+            "AND b.startDate > :now " +
+            AFTER_CURSOR +
+            ORDER_BY_START_DESC
+    )
+    List<Booking> findFutureByBookerId(@Param("bookerId") Long bookerId,
+                                       @Param("now") LocalDateTime now,
+                                       @Param("cursorStart") LocalDateTime cursorStart,
+                                       @Param("cursorId") Long cursorId,
+                                       Pageable pageable);
 
     //WAITING
     //REJECTED
-    List<Booking> findByBookerIdAndStatusOrderByStartDateDesc(Long bookerId, BookingStatus bookingStatus);
-
-    @Query(value = "SELECT id, start_date, end_date, status FROM bookings " +
-            "WHERE start_date > NOW() and item_id=?1 " +
-            "ORDER BY start_date ASC " +
-            "LIMIT 1",
-            nativeQuery = true
+    @Query("SELECT b " +
+            "FROM Booking b " +
+            FETCH_ITEM +
+            "WHERE b.booker.id = :bookerId " +
+            "AND b.status = :status " +
+            AFTER_CURSOR +
+            ORDER_BY_START_DESC
     )
-    BookingDtoOnlyDate getNextBookingById(Long itemId);
+    List<Booking> findByBookerIdAndStatus(@Param("bookerId") Long bookerId,
+                                          @Param("status") BookingStatus status,
+                                          @Param("cursorStart") LocalDateTime cursorStart,
+                                          @Param("cursorId") Long cursorId,
+                                          Pageable pageable);
 
-    @Query(
-            value = "SELECT id, start_date, end_date, status FROM bookings " +
-                    "WHERE end_date < NOW() and item_id=?1 " +
-                    "ORDER BY end_date DESC " +
-                    "LIMIT 1",
+    // Последнее и следующее бронирование для набора вещей одним запросом
+    @Query(value = "SELECT r.kind AS kind, r.item_id AS itemId, r.id AS id, r.start_date AS startDate, " +
+            "r.end_date AS endDate, r.status AS status " +
+            "FROM (" +
+            "  SELECT 'LAST' AS kind, b.item_id, b.id, b.start_date, b.end_date, b.status, " +
+            "         ROW_NUMBER() OVER (PARTITION BY b.item_id ORDER BY b.end_date DESC) AS rn " +
+            "  FROM bookings b " +
+            "  WHERE b.end_date < NOW() AND b.item_id IN (:itemIds) " +
+            "  UNION ALL " +
+            "  SELECT 'NEXT' AS kind, b.item_id, b.id, b.start_date, b.end_date, b.status, " +
+            "         ROW_NUMBER() OVER (PARTITION BY b.item_id ORDER BY b.start_date ASC) AS rn " +
+            "  FROM bookings b " +
+            "  WHERE b.start_date > NOW() AND b.item_id IN (:itemIds)" +
+            ") r " +
+            "WHERE r.rn = 1",
             nativeQuery = true
     )
-    BookingDtoOnlyDate getLastBookingById(Long itemId);
+    List<BookingDtoOnlyDateWithItem> getLastAndNextBookingsByItemIds(@Param("itemIds") Collection<Long> itemIds);
 }
@@ -0,0 +1,205 @@
+package ru.practicum.shareit.booking.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import ru.practicum.shareit.booking.model.Booking;
+import ru.practicum.shareit.booking.repository.BookingRepository;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+
+// Подтверждённые бронирования в памяти процесса: для каждой вещи - непересекающиеся полуинтервалы [start, end),
+// упорядоченные по началу. Поиск пересечения и выборка периодов за диапазон - O(log n) без обращения к БД.
+// Индекс даёт только положительный ответ: в него попадают лишь зафиксированные подтверждения, а подтверждение
+// окончательно (решение по бронированию принимается один раз). Пропущенное пересечение (например, подтверждённое
+// другим экземпляром сервера) находит следующий за индексом запрос к БД, а календарь доступности увидит его
+// после перезагрузки интервалов вещи из БД - не позже чем через ttl. Число вещей в индексе ограничено max-items:
+// вытесненная вещь при следующем обращении загружается из БД заново
+@Component
+public class BookingIntervalIndex {
+    private final BookingRepository bookingRepository;
+    private final Cache<Long, Intervals> approvedByItem;
+
+    public BookingIntervalIndex(BookingRepository bookingRepository,
+                                @Value("${shareit.booking.interval-index.ttl:60s}") Duration ttl,
+                                @Value("${shareit.booking.interval-index.max-items:10000}") long maxItems) {
+        this.bookingRepository = bookingRepository;
+        this.approvedByItem = Caffeine.newBuilder()
+                .maximumSize(maxItems)
+                .expireAfter(expireAfterLoad(ttl))
+                .build();
+    }
+
+    // Как expireAfterWrite(ttl), но срок считается от загрузки из БД: обновление снимка подтверждением его не
+    // продлевает, иначе вещь с частыми подтверждениями не перечитывалась бы никогда
+    private static Expiry<Long, Intervals> expireAfterLoad(Duration ttl) {
+        long ttlNanos = ttl.toNanos();
+        return new Expiry<>() {
+            @Override
+            public long expireAfterCreate(Long itemId, Intervals intervals, long currentTime) {
+                return ttlNanos;
+            }
+
+            @Override
+            public long expireAfterUpdate(Long itemId, Intervals intervals, long currentTime, long currentDuration) {
+                return currentDuration;
+            }
+
+            @Override
+            public long expireAfterRead(Long itemId, Intervals intervals, long currentTime, long currentDuration) {
+                return currentDuration;
+            }
+        };
+    }
+
+    // Подтверждённый период бронирования
+    public record Period(LocalDateTime start, LocalDateTime end) {
+    }
+
+    // Снимок интервалов вещи: параллельные массивы, отсортированные по началу, время - в микросекундах
+    // (точность timestamp в PostgreSQL). Снимок неизменяем: чтение идёт без блокировок, а подтверждение
+    // заменяет его копией с новым интервалом - подтверждений намного меньше, чем проверок и запросов календаря
+    private static final class Intervals {
+        private final long[] starts;
+        private final long[] ends;
+        private final long[] bookingIds;
+
+        private Intervals(long[] starts, long[] ends, long[] bookingIds) {
+            this.starts = starts;
+            this.ends = ends;
+            this.bookingIds = bookingIds;
+        }
+
+        static Intervals of(List<Booking> bookings) {
+            List<Booking> sorted = bookings.stream()
+                    .filter(booking -> booking.getStartDate().isBefore(booking.getEndDate()))
+                    .sorted(Comparator.comparing(Booking::getStartDate))
+                    .toList();
+            long[] starts = new long[sorted.size()];
+            long[] ends = new long[sorted.size()];
+            long[] bookingIds = new long[sorted.size()];
+            for (int i = 0; i < sorted.size(); i++) {
+                starts[i] = micros(sorted.get(i).getStartDate());
+                ends[i] = micros(sorted.get(i).getEndDate());
+                bookingIds[i] = sorted.get(i).getId();
+            }
+            return new Intervals(starts, ends, bookingIds);
+        }
+
+        // Число интервалов, начавшихся раньше time
+        int countStartingBefore(long time) {
+            int low = 0;
+            int high = starts.length;
+            while (low < high) {
+                int middle = (low + high) >>> 1;
+                if (starts[middle] < time) {
+                    low = middle + 1;
+                } else {
+                    high = middle;
+                }
+            }
+            return low;
+        }
+
+        // Копия с добавленным интервалом; закончившиеся к now интервалы отбрасываются
+        Intervals with(long start, long end, long bookingId, long now) {
+            int size = 0;
+            for (int i = 0; i < starts.length; i++) {
+                if (bookingIds[i] == bookingId) {
+                    return this;
+                }
+                if (ends[i] > now) {
+                    size++;
+                }
+            }
+            long[] newStarts = new long[size + 1];
+            long[] newEnds = new long[size + 1];
+            long[] newBookingIds = new long[size + 1];
+            int position = 0;
+            boolean inserted = false;
+            for (int i = 0; i <= starts.length; i++) {
+                if (!inserted && (i == starts.length || starts[i] > start)) {
+                    newStarts[position] = start;
+                    newEnds[position] = end;
+                    newBookingIds[position++] = bookingId;
+                    inserted = true;
+                }
+                if (i < starts.length && ends[i] > now) {
+                    newStarts[position] = starts[i];
+                    newEnds[position] = ends[i];
+                    newBookingIds[position++] = bookingIds[i];
+                }
+            }
+            return new Intervals(newStarts, newEnds, newBookingIds);
+        }
+    }
+
+    private static long micros(LocalDateTime time) {
+        return time.toEpochSecond(ZoneOffset.UTC) * 1_000_000L + time.getNano() / 1_000;
+    }
+
+    private static LocalDateTime fromMicros(long micros) {
+        return LocalDateTime.ofEpochSecond(Math.floorDiv(micros, 1_000_000L),
+                (int) Math.floorMod(micros, 1_000_000L) * 1_000, ZoneOffset.UTC);
+    }
+
+    // true - интервал точно пересекается с подтверждённым бронированием вещи; false - решение за БД
+    public boolean overlapsApproved(Long itemId, LocalDateTime start, LocalDateTime end, Long excludeBookingId) {
+        Intervals intervals = intervals(itemId);
+        long from = micros(start);
+        // Интервалы не пересекаются, поэтому при обходе по убыванию начала убывают и концы:
+        // кандидаты - только интервалы, начавшиеся до end и ещё не закончившиеся к start
+        for (int i = intervals.countStartingBefore(micros(end)) - 1; i >= 0 && intervals.ends[i] > from; i--) {
+            if (excludeBookingId == null || intervals.bookingIds[i] != excludeBookingId) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    // Подтверждённые периоды вещи, пересекающиеся с [from, to), в порядке начала
+    public List<Period> approvedBetween(Long itemId, LocalDateTime from, LocalDateTime to) {
+        Intervals intervals = intervals(itemId);
+        long rangeStart = micros(from);
+        int last = intervals.countStartingBefore(micros(to));
+        int first = last;
+        while (first > 0 && intervals.ends[first - 1] > rangeStart) {
+            first--;
+        }
+        List<Period> periods = new ArrayList<>(last - first);
+        for (int i = first; i < last; i++) {
+            periods.add(new Period(fromMicros(intervals.starts[i]), fromMicros(intervals.ends[i])));
+        }
+        return periods;
+    }
+
+    public void approved(Booking booking) {
+        if (!booking.getStartDate().isBefore(booking.getEndDate())) {
+            return;
+        }
+        Long itemId = booking.getItem().getId();
+        intervals(itemId);
+        long now = micros(LocalDateTime.now());
+        approvedByItem.asMap().computeIfPresent(itemId, (id, intervals) -> intervals.with(micros(booking.getStartDate()),
+                micros(booking.getEndDate()), booking.getId(), now));
+    }
+
+    // Интервалы вещи загружаются из БД при первом обращении и после истечения ttl или вытеснения; запрос
+    // выполняется вне блокировок кэша, при гонке двух загрузок остаётся записанная первой
+    private Intervals intervals(Long itemId) {
+        Intervals intervals = approvedByItem.getIfPresent(itemId);
+        if (intervals != null) {
+            return intervals;
+        }
+        Intervals loaded = Intervals.of(bookingRepository.findApprovedNotEndedByItemId(itemId, LocalDateTime.now()));
+        intervals = approvedByItem.asMap().putIfAbsent(itemId, loaded);
+        return intervals != null ? intervals : loaded;
+    }
+}
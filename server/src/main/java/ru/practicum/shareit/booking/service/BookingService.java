@@ -1,20 +1,28 @@
 package ru.practicum.shareit.booking.service;
 
+import jakarta.persistence.EntityManager;
 import lombok.AllArgsConstructor;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 import ru.practicum.shareit.booking.BookingMapper;
 import ru.practicum.shareit.booking.BookingQueryState;
 import ru.practicum.shareit.booking.BookingStatus;
-import ru.practicum.shareit.booking.BookingTimeFilter;
+import ru.practicum.shareit.booking.approval.BookingApprovalLock;
 import ru.practicum.shareit.booking.dto.BookingAddDto;
 import ru.practicum.shareit.booking.dto.BookingFrontDto;
 import ru.practicum.shareit.booking.model.Booking;
 import ru.practicum.shareit.booking.repository.BookingRepository;
 import ru.practicum.shareit.exception.AccessViolationException;
+import ru.practicum.shareit.exception.ConflictException;
 import ru.practicum.shareit.exception.ValidationException;
 import ru.practicum.shareit.item.model.Item;
 import ru.practicum.shareit.item.repository.ItemRepository;
+import ru.practicum.shareit.pagination.KeysetPage;
+import ru.practicum.shareit.pagination.PageCursor;
+import ru.practicum.shareit.transaction.AfterCommit;
+import ru.practicum.shareit.transaction.OptimisticLockRetry;
 import ru.practicum.shareit.user.model.User;
 import ru.practicum.shareit.user.repository.UserRepository;
 
@@ -22,6 +30,8 @@ import java.time.LocalDateTime;
 import java.util.List;
 import java.util.NoSuchElementException;
 import java.util.Objects;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
 
 @Service
 @AllArgsConstructor
@@ -29,6 +39,15 @@ public class BookingService {
     private final BookingRepository bookingRepository;
     private final ItemRepository itemRepository;
     private final UserRepository userRepository;
+    private final EntityManager entityManager;
+    private final BookingIntervalIndex bookingIntervalIndex;
+    private final BookingApprovalLock bookingApprovalLock;
+    private final OptimisticLockRetry optimisticLockRetry;
+
+    private static ConflictException overlapConflict(Long itemId) {
+        return new ConflictException(String.format("Предмет с id=%s уже забронирован на пересекающийся период",
+                itemId));
+    }
 
     @Transactional
     public BookingFrontDto create(Long bookerId, BookingAddDto bookingAddDto) {
@@ -43,20 +62,61 @@ public class BookingService {
         if (!itemToBook.isAvailable()) {
             throw new IllegalStateException(String.format("Предмет с id=%s не доступен для бронирования", bookingAddDto.getItemId()));
         }
+        // Быстрый отказ по индексу в памяти, затем проверка по БД. Блокировка вещи здесь не нужна:
+        // новое бронирование ждёт подтверждения, а пересечения между подтверждёнными исключает approve
+        Long itemId = itemToBook.getId();
+        LocalDateTime start = bookingAddDto.getStart();
+        LocalDateTime end = bookingAddDto.getEnd();
+        if (bookingIntervalIndex.overlapsApproved(itemId, start, end, null)
+                || bookingRepository.existsApprovedOverlap(itemId, start, end, null)) {
+            throw overlapConflict(itemId);
+        }
         Booking booking = BookingMapper.addBookingRequestToBooking(booker, itemToBook, bookingAddDto);
         bookingRepository.save(booking);
         return BookingMapper.bookingToFrontBookingDto(booking);
     }
 
-    @Transactional
+    // Решение владельца по бронированию. Одновременные решения по одному бронированию разводит версия (@Version):
+    // проигравшая транзакция повторяется и видит, что решение уже принято
     public BookingFrontDto approve(Long approverId, Long bookingId, boolean isApprove) {
+        return optimisticLockRetry.execute(() -> decide(approverId, bookingId, isApprove));
+    }
+
+    private BookingFrontDto decide(Long approverId, Long bookingId, boolean isApprove) {
         Booking booking = bookingRepository.getItemById(bookingId)
                 .orElseThrow(() -> new NoSuchElementException(String.format("Запрос на бронирование с id=%s не найден", bookingId)));
         if (!Objects.equals(booking.getItem().getOwner().getId(), approverId)) {
             throw new AccessViolationException("Изменять статус бронирования может только владелец вещи");
         }
-        booking.setStatus(isApprove ? BookingStatus.APPROVED : BookingStatus.REJECTED);
-        bookingRepository.save(booking);
+        if (booking.getStatus() != BookingStatus.WAITING) {
+            throw new ValidationException(String.format("Решение по бронированию с id=%s уже принято: %s",
+                    bookingId, booking.getStatus()));
+        }
+        if (!isApprove) {
+            // Отказ не влияет на пересечения - блокировка вещи не нужна
+            booking.setStatus(BookingStatus.REJECTED);
+            bookingRepository.saveAndFlush(booking);
+            return BookingMapper.bookingToFrontBookingDto(booking);
+        }
+
+        Long itemId = booking.getItem().getId();
+        if (bookingIntervalIndex.overlapsApproved(itemId, booking.getStartDate(), booking.getEndDate(), bookingId)) {
+            throw overlapConflict(itemId);
+        }
+        bookingApprovalLock.lock(itemId);
+        if (bookingRepository.existsApprovedOverlap(itemId, booking.getStartDate(), booking.getEndDate(), bookingId)) {
+            throw overlapConflict(itemId);
+        }
+        booking.setStatus(BookingStatus.APPROVED);
+        try {
+            // Ограничение-исключение в PostgreSQL (schema-postgresql.sql): при стратегии exclusion-constraint оно
+            // и обнаруживает пересечение, при item-row - защищает от записей в обход сервиса
+            bookingRepository.saveAndFlush(booking);
+        } catch (DataIntegrityViolationException e) {
+            throw overlapConflict(itemId);
+        }
+        // Индекс интервалов меняется только после фиксации: откаченное подтверждение в него не попадает
+        AfterCommit.run(() -> bookingIntervalIndex.approved(booking));
         return BookingMapper.bookingToFrontBookingDto(booking);
     }
 
@@ -74,84 +134,82 @@ public class BookingService {
         return BookingMapper.bookingToFrontBookingDto(booking);
     }
 
+    // Страница бронирований: курсор следующей страницы - (startDate, id) последней записи
+    private static KeysetPage<BookingFrontDto> toPage(List<Booking> bookings, Integer size) {
+        return KeysetPage.of(bookings, size, b -> new PageCursor(b.getStartDate(), b.getId()),
+                BookingMapper::bookingToFrontBookingDto);
+    }
+
     // Запросы на бронирование владельцу
-    public List<BookingFrontDto> getBookingOfOwnerByState(Long ownerId, BookingQueryState bookingQueryState) {
-        User owner = userRepository.getUserById(ownerId)
-                .orElseThrow(() -> new NoSuchElementException(String.format("Пользователь с id=%s не найден", ownerId)));
-        switch (bookingQueryState) {
-            case ALL -> {
-                return bookingRepository.findByOwnerIdAndStatus(ownerId, null, null).stream()
-                        .map(BookingMapper::bookingToFrontBookingDto)
-                        .toList();
-            }
-            case PAST -> {
-                return bookingRepository.findByOwnerIdAndStatus(ownerId, null, BookingTimeFilter.PAST.name()).stream()
-                        .map(BookingMapper::bookingToFrontBookingDto)
-                        .toList();
-            }
-            case CURRENT -> {
-                return bookingRepository.findByOwnerIdAndStatus(ownerId, null, BookingTimeFilter.CURRENT.name()).stream()
-                        .map(BookingMapper::bookingToFrontBookingDto)
-                        .toList();
-            }
-            case FUTURE -> {
-                return bookingRepository.findByOwnerIdAndStatus(ownerId, null, BookingTimeFilter.FUTURE.toString()).stream()
-                        .map(BookingMapper::bookingToFrontBookingDto)
-                        .toList();
-            }
-            case WAITING -> {
-                return bookingRepository.findByOwnerIdAndStatus(ownerId, BookingStatus.WAITING, null).stream()
-                        .map(BookingMapper::bookingToFrontBookingDto)
-                        .toList();
-            }
-            case REJECTED -> {
-                return bookingRepository.findByOwnerIdAndStatus(ownerId, BookingStatus.REJECTED, null).stream()
-                        .map(BookingMapper::bookingToFrontBookingDto)
-                        .toList();
-            }
+    public KeysetPage<BookingFrontDto> getBookingOfOwnerByState(Long ownerId, BookingQueryState bookingQueryState,
+                                                               Integer from, Integer size, String cursor) {
+        Pageable pageable = PageCursor.toPageable(from, size, cursor);
+        PageCursor after = PageCursor.decode(cursor);
+        LocalDateTime now = LocalDateTime.now();
+        List<Booking> bookings = switch (bookingQueryState) {
+            case ALL -> bookingRepository.findByOwnerId(ownerId,
+                    after.getTimestamp(), after.getId(), pageable);
+            case CURRENT -> bookingRepository.findCurrentByOwnerId(ownerId, now,
+                    after.getTimestamp(), after.getId(), pageable);
+            case PAST -> bookingRepository.findPastByOwnerId(ownerId, now,
+                    after.getTimestamp(), after.getId(), pageable);
+            case FUTURE -> bookingRepository.findFutureByOwnerId(ownerId, now,
+                    after.getTimestamp(), after.getId(), pageable);
+            case WAITING -> bookingRepository.findByOwnerIdAndStatus(ownerId, BookingStatus.WAITING,
+                    after.getTimestamp(), after.getId(), pageable);
+            case REJECTED -> bookingRepository.findByOwnerIdAndStatus(ownerId, BookingStatus.REJECTED,
+                    after.getTimestamp(), after.getId(), pageable);
             default -> throw new ValidationException("Недопустимый статус: " + bookingQueryState);
+        };
+        if (bookings.isEmpty()) {
+            userRepository.checkUserExists(ownerId);
         }
+        return toPage(bookings, size);
     }
 
     // Запросы на бронирование пользователя
-    public List<BookingFrontDto> getBookingOfUserByState(Long bookerId, BookingQueryState bookingQueryState) {
-        User booker = userRepository.getUserById(bookerId)
-                .orElseThrow(() -> new NoSuchElementException(String.format("Пользователь с id=%s не найден", bookerId)));
-        switch (bookingQueryState) {
-            case ALL -> {
-                return bookingRepository.findByBookerIdOrderByStartDateDesc(bookerId).stream()
-                        .map(BookingMapper::bookingToFrontBookingDto)
-                        .toList();
-            }
-            case CURRENT -> {
-                LocalDateTime now = LocalDateTime.now();
-                return bookingRepository.findByBookerIdAndStartDateBeforeAndEndDateAfterOrderByStartDateDesc(bookerId, now, now).stream()
-                        .map(BookingMapper::bookingToFrontBookingDto)
-                        .toList();
-            }
-            case PAST -> {
-                LocalDateTime now = LocalDateTime.now();
-                return bookingRepository.findByBookerIdAndEndDateBeforeOrderByStartDateDesc(bookerId, now).stream()
-                        .map(BookingMapper::bookingToFrontBookingDto)
-                        .toList();
-            }
-            case FUTURE -> {
-                LocalDateTime now = LocalDateTime.now();
-                return bookingRepository.findByBookerIdAndStartDateAfterOrderByStartDateDesc(bookerId, now).stream()
-                        .map(BookingMapper::bookingToFrontBookingDto)
-                        .toList();
-            }
-            case WAITING -> {
-                return bookingRepository.findByBookerIdAndStatusOrderByStartDateDesc(bookerId, BookingStatus.WAITING).stream()
-                        .map(BookingMapper::bookingToFrontBookingDto)
-                        .toList();
-            }
-            case REJECTED -> {
-                return bookingRepository.findByBookerIdAndStatusOrderByStartDateDesc(bookerId, BookingStatus.REJECTED).stream()
-                        .map(BookingMapper::bookingToFrontBookingDto)
-                        .toList();
-            }
+    public KeysetPage<BookingFrontDto> getBookingOfUserByState(Long bookerId, BookingQueryState bookingQueryState,
+                                                              Integer from, Integer size, String cursor) {
+        Pageable pageable = PageCursor.toPageable(from, size, cursor);
+        PageCursor after = PageCursor.decode(cursor);
+        LocalDateTime now = LocalDateTime.now();
+        List<Booking> bookings = switch (bookingQueryState) {
+            case ALL -> bookingRepository.findByBookerId(bookerId,
+                    after.getTimestamp(), after.getId(), pageable);
+            case CURRENT -> bookingRepository.findCurrentByBookerId(bookerId, now,
+                    after.getTimestamp(), after.getId(), pageable);
+            case PAST -> bookingRepository.findPastByBookerId(bookerId, now,
+                    after.getTimestamp(), after.getId(), pageable);
+            case FUTURE -> bookingRepository.findFutureByBookerId(bookerId, now,
+                    after.getTimestamp(), after.getId(), pageable);
+            case WAITING -> bookingRepository.findByBookerIdAndStatus(bookerId, BookingStatus.WAITING,
+                    after.getTimestamp(), after.getId(), pageable);
+            case REJECTED -> bookingRepository.findByBookerIdAndStatus(bookerId, BookingStatus.REJECTED,
+                    after.getTimestamp(), after.getId(), pageable);
             default -> throw new ValidationException("Недопустимый статус: " + bookingQueryState);
+        };
+        if (bookings.isEmpty()) {
+            userRepository.checkUserExists(bookerId);
+        }
+        return toPage(bookings, size);
+    }
+
+    // Проверка существования пользователя. В выборках по состоянию вызывается только
+    // при пустом результате: непустая страница уже подтверждает, что пользователь есть
+    public void checkUserExists(Long userId) {
+        userRepository.checkUserExists(userId);
+    }
+
+    // Выгрузка всех бронирований владельца по одному: каждая запись отдаётся получателю и сразу
+    // отсоединяется от контекста, поэтому память не растёт с размером выгрузки
+    @Transactional(readOnly = true)
+    public void exportBookingsOfOwner(Long ownerId, Consumer<BookingFrontDto> consumer) {
+        try (Stream<Booking> bookings = bookingRepository.streamByOwnerId(ownerId)) {
+            bookings.forEach(booking -> {
+                consumer.accept(BookingMapper.bookingToFrontBookingDto(booking));
+                entityManager.detach(booking.getItem());
+                entityManager.detach(booking);
+            });
         }
     }
 }
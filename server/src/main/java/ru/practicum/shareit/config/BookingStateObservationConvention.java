@@ -0,0 +1,43 @@
+package ru.practicum.shareit.config;
+
+import io.micrometer.common.KeyValue;
+import io.micrometer.common.KeyValues;
+import jakarta.servlet.http.HttpServletRequest;
+import org.springframework.http.server.observation.DefaultServerRequestObservationConvention;
+import org.springframework.http.server.observation.ServerRequestObservationContext;
+import org.springframework.stereotype.Component;
+import ru.practicum.shareit.booking.BookingQueryState;
+
+import java.util.Set;
+
+// Тег state у таймера http.server.requests: фильтр списков бронирований (/bookings, /bookings/owner).
+// Значения ограничены BookingQueryState, неизвестное состояние - INVALID, у остальных запросов - none,
+// поэтому число временных рядов не зависит от входных данных
+@Component
+public class BookingStateObservationConvention extends DefaultServerRequestObservationConvention {
+    static final String STATE_TAG = "state";
+    private static final Set<String> STATE_URIS = Set.of("/bookings", "/bookings/owner");
+    private static final String NONE = "none";
+    private static final String INVALID = "INVALID";
+
+    @Override
+    public KeyValues getLowCardinalityKeyValues(ServerRequestObservationContext context) {
+        return super.getLowCardinalityKeyValues(context).and(KeyValue.of(STATE_TAG, state(context.getCarrier())));
+    }
+
+    private static String state(HttpServletRequest request) {
+        String path = request.getRequestURI().substring(request.getContextPath().length());
+        if (!"GET".equals(request.getMethod()) || !STATE_URIS.contains(path)) {
+            return NONE;
+        }
+        String state = request.getParameter(STATE_TAG);
+        if (state == null) {
+            return BookingQueryState.ALL.name();
+        }
+        try {
+            return BookingQueryState.valueOf(state.trim()).name();
+        } catch (IllegalArgumentException e) {
+            return INVALID;
+        }
+    }
+}
@@ -0,0 +1,19 @@
+package ru.practicum.shareit.config;
+
+import io.opentelemetry.exporter.logging.otlp.OtlpJsonLoggingSpanExporter;
+import io.opentelemetry.sdk.trace.export.SpanExporter;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+public class TracingConfig {
+
+    // Спаны в формате OTLP JSON построчно в лог (логгер io.opentelemetry.exporter.logging.otlp) - для локального
+    // разбора без коллектора; экспорт в коллектор включается адресом management.otlp.tracing.endpoint
+    @Bean
+    @ConditionalOnProperty(name = "shareit.tracing.log-exporter", havingValue = "true")
+    public SpanExporter otlpJsonLoggingSpanExporter() {
+        return OtlpJsonLoggingSpanExporter.create();
+    }
+}
@@ -0,0 +1,20 @@
+package ru.practicum.shareit.config;
+
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.web.filter.ShallowEtagHeaderFilter;
+
+@Configuration
+public class WebConfig {
+
+    // ETag по содержимому ответа для вещей и пользователей: при совпадении If-None-Match возвращается 304 без тела.
+    // Фильтр буферизует ответ целиком, поэтому потоковые выгрузки (/bookings/owner/export) в него не входят
+    @Bean
+    public FilterRegistrationBean<ShallowEtagHeaderFilter> shallowEtagHeaderFilter() {
+        FilterRegistrationBean<ShallowEtagHeaderFilter> registration =
+                new FilterRegistrationBean<>(new ShallowEtagHeaderFilter());
+        registration.addUrlPatterns("/items/*", "/users/*");
+        return registration;
+    }
+}
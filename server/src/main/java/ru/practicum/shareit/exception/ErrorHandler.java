@@ -1,9 +1,13 @@
 package ru.practicum.shareit.exception;
 
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.validation.ConstraintViolationException;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.dao.OptimisticLockingFailureException;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.MethodArgumentNotValidException;
@@ -17,11 +21,27 @@ import java.util.NoSuchElementException;
 public class ErrorHandler {
     static final Logger log =
             LoggerFactory.getLogger(ErrorHandler.class);
+    static final String ERRORS_METRIC = "shareit.errors";
+
+    private final MeterRegistry meterRegistry;
+
+    // Без MeterRegistry в контексте (срезы @WebMvcTest) счётчики ведутся в памяти и никуда не выгружаются
+    public ErrorHandler(ObjectProvider<MeterRegistry> meterRegistry) {
+        this.meterRegistry = meterRegistry.getIfAvailable(SimpleMeterRegistry::new);
+    }
+
+    // Счётчик ответов обработчика: тип исключения и код ответа - ограниченные наборы значений
+    private void count(Exception ex, HttpStatus status) {
+        meterRegistry.counter(ERRORS_METRIC,
+                "exception", ex.getClass().getSimpleName(),
+                "status", String.valueOf(status.value())).increment();
+    }
 
     @ExceptionHandler(NoSuchElementException.class)
     public ResponseEntity<ErrorResponse> handleResourceNotFoundException(NoSuchElementException ex,
                                                                          HttpServletRequest request) {
         log.error(ex.getMessage());
+        count(ex, HttpStatus.NOT_FOUND);
         return ResponseEntity.status(HttpStatus.NOT_FOUND)
                 .body(new ErrorResponse(
                         "NOT_FOUND",
@@ -35,6 +55,7 @@ public class ErrorHandler {
     public ResponseEntity<ErrorResponse> handleMethodArgumentNotValidException(MethodArgumentNotValidException ex,
                                                                                HttpServletRequest request) {
         log.error(ex.getMessage());
+        count(ex, HttpStatus.INTERNAL_SERVER_ERROR);
         return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
                 .body(new ErrorResponse(
                         "INTERNAL_SERVER_ERROR",
@@ -48,6 +69,7 @@ public class ErrorHandler {
     public ResponseEntity<ErrorResponse> handleIllegalArgumentException(ValidationException ex,
                                                                         HttpServletRequest request) {
         log.error(ex.getMessage());
+        count(ex, HttpStatus.INTERNAL_SERVER_ERROR);
         return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
                 .body(new ErrorResponse(
                         "INTERNAL_SERVER_ERROR",
@@ -61,6 +83,7 @@ public class ErrorHandler {
     public ResponseEntity<ErrorResponse> handle(Exception ex,
                                                 HttpServletRequest request) {
         log.error(ex.getMessage());
+        count(ex, HttpStatus.INTERNAL_SERVER_ERROR);
         return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
                 .body(new ErrorResponse(
                         "INTERNAL_SERVER_ERROR",
@@ -74,6 +97,7 @@ public class ErrorHandler {
     public ResponseEntity<ErrorResponse> handleInternalError(Exception ex,
                                                              HttpServletRequest request) {
         log.error(ex.getMessage());
+        count(ex, HttpStatus.INTERNAL_SERVER_ERROR);
         return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
                 .body(new ErrorResponse(
                         "INTERNAL_SERVER_ERROR",
@@ -87,6 +111,7 @@ public class ErrorHandler {
     public ResponseEntity<ErrorResponse> handleIllegalArgumentException(AccessViolationException ex,
                                                                         HttpServletRequest request) {
         log.error(ex.getMessage());
+        count(ex, HttpStatus.FORBIDDEN);
         return ResponseEntity.status(HttpStatus.FORBIDDEN)
                 .body(new ErrorResponse(
                         "FORBIDDEN",
@@ -96,10 +121,40 @@ public class ErrorHandler {
                 ));
     }
 
+    @ExceptionHandler(ConflictException.class)
+    public ResponseEntity<ErrorResponse> handleConflictException(ConflictException ex,
+                                                                 HttpServletRequest request) {
+        log.error(ex.getMessage());
+        count(ex, HttpStatus.CONFLICT);
+        return ResponseEntity.status(HttpStatus.CONFLICT)
+                .body(new ErrorResponse(
+                        "CONFLICT",
+                        ex.getMessage(),
+                        request.getRequestURI(),
+                        LocalDateTime.now()
+                ));
+    }
+
+    // Конфликт версий, не разрешившийся за отведённые повторы
+    @ExceptionHandler(OptimisticLockingFailureException.class)
+    public ResponseEntity<ErrorResponse> handleOptimisticLockingFailureException(OptimisticLockingFailureException ex,
+                                                                                 HttpServletRequest request) {
+        log.error(ex.getMessage());
+        count(ex, HttpStatus.CONFLICT);
+        return ResponseEntity.status(HttpStatus.CONFLICT)
+                .body(new ErrorResponse(
+                        "CONFLICT",
+                        "Ресурс одновременно изменён другим запросом, повторите попытку",
+                        request.getRequestURI(),
+                        LocalDateTime.now()
+                ));
+    }
+
     @ExceptionHandler(ConstraintViolationException.class)
     public ResponseEntity<ErrorResponse> handleConstraintViolationException(ConstraintViolationException ex,
                                                                             HttpServletRequest request) {
         log.error(ex.getMessage());
+        count(ex, HttpStatus.INTERNAL_SERVER_ERROR);
         return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
                 .body(new ErrorResponse(
                         "INTERNAL_SERVER_ERROR",
@@ -9,6 +9,8 @@ import ru.practicum.shareit.item.model.Item;
 import ru.practicum.shareit.user.model.User;
 
 import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
 
 @UtilityClass
 public class CommentMapper {
@@ -37,5 +39,11 @@ public class CommentMapper {
         return commentList.stream().map(CommentMapper::commentToCommentNestedDto).toList();
     }
 
+    public static Map<Long, List<CommentNestedDto>> commentToCommentNestedDtoByItemId(List<Comment> commentList) {
+        return commentList.stream()
+                .collect(Collectors.groupingBy(comment -> comment.getItem().getId(),
+                        Collectors.mapping(CommentMapper::commentToCommentNestedDto, Collectors.toList())));
+    }
+
 
 }
@@ -2,12 +2,14 @@ package ru.practicum.shareit.item;
 
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
+import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.HttpStatus;
 import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.*;
 import ru.practicum.shareit.item.dto.*;
 import ru.practicum.shareit.item.service.ItemService;
 
+import java.time.LocalDateTime;
 import java.util.Collection;
 import java.util.Collections;
 
@@ -32,6 +34,14 @@ public class ItemController {
         return itemService.getOwnerItemsWithBookingDetails(ownerId);
     }
 
+    // Календарь доступности вещи: занятые и свободные периоды в интервале [from, to)
+    @GetMapping("/{id}/availability")
+    public ItemAvailabilityDto getAvailability(@PathVariable Long id,
+                                               @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+                                               @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to) {
+        return itemService.getAvailability(id, from, to);
+    }
+
     @GetMapping("/search")
     public Collection<ItemFrontDto> itemSearchByNameOrDescription(@RequestParam String text) {
         if (text == null || text.trim().isEmpty()) {
@@ -5,7 +5,9 @@ import ru.practicum.shareit.booking.dto.BookingDtoOnlyDate;
 import ru.practicum.shareit.item.dto.*;
 import ru.practicum.shareit.item.model.Item;
 
+import java.util.Collection;
 import java.util.List;
+import java.util.Map;
 
 @UtilityClass
 public class ItemMapper {
@@ -19,6 +21,13 @@ public class ItemMapper {
         return itemFrontDto;
     }
 
+    public static List<ItemFrontDto> itemToFrontItemDtoList(Map<Long, List<CommentNestedDto>> commentNestedDtosByItemId,
+                                                            Collection<Item> items) {
+        return items.stream()
+                .map(item -> itemToFrontItemDto(commentNestedDtosByItemId.getOrDefault(item.getId(), List.of()), item))
+                .toList();
+    }
+
     public static ItemNestedDto itemToItemNestedDto(Item item) {
         return new ItemNestedDto(
                 item.getId(),
@@ -0,0 +1,22 @@
+package ru.practicum.shareit.item.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+// Календарь доступности вещи за период [from, to): занятые подтверждёнными бронированиями и свободные промежутки
+@Getter
+@Setter
+@AllArgsConstructor
+@NoArgsConstructor
+public class ItemAvailabilityDto {
+    private Long itemId;
+    private LocalDateTime from;
+    private LocalDateTime to;
+    private List<AvailabilityPeriodDto> booked;
+    private List<AvailabilityPeriodDto> free;
+}
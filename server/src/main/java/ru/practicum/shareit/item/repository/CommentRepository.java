@@ -1,13 +1,25 @@
 package ru.practicum.shareit.item.repository;
 
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import ru.practicum.shareit.item.model.Comment;
 
+import java.util.Collection;
 import java.util.List;
 
 public interface CommentRepository extends JpaRepository<Comment, Long> {
 
+    @EntityGraph(attributePaths = "author")
     List<Comment> findAllByItemId(Long itemId);
 
+    // Комментарии к набору вещей вместе с авторами одним запросом
+    @Query("SELECT c " +
+            "FROM Comment c " +
+            "JOIN FETCH c.author " +
+            "WHERE c.item.id IN :itemIds")
+    List<Comment> findAllByItemIdIn(@Param("itemIds") Collection<Long> itemIds);
+
     List<Comment> findAllByItemIdAndAuthorId(Long itemId, Long authorId);
 }
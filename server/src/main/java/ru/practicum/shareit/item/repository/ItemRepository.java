@@ -1,21 +1,56 @@
 package ru.practicum.shareit.item.repository;
 
+import jakarta.persistence.LockModeType;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import ru.practicum.shareit.item.model.Item;
 
 import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 
 public interface ItemRepository extends JpaRepository<Item, Long> {
-    Optional<Item> getItemById(Long itemId);
+    // Полнотекстовый поиск PostgreSQL: совпадения по tsvector и подстроке (ILIKE обслуживается триграммным
+    // GIN-индексом), ранжирование по ts_rank и похожести названия. Индексы - в schema-postgresql.sql
+    String FULL_TEXT_SEARCH_SQL = "SELECT i.* " +
+            "FROM items i " +
+            "WHERE i.available = TRUE " +
+            "AND (to_tsvector('simple', i.name || ' ' || i.description) @@ plainto_tsquery('simple', :text) " +
+            "  OR i.name ILIKE '%' || :text || '%' " +
+            "  OR i.description ILIKE '%' || :text || '%') " +
+            "ORDER BY ts_rank(to_tsvector('simple', i.name || ' ' || i.description), " +
+            "                 plainto_tsquery('simple', :text)) DESC, " +
+            "         similarity(i.name, :text) DESC, " +
+            "         i.id " +
+            "LIMIT :limit";
+
+    // Через findById, чтобы чтение по id обслуживалось кэшем второго уровня
+    default Optional<Item> getItemById(Long itemId) {
+        return findById(itemId);
+    }
+
+    // Блокировка строки вещи (SELECT ... FOR UPDATE) до конца транзакции: подтверждения бронирований
+    // одной вещи выполняются по очереди, и проверка пересечений видит результат предыдущего подтверждения
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT i FROM Item i WHERE i.id = :itemId")
+    Optional<Item> lockById(@Param("itemId") Long itemId);
 
     Collection<Item> findByOwnerId(Long ownerId);
 
+    // Ответы на страницу запросов одним запросом
+    List<Item> findAllByItemRequestIdIn(Collection<Long> requestIds);
+
+    // Переносимый поиск по подстроке (H2 и любые БД): совпадения в названии выше совпадений в описании
     @Query(" select i from Item i " +
             "where i.available = true " +
-            "and (upper(i.name) like upper(concat('%', ?1, '%')) " +
-            "  or upper(i.description) like upper(concat('%', ?1, '%')))")
-    Collection<Item> searchAvailableToBooking(String text);
+            "and (upper(i.name) like upper(concat('%', :text, '%')) " +
+            "  or upper(i.description) like upper(concat('%', :text, '%'))) " +
+            "order by case when upper(i.name) like upper(concat('%', :text, '%')) then 0 else 1 end, i.id")
+    List<Item> searchAvailableToBooking(@Param("text") String text, Pageable pageable);
 
+    @Query(value = FULL_TEXT_SEARCH_SQL, nativeQuery = true)
+    List<Item> searchAvailableToBookingFullText(@Param("text") String text, @Param("limit") int limit);
 }
@@ -0,0 +1,227 @@
+package ru.practicum.shareit.item.search;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.stereotype.Component;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.item.repository.ItemRepository;
+
+import java.util.*;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+// Инвертированный индекс вещей в памяти процесса: триграммы названия и описания -> отсортированные массивы id.
+// Строится при старте приложения и обновляется при создании/изменении вещей через index(item)
+@Slf4j
+@Component
+@ConditionalOnProperty(name = ItemSearchEngine.ENGINE_PROPERTY, havingValue = "memory")
+public class InMemoryItemSearchEngine implements ItemSearchEngine {
+    private static final int GRAM = 3;
+    private static final int BUILD_BATCH_SIZE = 10_000;
+    private static final long[] EMPTY = new long[0];
+
+    private final ItemRepository itemRepository;
+    private final int limit;
+
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+    private final Map<Long, Document> documents = new HashMap<>();
+    private final Map<Long, long[]> postings = new HashMap<>();
+    private long[] availableIds = EMPTY;
+    private volatile boolean ready;
+
+    public InMemoryItemSearchEngine(ItemRepository itemRepository,
+                                    @Value("${shareit.search.limit:100}") int limit) {
+        this.itemRepository = itemRepository;
+        this.limit = limit;
+    }
+
+    // Проиндексированное состояние вещи, в нижнем регистре для поиска без учёта регистра
+    private record Document(long id, String name, String description, boolean available,
+                            String nameLower, String descriptionLower, long[] grams) {
+        boolean matchesName(String text) {
+            return nameLower.contains(text);
+        }
+
+        boolean matches(String text) {
+            return nameLower.contains(text) || descriptionLower.contains(text);
+        }
+
+        Item toItem() {
+            Item item = new Item();
+            item.setId(id);
+            item.setName(name);
+            item.setDescription(description);
+            item.setAvailable(available);
+            return item;
+        }
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuild() {
+        lock.writeLock().lock();
+        try {
+            documents.clear();
+            postings.clear();
+            availableIds = EMPTY;
+            Page<Item> page = itemRepository.findAll(PageRequest.of(0, BUILD_BATCH_SIZE, Sort.by("id")));
+            page.forEach(this::put);
+            while (page.hasNext()) {
+                page = itemRepository.findAll(page.nextPageable());
+                page.forEach(this::put);
+            }
+            ready = true;
+            log.info("Индекс поиска вещей построен: {} вещей, {} триграмм", documents.size(), postings.size());
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @Override
+    public void index(Item item) {
+        lock.writeLock().lock();
+        try {
+            put(item);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @Override
+    public List<Item> search(String text) {
+        if (!ready) {
+            // Индекс ещё не построен - поиск через БД
+            return itemRepository.searchAvailableToBooking(text, PageRequest.of(0, limit));
+        }
+        String query = text.toLowerCase(Locale.ROOT);
+        lock.readLock().lock();
+        try {
+            long[] candidates = availableIds;
+            if (query.length() >= GRAM) {
+                // Пересечение начинается с самого короткого списка
+                long[][] lists = Arrays.stream(grams(query))
+                        .mapToObj(gram -> postings.getOrDefault(gram, EMPTY))
+                        .sorted(Comparator.comparingInt(ids -> ids.length))
+                        .toArray(long[][]::new);
+                candidates = lists[0];
+                for (int i = 1; i < lists.length && candidates.length > 0; i++) {
+                    candidates = intersect(candidates, lists[i]);
+                }
+                candidates = intersect(candidates, availableIds);
+            }
+            // Триграммы дают кандидатов, точное совпадение подстроки проверяется по документу
+            List<Item> byName = new ArrayList<>();
+            List<Item> byDescription = new ArrayList<>();
+            for (long id : candidates) {
+                Document document = documents.get(id);
+                if (document.matchesName(query)) {
+                    byName.add(document.toItem());
+                    if (byName.size() == limit) {
+                        break;
+                    }
+                } else if (byDescription.size() < limit && document.matches(query)) {
+                    byDescription.add(document.toItem());
+                }
+            }
+            byName.addAll(byDescription.subList(0, Math.min(byDescription.size(), limit - byName.size())));
+            return byName;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    // Вызывается под блокировкой записи
+    private void put(Item item) {
+        long id = item.getId();
+        Document previous = documents.get(id);
+        if (previous != null) {
+            for (long gram : previous.grams()) {
+                postings.computeIfPresent(gram, (key, ids) -> {
+                    long[] rest = remove(ids, id);
+                    return rest.length == 0 ? null : rest;
+                });
+            }
+        }
+        String nameLower = item.getName().toLowerCase(Locale.ROOT);
+        String descriptionLower = item.getDescription().toLowerCase(Locale.ROOT);
+        long[] grams = union(grams(nameLower), grams(descriptionLower));
+        documents.put(id, new Document(id, item.getName(), item.getDescription(), item.isAvailable(),
+                nameLower, descriptionLower, grams));
+        for (long gram : grams) {
+            postings.put(gram, insert(postings.getOrDefault(gram, EMPTY), id));
+        }
+        availableIds = item.isAvailable() ? insert(availableIds, id) : remove(availableIds, id);
+    }
+
+    // Триграмма кодируется в long: три символа по 16 бит
+    private static long[] grams(String text) {
+        if (text.length() < GRAM) {
+            return EMPTY;
+        }
+        long[] grams = new long[text.length() - GRAM + 1];
+        for (int i = 0; i < grams.length; i++) {
+            grams[i] = ((long) text.charAt(i) << 32) | ((long) text.charAt(i + 1) << 16) | text.charAt(i + 2);
+        }
+        return Arrays.stream(grams).sorted().distinct().toArray();
+    }
+
+    private static long[] union(long[] left, long[] right) {
+        long[] result = Arrays.copyOf(left, left.length + right.length);
+        System.arraycopy(right, 0, result, left.length, right.length);
+        return Arrays.stream(result).sorted().distinct().toArray();
+    }
+
+    private static long[] intersect(long[] left, long[] right) {
+        if (left.length > right.length) {
+            return intersect(right, left);
+        }
+        if (left.length * 16L < right.length) {
+            // Короткий список против длинного - двоичный поиск вместо слияния
+            return Arrays.stream(left).filter(id -> Arrays.binarySearch(right, id) >= 0).toArray();
+        }
+        long[] result = new long[left.length];
+        int i = 0;
+        int j = 0;
+        int size = 0;
+        while (i < left.length && j < right.length) {
+            if (left[i] == right[j]) {
+                result[size++] = left[i];
+                i++;
+                j++;
+            } else if (left[i] < right[j]) {
+                i++;
+            } else {
+                j++;
+            }
+        }
+        return Arrays.copyOf(result, size);
+    }
+
+    private static long[] insert(long[] ids, long id) {
+        int position = Arrays.binarySearch(ids, id);
+        if (position >= 0) {
+            return ids;
+        }
+        position = -position - 1;
+        long[] result = new long[ids.length + 1];
+        System.arraycopy(ids, 0, result, 0, position);
+        result[position] = id;
+        System.arraycopy(ids, position, result, position + 1, ids.length - position);
+        return result;
+    }
+
+    private static long[] remove(long[] ids, long id) {
+        int position = Arrays.binarySearch(ids, id);
+        if (position < 0) {
+            return ids;
+        }
+        long[] result = new long[ids.length - 1];
+        System.arraycopy(ids, 0, result, 0, position);
+        System.arraycopy(ids, position + 1, result, position, ids.length - position - 1);
+        return result;
+    }
+}
@@ -0,0 +1,17 @@
+package ru.practicum.shareit.item.search;
+
+import ru.practicum.shareit.item.model.Item;
+
+import java.util.List;
+
+// Поиск доступных для бронирования вещей по тексту в названии или описании.
+// Реализация выбирается свойством shareit.search.engine, результаты упорядочены по релевантности
+public interface ItemSearchEngine {
+    String ENGINE_PROPERTY = "shareit.search.engine";
+
+    List<Item> search(String text);
+
+    // Обновление индекса после создания или изменения вещи (для движков с собственным индексом)
+    default void index(Item item) {
+    }
+}
@@ -0,0 +1,29 @@
+package ru.practicum.shareit.item.search;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Component;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.item.repository.ItemRepository;
+
+import java.util.List;
+
+// Поиск через LIKE по подстроке - работает на любой БД (в том числе H2 в тестах), но без индекса
+@Component
+@ConditionalOnProperty(name = ItemSearchEngine.ENGINE_PROPERTY, havingValue = "like", matchIfMissing = true)
+public class LikeItemSearchEngine implements ItemSearchEngine {
+    private final ItemRepository itemRepository;
+    private final int limit;
+
+    public LikeItemSearchEngine(ItemRepository itemRepository,
+                                @Value("${shareit.search.limit:100}") int limit) {
+        this.itemRepository = itemRepository;
+        this.limit = limit;
+    }
+
+    @Override
+    public List<Item> search(String text) {
+        return itemRepository.searchAvailableToBooking(text, PageRequest.of(0, limit));
+    }
+}
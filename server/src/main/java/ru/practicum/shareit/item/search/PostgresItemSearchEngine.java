@@ -0,0 +1,28 @@
+package ru.practicum.shareit.item.search;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.item.repository.ItemRepository;
+
+import java.util.List;
+
+// Полнотекстовый поиск PostgreSQL по GIN-индексам (tsvector и pg_trgm) с ранжированием
+@Component
+@ConditionalOnProperty(name = ItemSearchEngine.ENGINE_PROPERTY, havingValue = "postgres")
+public class PostgresItemSearchEngine implements ItemSearchEngine {
+    private final ItemRepository itemRepository;
+    private final int limit;
+
+    public PostgresItemSearchEngine(ItemRepository itemRepository,
+                                    @Value("${shareit.search.limit:100}") int limit) {
+        this.itemRepository = itemRepository;
+        this.limit = limit;
+    }
+
+    @Override
+    public List<Item> search(String text) {
+        return itemRepository.searchAvailableToBookingFullText(text, limit);
+    }
+}
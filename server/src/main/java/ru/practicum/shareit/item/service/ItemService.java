@@ -2,6 +2,7 @@ package ru.practicum.shareit.item.service;
 
 import ru.practicum.shareit.item.dto.*;
 
+import java.time.LocalDateTime;
 import java.util.Collection;
 
 public interface ItemService {
@@ -19,4 +20,6 @@ public interface ItemService {
 
     CommentCreatedDto createComment(Long authorId, Long itemId, CommentAddDto commentAddDto);
 
+    ItemAvailabilityDto getAvailability(Long itemId, LocalDateTime from, LocalDateTime to);
+
 }
@@ -7,6 +7,7 @@ import org.springframework.transaction.annotation.Transactional;
 import ru.practicum.shareit.booking.dto.BookingDtoOnlyDate;
 import ru.practicum.shareit.booking.model.Booking;
 import ru.practicum.shareit.booking.repository.BookingRepository;
+import ru.practicum.shareit.booking.service.BookingIntervalIndex;
 import ru.practicum.shareit.exception.AccessViolationException;
 import ru.practicum.shareit.exception.ValidationException;
 import ru.practicum.shareit.item.CommentMapper;
@@ -16,8 +17,11 @@ import ru.practicum.shareit.item.model.Comment;
 import ru.practicum.shareit.item.model.Item;
 import ru.practicum.shareit.item.repository.CommentRepository;
 import ru.practicum.shareit.item.repository.ItemRepository;
+import ru.practicum.shareit.item.search.ItemSearchEngine;
 import ru.practicum.shareit.request.model.ItemRequest;
 import ru.practicum.shareit.request.repository.ItemRequestRepository;
+import ru.practicum.shareit.transaction.AfterCommit;
+import ru.practicum.shareit.transaction.OptimisticLockRetry;
 import ru.practicum.shareit.user.model.User;
 import ru.practicum.shareit.user.repository.UserRepository;
 
@@ -28,59 +32,84 @@ import java.util.*;
 @Service
 @Qualifier("ItemServiceImpl")
 public class ItemServiceImpl implements ItemService {
+    private static final String LAST_BOOKING = "LAST";
+
     private final ItemRepository itemRepository;
     private final UserRepository userRepository;
     private final BookingRepository bookingRepository;
     private final CommentRepository commentRepository;
     private final ItemRequestRepository itemRequestRepository;
+    private final ItemSearchEngine itemSearchEngine;
+    private final OptimisticLockRetry optimisticLockRetry;
+    private final BookingIntervalIndex bookingIntervalIndex;
 
     private Item getItemById(Long itemId) {
         return itemRepository.getItemById(itemId).orElseThrow(() ->
                 new NoSuchElementException(String.format("Вещь с id=%s не найдена", itemId)));
     }
 
+    // Комментарии (вместе с авторами) к набору вещей одним запросом, сгруппированные по id вещи
+    private Map<Long, List<CommentNestedDto>> getCommentsByItemIds(Collection<Long> itemIds) {
+        if (itemIds.isEmpty()) {
+            return Map.of();
+        }
+        return CommentMapper.commentToCommentNestedDtoByItemId(commentRepository.findAllByItemIdIn(itemIds));
+    }
+
+    // Поисковый индекс обновляется только после фиксации транзакции, чтобы не выдавать неподтверждённые данные
+    private void indexAfterCommit(Item item) {
+        AfterCommit.run(() -> itemSearchEngine.index(item));
+    }
+
     public ItemFrontDto getItemFrontDtoById(Long itemId) {
         List<CommentNestedDto> commentNestedDtos = CommentMapper.commentToCommentNestedDtoList(commentRepository.findAllByItemId(itemId));
         return ItemMapper.itemToFrontItemDto(commentNestedDtos, getItemById(itemId));
     }
 
     public Collection<ItemFrontDtoWithBookingDate> getOwnerItemsWithBookingDetails(Long ownerId) {
-        userRepository.getUserById(ownerId)
-                .orElseThrow(() -> new NoSuchElementException(String.format("Пользователь с id %s не найден", ownerId)));
-        return itemRepository.findByOwnerId(ownerId).stream()
-                .map(item -> {
-                    Long itemId = item.getId();
-                    BookingDtoOnlyDate bookingDtoOnlyDateLast = bookingRepository.getLastBookingById(itemId);
-                    BookingDtoOnlyDate bookingDtoOnlyDateNext = bookingRepository.getNextBookingById(itemId);
-                    List<CommentNestedDto> commentNestedDtos = CommentMapper.commentToCommentNestedDtoList(commentRepository.findAllByItemId(itemId));
-                    ItemFrontDtoWithBookingDate dto = ItemMapper.itemToFrontDtoWithBookingDate(bookingDtoOnlyDateLast,
-                            bookingDtoOnlyDateNext, commentNestedDtos, item);
-                    return dto;
-                })
+        Collection<Item> items = itemRepository.findByOwnerId(ownerId);
+        if (items.isEmpty()) {
+            userRepository.checkUserExists(ownerId);
+            return List.of();
+        }
+        List<Long> itemIds = items.stream().map(Item::getId).toList();
+
+        // Последнее и следующее бронирование всех вещей владельца - одним запросом
+        Map<Long, BookingDtoOnlyDate> lastBookings = new HashMap<>();
+        Map<Long, BookingDtoOnlyDate> nextBookings = new HashMap<>();
+        bookingRepository.getLastAndNextBookingsByItemIds(itemIds).forEach(booking -> {
+            BookingDtoOnlyDate bookingDtoOnlyDate = new BookingDtoOnlyDate(booking.getId(), booking.getStartDate(),
+                    booking.getEndDate(), booking.getStatus());
+            if (LAST_BOOKING.equals(booking.getKind())) {
+                lastBookings.put(booking.getItemId(), bookingDtoOnlyDate);
+            } else {
+                nextBookings.put(booking.getItemId(), bookingDtoOnlyDate);
+            }
+        });
+
+        Map<Long, List<CommentNestedDto>> comments = getCommentsByItemIds(itemIds);
+
+        return items.stream()
+                .map(item -> ItemMapper.itemToFrontDtoWithBookingDate(
+                        lastBookings.get(item.getId()),
+                        nextBookings.get(item.getId()),
+                        comments.getOrDefault(item.getId(), List.of()),
+                        item))
                 .toList();
     }
 
     public Collection<ItemFrontDto> getItemsFromUser(Long ownerId) {
-        userRepository.getUserById(ownerId)
-                .orElseThrow(() -> new NoSuchElementException(String.format("Пользователь с id %s не найден", ownerId)));
-        return itemRepository.findByOwnerId(ownerId).stream()
-                .map(item -> {
-                    List<CommentNestedDto> commentNestedDtos = CommentMapper.commentToCommentNestedDtoList(commentRepository.findAllByItemId(item.getId()));
-                    ItemFrontDto dto = ItemMapper.itemToFrontItemDto(commentNestedDtos, item);
-                    return dto;
-                })
-                .toList();
+        Collection<Item> items = itemRepository.findByOwnerId(ownerId);
+        if (items.isEmpty()) {
+            userRepository.checkUserExists(ownerId);
+        }
+        return ItemMapper.itemToFrontItemDtoList(getCommentsByItemIds(items.stream().map(Item::getId).toList()), items);
     }
 
     @Override
     public Collection<ItemFrontDto> itemSearchByNameOrDescription(String text) {
-        return itemRepository.searchAvailableToBooking(text).stream()
-                .map(item -> {
-                    List<CommentNestedDto> commentNestedDtos = CommentMapper.commentToCommentNestedDtoList(commentRepository.findAllByItemId(item.getId()));
-                    ItemFrontDto dto = ItemMapper.itemToFrontItemDto(commentNestedDtos, item);
-                    return dto;
-                })
-                .toList();
+        Collection<Item> items = itemSearchEngine.search(text);
+        return ItemMapper.itemToFrontItemDtoList(getCommentsByItemIds(items.stream().map(Item::getId).toList()), items);
     }
 
     @Transactional
@@ -98,11 +127,17 @@ public class ItemServiceImpl implements ItemService {
         }
 
         itemRepository.save(createdItem);
+        indexAfterCommit(createdItem);
         return ItemMapper.itemToFrontItemDto(null, createdItem);
     }
 
-    @Transactional
+    // Изменение вещи с повтором при конфликте версий: повтор применяет те же поля к свежему состоянию вещи,
+    // поэтому одновременные изменения разных полей не затирают друг друга
     public ItemFrontDto update(Long ownerId, ItemUpdateDto itemUpdateDto) {
+        return optimisticLockRetry.execute(() -> applyUpdate(ownerId, itemUpdateDto));
+    }
+
+    private ItemFrontDto applyUpdate(Long ownerId, ItemUpdateDto itemUpdateDto) {
         final Item updatedItem = getItemById(itemUpdateDto.getId());
         userRepository.getUserById(ownerId)
                 .orElseThrow(() -> new NoSuchElementException(String.format("Пользователь с id %s не найден", ownerId)));
@@ -114,8 +149,41 @@ public class ItemServiceImpl implements ItemService {
         Optional.ofNullable(itemUpdateDto.getDescription()).ifPresent(updatedItem::setDescription);
         Optional.ofNullable(itemUpdateDto.getAvailable()).ifPresent(updatedItem::setAvailable);
         itemRepository.save(updatedItem);
+        indexAfterCommit(updatedItem);
         return ItemMapper.itemToFrontItemDto(null, updatedItem);
+    }
+
+    // Календарь строится по интервалам подтверждённых бронирований из BookingIntervalIndex, без выборки
+    // бронирований из БД. Прошедшее время свободным не считается: начало периода сдвигается к текущему моменту
+    @Override
+    public ItemAvailabilityDto getAvailability(Long itemId, LocalDateTime from, LocalDateTime to) {
+        if (!from.isBefore(to)) {
+            throw new ValidationException(String.format("Начало периода %s должно быть раньше конца %s", from, to));
+        }
+        getItemById(itemId);
+        LocalDateTime now = LocalDateTime.now();
+        LocalDateTime start = from.isBefore(now) ? now : from;
 
+        List<AvailabilityPeriodDto> booked = new ArrayList<>();
+        List<AvailabilityPeriodDto> free = new ArrayList<>();
+        LocalDateTime cursor = start;
+        if (start.isBefore(to)) {
+            for (BookingIntervalIndex.Period period : bookingIntervalIndex.approvedBetween(itemId, start, to)) {
+                LocalDateTime bookedStart = period.start().isBefore(start) ? start : period.start();
+                LocalDateTime bookedEnd = period.end().isAfter(to) ? to : period.end();
+                if (cursor.isBefore(bookedStart)) {
+                    free.add(new AvailabilityPeriodDto(cursor, bookedStart));
+                }
+                booked.add(new AvailabilityPeriodDto(bookedStart, bookedEnd));
+                if (bookedEnd.isAfter(cursor)) {
+                    cursor = bookedEnd;
+                }
+            }
+            if (cursor.isBefore(to)) {
+                free.add(new AvailabilityPeriodDto(cursor, to));
+            }
+        }
+        return new ItemAvailabilityDto(itemId, from, to, booked, free);
     }
 
     @Transactional
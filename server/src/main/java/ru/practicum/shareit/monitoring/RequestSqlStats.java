@@ -0,0 +1,42 @@
+package ru.practicum.shareit.monitoring;
+
+import java.time.Duration;
+
+// Число SQL-запросов и время в JDBC за обработку одного HTTP-запроса. Копится в потоке обработки:
+// RequestSqlStatsFilter открывает сводку, SqlStatsSessionListener добавляет в неё каждый выполненный запрос
+public final class RequestSqlStats {
+    private static final ThreadLocal<RequestSqlStats> CURRENT = new ThreadLocal<>();
+
+    private int statements;
+    private long jdbcNanos;
+
+    private RequestSqlStats() {
+    }
+
+    public static RequestSqlStats start() {
+        RequestSqlStats stats = new RequestSqlStats();
+        CURRENT.set(stats);
+        return stats;
+    }
+
+    public static void stop() {
+        CURRENT.remove();
+    }
+
+    // Запросы вне открытой сводки (фоновые задачи, потоковая выгрузка в другом потоке) не учитываются
+    static void recordStatement(long nanos) {
+        RequestSqlStats stats = CURRENT.get();
+        if (stats != null) {
+            stats.statements++;
+            stats.jdbcNanos += nanos;
+        }
+    }
+
+    public int statements() {
+        return statements;
+    }
+
+    public Duration jdbcTime() {
+        return Duration.ofNanos(jdbcNanos);
+    }
+}
@@ -0,0 +1,75 @@
+package ru.practicum.shareit.monitoring;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.io.IOException;
+import java.time.Duration;
+
+// Сводка SQL по каждому HTTP-запросу: метрики shareit.request.sql.statements и shareit.request.sql.time
+// с тегами method и uri (шаблон маппинга контроллера) и предупреждение в лог при превышении порогов -
+// так рост числа запросов (N+1) виден на конкретном эндпоинте сразу после выката
+@Slf4j
+@Component
+public class RequestSqlStatsFilter extends OncePerRequestFilter {
+    static final String STATEMENTS_METRIC = "shareit.request.sql.statements";
+    static final String TIME_METRIC = "shareit.request.sql.time";
+    private static final String UNKNOWN_URI = "UNKNOWN";
+
+    private final MeterRegistry meterRegistry;
+    private final int maxStatements;
+    private final Duration maxJdbcTime;
+
+    // Без MeterRegistry в контексте (срезы @WebMvcTest) метрики ведутся в памяти и никуда не выгружаются
+    public RequestSqlStatsFilter(ObjectProvider<MeterRegistry> meterRegistry,
+                                 @Value("${shareit.sql.request.max-statements:20}") int maxStatements,
+                                 @Value("${shareit.sql.request.max-jdbc-time:200ms}") Duration maxJdbcTime) {
+        this.meterRegistry = meterRegistry.getIfAvailable(SimpleMeterRegistry::new);
+        this.maxStatements = maxStatements;
+        this.maxJdbcTime = maxJdbcTime;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        RequestSqlStats stats = RequestSqlStats.start();
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            RequestSqlStats.stop();
+            record(request, stats);
+        }
+    }
+
+    private void record(HttpServletRequest request, RequestSqlStats stats) {
+        Object pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+        String uri = pattern != null ? pattern.toString() : UNKNOWN_URI;
+        DistributionSummary.builder(STATEMENTS_METRIC)
+                .tag("method", request.getMethod())
+                .tag("uri", uri)
+                .register(meterRegistry)
+                .record(stats.statements());
+        Timer.builder(TIME_METRIC)
+                .tag("method", request.getMethod())
+                .tag("uri", uri)
+                .register(meterRegistry)
+                .record(stats.jdbcTime());
+        if (stats.statements() > maxStatements || stats.jdbcTime().compareTo(maxJdbcTime) > 0) {
+            log.warn("{} {}: {} SQL-запросов, {} мс в JDBC (пороги: {} запросов, {} мс)", request.getMethod(),
+                    request.getRequestURI(), stats.statements(), stats.jdbcTime().toMillis(), maxStatements,
+                    maxJdbcTime.toMillis());
+        }
+    }
+}
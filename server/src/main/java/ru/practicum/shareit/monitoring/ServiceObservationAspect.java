@@ -0,0 +1,72 @@
+package ru.practicum.shareit.monitoring;
+
+import io.micrometer.observation.Observation;
+import io.micrometer.observation.ObservationRegistry;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.springframework.aop.framework.AopProxyUtils;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.data.repository.Repository;
+import org.springframework.stereotype.Component;
+import org.springframework.util.ClassUtils;
+
+// Наблюдения вокруг публичных методов сервисов (@Service) и репозиториев Spring Data. При включённой трассировке
+// каждое становится спаном внутри спана HTTP-запроса (контекст приходит из шлюза в заголовке traceparent):
+// медленный вызов сервиса раскладывается на запросы к репозиториям. Заодно ведутся таймеры shareit.service
+// и shareit.repository с тегами class и method. Аспект выполняется снаружи транзакционного прокси,
+// поэтому спан сервиса включает открытие и фиксацию транзакции. Имя наблюдения - Class.method, но мост
+// Micrometer Tracing в OpenTelemetry при экспорте приводит имя спана к kebab-case и обрезает до 50 символов
+// (item-service-impl.get-owner-items-with-booking-det); точные класс и метод - в атрибутах class и method
+@Aspect
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE)
+public class ServiceObservationAspect {
+    static final String SERVICE_OBSERVATION = "shareit.service";
+    static final String REPOSITORY_OBSERVATION = "shareit.repository";
+
+    private final ObservationRegistry observationRegistry;
+
+    public ServiceObservationAspect(ObjectProvider<ObservationRegistry> observationRegistry) {
+        this.observationRegistry = observationRegistry.getIfAvailable(() -> ObservationRegistry.NOOP);
+    }
+
+    @Around("@within(org.springframework.stereotype.Service) && execution(public * *(..))")
+    public Object observeService(ProceedingJoinPoint joinPoint) throws Throwable {
+        return observe(SERVICE_OBSERVATION, ClassUtils.getUserClass(joinPoint.getTarget()), joinPoint);
+    }
+
+    @Around("this(org.springframework.data.repository.Repository) && execution(public * *(..))")
+    public Object observeRepository(ProceedingJoinPoint joinPoint) throws Throwable {
+        return observe(REPOSITORY_OBSERVATION, repositoryInterface(joinPoint), joinPoint);
+    }
+
+    // Репозиторий - прокси Spring Data, имя берётся из его интерфейса (BookingRepository, а не SimpleJpaRepository)
+    private static Class<?> repositoryInterface(ProceedingJoinPoint joinPoint) {
+        for (Class<?> type : AopProxyUtils.proxiedUserInterfaces(joinPoint.getThis())) {
+            if (type != Repository.class && Repository.class.isAssignableFrom(type)) {
+                return type;
+            }
+        }
+        return joinPoint.getSignature().getDeclaringType();
+    }
+
+    private Object observe(String name, Class<?> type, ProceedingJoinPoint joinPoint) throws Throwable {
+        String method = joinPoint.getSignature().getName();
+        Observation observation = Observation.createNotStarted(name, observationRegistry)
+                .contextualName(type.getSimpleName() + "." + method)
+                .lowCardinalityKeyValue("class", type.getSimpleName())
+                .lowCardinalityKeyValue("method", method)
+                .start();
+        try (Observation.Scope ignored = observation.openScope()) {
+            return joinPoint.proceed();
+        } catch (Throwable e) {
+            observation.error(e);
+            throw e;
+        } finally {
+            observation.stop();
+        }
+    }
+}
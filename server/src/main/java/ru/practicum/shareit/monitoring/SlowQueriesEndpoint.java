@@ -0,0 +1,63 @@
+package ru.practicum.shareit.monitoring;
+
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.QueryStatistics;
+import org.hibernate.stat.Statistics;
+import org.springframework.boot.actuate.endpoint.annotation.DeleteOperation;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.lang.Nullable;
+import org.springframework.stereotype.Component;
+
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+
+// /actuator/slowqueries - самые медленные запросы по статистике Hibernate (hibernate.generate_statistics).
+// sort=max (по умолчанию) - по худшему времени выполнения, sort=total - по суммарному времени в БД.
+// DELETE сбрасывает статистику, чтобы замерить отдельный сценарий. Открывается только в профиле ops
+// на порту управления (application.properties): ответ содержит текст запросов
+@Component
+@Endpoint(id = "slowqueries")
+public class SlowQueriesEndpoint {
+    private static final int DEFAULT_LIMIT = 10;
+
+    private final Statistics statistics;
+
+    public SlowQueriesEndpoint(EntityManagerFactory entityManagerFactory) {
+        this.statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+    }
+
+    public record SlowQuery(String query, long executions, long maxMs, double avgMs, long totalMs, long rows) {
+    }
+
+    @ReadOperation
+    public List<SlowQuery> slowQueries(@Nullable Integer limit, @Nullable String sort) {
+        Comparator<SlowQuery> order = "total".equals(sort)
+                ? Comparator.comparingLong(SlowQuery::totalMs)
+                : Comparator.comparingLong(SlowQuery::maxMs);
+        return Arrays.stream(statistics.getQueries())
+                .map(this::toSlowQuery)
+                .sorted(order.reversed())
+                .limit(limit != null ? limit : DEFAULT_LIMIT)
+                .toList();
+    }
+
+    // Hibernate не сбрасывает статистику запросов отдельно: обнуляется вся статистика фабрики сессий,
+    // в том числе счётчики попаданий в кэш второго уровня, на которых построены метрики hibernate.*
+    @DeleteOperation
+    public void reset() {
+        statistics.clear();
+    }
+
+    private SlowQuery toSlowQuery(String query) {
+        QueryStatistics queryStatistics = statistics.getQueryStatistics(query);
+        return new SlowQuery(query,
+                queryStatistics.getExecutionCount(),
+                queryStatistics.getExecutionMaxTime(),
+                queryStatistics.getExecutionAvgTimeAsDouble(),
+                queryStatistics.getExecutionTotalTime(),
+                queryStatistics.getExecutionRowCount());
+    }
+}
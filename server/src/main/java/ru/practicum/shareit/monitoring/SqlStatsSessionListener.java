@@ -0,0 +1,30 @@
+package ru.practicum.shareit.monitoring;
+
+import org.hibernate.BaseSessionEventListener;
+
+// Слушатель событий сессии Hibernate (hibernate.session.events.auto): создаётся на каждую сессию и засекает
+// выполнение каждого запроса и пакета. Запросы сессии идут последовательно, поэтому хватает одной отметки начала
+public class SqlStatsSessionListener extends BaseSessionEventListener {
+    private long statementStart;
+    private long batchStart;
+
+    @Override
+    public void jdbcExecuteStatementStart() {
+        statementStart = System.nanoTime();
+    }
+
+    @Override
+    public void jdbcExecuteStatementEnd() {
+        RequestSqlStats.recordStatement(System.nanoTime() - statementStart);
+    }
+
+    @Override
+    public void jdbcExecuteBatchStart() {
+        batchStart = System.nanoTime();
+    }
+
+    @Override
+    public void jdbcExecuteBatchEnd() {
+        RequestSqlStats.recordStatement(System.nanoTime() - batchStart);
+    }
+}
@@ -0,0 +1,33 @@
+package ru.practicum.shareit.pagination;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import org.springframework.http.ResponseEntity;
+
+import java.util.List;
+import java.util.function.Function;
+
+// Страница keyset-пагинации: записи и курсор следующей страницы (null, если страница последняя)
+@Getter
+@AllArgsConstructor
+public class KeysetPage<T> {
+    public static final String NEXT_CURSOR_HEADER = "X-Next-Cursor";
+
+    private final List<T> content;
+    private final String nextCursor;
+
+    public static <E, T> KeysetPage<T> of(List<E> entities, int size, Function<E, PageCursor> cursorOf,
+                                          Function<E, T> mapper) {
+        String nextCursor = entities.size() < size ? null : cursorOf.apply(entities.getLast()).encode();
+        return new KeysetPage<>(entities.stream().map(mapper).toList(), nextCursor);
+    }
+
+    // Тело ответа остаётся массивом, курсор следующей страницы передаётся в заголовке
+    public ResponseEntity<List<T>> toResponseEntity() {
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok();
+        if (nextCursor != null) {
+            response.header(NEXT_CURSOR_HEADER, nextCursor);
+        }
+        return response.body(content);
+    }
+}
@@ -0,0 +1,68 @@
+package ru.practicum.shareit.pagination;
+
+import lombok.EqualsAndHashCode;
+import lombok.ToString;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+
+// Страница с произвольным смещением: PageRequest допускает только смещения, кратные размеру страницы,
+// а параметр from может указывать на середину страницы
+@EqualsAndHashCode
+@ToString
+public final class OffsetPageable implements Pageable {
+    private final long offset;
+    private final int size;
+
+    public OffsetPageable(long offset, int size) {
+        if (offset < 0 || size <= 0) {
+            throw new IllegalArgumentException(String.format("offset=%s, size=%s", offset, size));
+        }
+        this.offset = offset;
+        this.size = size;
+    }
+
+    @Override
+    public int getPageNumber() {
+        return (int) (offset / size);
+    }
+
+    @Override
+    public int getPageSize() {
+        return size;
+    }
+
+    @Override
+    public long getOffset() {
+        return offset;
+    }
+
+    @Override
+    public Sort getSort() {
+        return Sort.unsorted();
+    }
+
+    @Override
+    public Pageable next() {
+        return new OffsetPageable(offset + size, size);
+    }
+
+    @Override
+    public Pageable previousOrFirst() {
+        return new OffsetPageable(Math.max(0, offset - size), size);
+    }
+
+    @Override
+    public Pageable first() {
+        return new OffsetPageable(0, size);
+    }
+
+    @Override
+    public Pageable withPage(int pageNumber) {
+        return new OffsetPageable((long) pageNumber * size, size);
+    }
+
+    @Override
+    public boolean hasPrevious() {
+        return offset > 0;
+    }
+}
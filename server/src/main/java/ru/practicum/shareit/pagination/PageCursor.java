@@ -0,0 +1,61 @@
+package ru.practicum.shareit.pagination;
+
+import lombok.AllArgsConstructor;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import lombok.ToString;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import ru.practicum.shareit.exception.ValidationException;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+
+// Курсор keyset-пагинации: позиция последней выданной записи в порядке (timestamp DESC, id DESC).
+// Клиенту передаётся в виде непрозрачной строки.
+@Getter
+@AllArgsConstructor
+@EqualsAndHashCode
+@ToString
+public class PageCursor {
+    // Курсор первой страницы: позже любой даты и больше любого id
+    public static final PageCursor FIRST = new PageCursor(LocalDateTime.of(9999, 12, 31, 23, 59, 59), Long.MAX_VALUE);
+
+    private static final String SEPARATOR = "|";
+
+    private final LocalDateTime timestamp;
+    private final Long id;
+
+    public static PageCursor decode(String token) {
+        if (token == null || token.isBlank()) {
+            return FIRST;
+        }
+        try {
+            String decoded = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+            int separatorIndex = decoded.lastIndexOf(SEPARATOR);
+            return new PageCursor(LocalDateTime.parse(decoded.substring(0, separatorIndex)),
+                    Long.parseLong(decoded.substring(separatorIndex + 1)));
+        } catch (IllegalArgumentException | IndexOutOfBoundsException | DateTimeParseException e) {
+            throw new ValidationException("Некорректный курсор страницы: " + token);
+        }
+    }
+
+    // Страница запроса: по курсору всегда читается первая страница после него,
+    // без курсора - ровно со смещения from (совместимость с параметрами from/size), даже если оно не кратно size
+    public static Pageable toPageable(Integer from, Integer size, String token) {
+        if (from < 0 || size <= 0) {
+            throw new ValidationException(String.format("Некорректные параметры страницы: from=%s, size=%s", from, size));
+        }
+        if (token == null || token.isBlank()) {
+            return from % size == 0 ? PageRequest.of(from / size, size) : new OffsetPageable(from, size);
+        }
+        return PageRequest.of(0, size);
+    }
+
+    public String encode() {
+        return Base64.getUrlEncoder().withoutPadding()
+                .encodeToString((timestamp + SEPARATOR + id).getBytes(StandardCharsets.UTF_8));
+    }
+}
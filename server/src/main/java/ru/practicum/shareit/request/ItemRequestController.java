@@ -3,6 +3,7 @@ package ru.practicum.shareit.request;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 import ru.practicum.shareit.request.dto.ItemRequestAddDto;
 import ru.practicum.shareit.request.dto.ItemRequestCreateDto;
@@ -32,8 +33,11 @@ public class ItemRequestController {
 
     // Запросы других пользователей
     @GetMapping("/all")
-    public List<ItemRequestWithAnswer> getOtherRequests(@RequestHeader("X-Sharer-User-Id") Long ownerId) {
-        return itemRequestService.getOtherUserRequests(ownerId);
+    public ResponseEntity<List<ItemRequestWithAnswer>> getOtherRequests(@RequestHeader("X-Sharer-User-Id") Long ownerId,
+                                                                        @RequestParam(defaultValue = "0") Integer from,
+                                                                        @RequestParam(defaultValue = "10") Integer size,
+                                                                        @RequestParam(required = false) String cursor) {
+        return itemRequestService.getOtherUserRequests(ownerId, from, size, cursor).toResponseEntity();
     }
 
     // Вывод запроса предметов с ответами по его id
@@ -1,12 +1,15 @@
 package ru.practicum.shareit.request;
 
 import ru.practicum.shareit.item.ItemMapper;
+import ru.practicum.shareit.item.model.Item;
 import ru.practicum.shareit.request.dto.ItemRequestAddDto;
 import ru.practicum.shareit.request.dto.ItemRequestCreateDto;
 import ru.practicum.shareit.request.dto.ItemRequestWithAnswer;
 import ru.practicum.shareit.request.model.ItemRequest;
 import ru.practicum.shareit.user.model.User;
 
+import java.util.Collection;
+
 public class ItemRequestMapper {
 
     public static ItemRequest itemRequestAddDtoToItemRequest(User requestor, ItemRequestAddDto itemRequestAddDto) {
@@ -18,12 +21,17 @@ public class ItemRequestMapper {
     }
 
     public static ItemRequestWithAnswer itemRequestToItemRequestWithAnswerDto(ItemRequest itemRequest) {
+        return itemRequestToItemRequestWithAnswerDto(itemRequest, itemRequest.getAnswer());
+    }
+
+    // Ответы переданы отдельно (загружены одним запросом на несколько запросов вещей)
+    public static ItemRequestWithAnswer itemRequestToItemRequestWithAnswerDto(ItemRequest itemRequest,
+                                                                              Collection<Item> answer) {
         ItemRequestWithAnswer itemRequestWithAnswer = new ItemRequestWithAnswer();
         itemRequestWithAnswer.setId(itemRequest.getId());
         itemRequestWithAnswer.setDescription(itemRequest.getDescription());
         itemRequestWithAnswer.setCreated(itemRequest.getCreated());
-        itemRequestWithAnswer.setItems(
-                itemRequest.getAnswer().stream().map(ItemMapper::itemToItemNestedRequestDto).toList());
+        itemRequestWithAnswer.setItems(answer.stream().map(ItemMapper::itemToItemNestedRequestDto).toList());
         return itemRequestWithAnswer;
     }
 
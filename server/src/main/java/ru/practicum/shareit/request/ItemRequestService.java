@@ -1,8 +1,13 @@
 package ru.practicum.shareit.request;
 
 import lombok.AllArgsConstructor;
+import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.item.repository.ItemRepository;
+import ru.practicum.shareit.pagination.KeysetPage;
+import ru.practicum.shareit.pagination.PageCursor;
 import ru.practicum.shareit.request.dto.ItemRequestAddDto;
 import ru.practicum.shareit.request.dto.ItemRequestCreateDto;
 import ru.practicum.shareit.request.dto.ItemRequestWithAnswer;
@@ -12,13 +17,16 @@ import ru.practicum.shareit.user.model.User;
 import ru.practicum.shareit.user.repository.UserRepository;
 
 import java.util.List;
+import java.util.Map;
 import java.util.NoSuchElementException;
+import java.util.stream.Collectors;
 
 @AllArgsConstructor
 @Service
 public class ItemRequestService {
     private final ItemRequestRepository itemRequestRepository;
     private final UserRepository userRepository;
+    private final ItemRepository itemRepository;
 
     @Transactional
     public ItemRequestCreateDto create(Long requestorId, ItemRequestAddDto itemRequestAddDto) {
@@ -29,17 +37,30 @@ public class ItemRequestService {
     }
 
     public List<ItemRequestWithAnswer> getOwnRequests(Long requestorId) {
-        User requestor = userRepository.getUserById(requestorId)
-                .orElseThrow(() -> new NoSuchElementException(String.format("Пользователь с id=%s не найден", requestorId)));
-        return itemRequestRepository.findByRequesterIdOrderByCreatedDesc(requestorId).stream()
+        List<ItemRequest> requests = itemRequestRepository.findByRequesterIdOrderByCreatedDesc(requestorId);
+        // Непустой результат уже подтверждает существование пользователя
+        if (requests.isEmpty()) {
+            userRepository.checkUserExists(requestorId);
+        }
+        return requests.stream()
                 .map(ItemRequestMapper::itemRequestToItemRequestWithAnswerDto).toList();
     }
 
-    public List<ItemRequestWithAnswer> getOtherUserRequests(Long requestorId) {
-        User requestor = userRepository.getUserById(requestorId)
-                .orElseThrow(() -> new NoSuchElementException(String.format("Пользователь с id=%s не найден", requestorId)));
-        return itemRequestRepository.findByRequesterIdNotOrderByCreatedDesc(requestorId).stream()
-                .map(ItemRequestMapper::itemRequestToItemRequestWithAnswerDto).toList();
+    // Запросы других пользователей постранично; ответы (вещи) на всю страницу загружаются одним запросом
+    public KeysetPage<ItemRequestWithAnswer> getOtherUserRequests(Long requestorId, Integer from, Integer size,
+                                                                 String cursor) {
+        // Запросы других пользователей есть и для несуществующего id, поэтому проверка нужна всегда
+        userRepository.checkUserExists(requestorId);
+        Pageable pageable = PageCursor.toPageable(from, size, cursor);
+        PageCursor after = PageCursor.decode(cursor);
+        List<ItemRequest> requests = itemRequestRepository.findOtherUserRequests(requestorId,
+                after.getTimestamp(), after.getId(), pageable);
+        Map<Long, List<Item>> answers = requests.isEmpty() ? Map.of() :
+                itemRepository.findAllByItemRequestIdIn(requests.stream().map(ItemRequest::getId).toList()).stream()
+                        .collect(Collectors.groupingBy(item -> item.getItemRequest().getId()));
+        return KeysetPage.of(requests, size, request -> new PageCursor(request.getCreated(), request.getId()),
+                request -> ItemRequestMapper.itemRequestToItemRequestWithAnswerDto(request,
+                        answers.getOrDefault(request.getId(), List.of())));
     }
 
     public ItemRequestWithAnswer getRequestById(Long requestId) {
@@ -2,6 +2,8 @@ package ru.practicum.shareit.request.model;
 
 import jakarta.persistence.*;
 import lombok.*;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 import ru.practicum.shareit.item.model.Item;
 import ru.practicum.shareit.user.model.User;
 
@@ -9,6 +11,8 @@ import java.time.LocalDateTime;
 import java.util.Collection;
 
 @Entity
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "requests")
 @Table(name = "requests")
 @Getter
 @Setter
@@ -21,10 +25,11 @@ public class ItemRequest {
     private Long id;
     private String description;
     private LocalDateTime created;
-    @ManyToOne
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "requester_id", referencedColumnName = "id", nullable = false)
     @ToString.Exclude
     private User requester;
     @OneToMany(mappedBy = "itemRequest")
+    @ToString.Exclude
     private Collection<Item> answer;
 }
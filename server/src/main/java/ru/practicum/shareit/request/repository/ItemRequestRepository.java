@@ -1,17 +1,34 @@
 package ru.practicum.shareit.request.repository;
 
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import ru.practicum.shareit.request.model.ItemRequest;
 
+import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Optional;
 
 public interface ItemRequestRepository extends JpaRepository<ItemRequest, Long> {
 
-    Optional<ItemRequest> getItemById(Long requestId);
+    // Через findById, чтобы чтение по id обслуживалось кэшем второго уровня
+    default Optional<ItemRequest> getItemById(Long requestId) {
+        return findById(requestId);
+    }
 
     List<ItemRequest> findByRequesterIdOrderByCreatedDesc(Long requesterId);
 
-    List<ItemRequest> findByRequesterIdNotOrderByCreatedDesc(Long requesterId);
+    // Keyset-пагинация в порядке (created DESC, id DESC): страница сразу после курсора.
+    // Условие created <= :cursorCreated дублирует курсор, чтобы граница читалась диапазоном по индексу на created
+    @Query("SELECT r FROM ItemRequest r " +
+            "WHERE r.requester.id <> :requesterId " +
+            "AND r.created <= :cursorCreated " +
+            "AND (r.created < :cursorCreated OR (r.created = :cursorCreated AND r.id < :cursorId)) " +
+            "ORDER BY r.created DESC, r.id DESC")
+    List<ItemRequest> findOtherUserRequests(@Param("requesterId") Long requesterId,
+                                            @Param("cursorCreated") LocalDateTime cursorCreated,
+                                            @Param("cursorId") Long cursorId,
+                                            Pageable pageable);
 
 }
\ No newline at end of file
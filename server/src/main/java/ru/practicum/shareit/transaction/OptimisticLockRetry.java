@@ -0,0 +1,55 @@
+package ru.practicum.shareit.transaction;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.function.Supplier;
+
+// Повтор транзакции при конфликте версий (@Version): каждая попытка - новая транзакция, которая заново
+// читает сущности и видит изменения победившей транзакции. Число попыток ограничено, пауза между ними
+// растёт и случайно сдвигается, чтобы проигравшие запросы не сталкивались снова одновременно.
+// Вызывать вне транзакции: внутри внешней транзакции повтор бессмыслен
+@Slf4j
+@Component
+public class OptimisticLockRetry {
+    private final TransactionTemplate transactionTemplate;
+    private final int maxAttempts;
+    private final long backoffMillis;
+
+    public OptimisticLockRetry(PlatformTransactionManager transactionManager,
+                               @Value("${shareit.optimistic-lock.max-attempts:3}") int maxAttempts,
+                               @Value("${shareit.optimistic-lock.backoff-ms:5}") long backoffMillis) {
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.maxAttempts = maxAttempts;
+        this.backoffMillis = backoffMillis;
+    }
+
+    public <T> T execute(Supplier<T> action) {
+        for (int attempt = 1; ; attempt++) {
+            try {
+                return transactionTemplate.execute(status -> action.get());
+            } catch (OptimisticLockingFailureException e) {
+                if (attempt >= maxAttempts) {
+                    throw e;
+                }
+                log.debug("Конфликт версий, попытка {} из {}: {}", attempt, maxAttempts, e.getMessage());
+                pause(attempt);
+            }
+        }
+    }
+
+    private void pause(int attempt) {
+        long delay = backoffMillis * attempt;
+        try {
+            Thread.sleep(delay + ThreadLocalRandom.current().nextLong(delay + 1));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Повтор транзакции прерван", e);
+        }
+    }
+}
@@ -3,11 +3,23 @@ package ru.practicum.shareit.user.repository;
 import org.springframework.data.jpa.repository.JpaRepository;
 import ru.practicum.shareit.user.model.User;
 
+import java.util.NoSuchElementException;
 import java.util.Optional;
 
 public interface UserRepository extends JpaRepository<User, Long> {
 
-    Optional<User> getUserById(Long userId);
+    // Через findById (EntityManager.find), а не производный запрос: чтение по id обслуживается кэшем второго уровня
+    default Optional<User> getUserById(Long userId) {
+        return findById(userId);
+    }
+
+    // Проверка существования пользователя для сервисов. Тоже через getUserById: existsById - это запрос
+    // COUNT к БД в обход кэша второго уровня
+    default void checkUserExists(Long userId) {
+        if (getUserById(userId).isEmpty()) {
+            throw new NoSuchElementException(String.format("Пользователь с id=%s не найден", userId));
+        }
+    }
 
     Optional<User> findAllByEmail(String email);
 
@@ -1,9 +1,12 @@
 package ru.practicum.shareit.user.service;
 
+import jakarta.persistence.EntityManagerFactory;
 import lombok.AllArgsConstructor;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 import ru.practicum.shareit.exception.ValidationException;
+import ru.practicum.shareit.request.model.ItemRequest;
+import ru.practicum.shareit.transaction.AfterCommit;
 import ru.practicum.shareit.user.UserMapper;
 import ru.practicum.shareit.user.dto.UserAddDto;
 import ru.practicum.shareit.user.dto.UserFrontDto;
@@ -18,6 +21,7 @@ import java.util.Optional;
 @Service
 public class UserService {
     private final UserRepository userRepository;
+    private final EntityManagerFactory entityManagerFactory;
 
     private User getUserById(Long userId) {
         final Optional<User> userOptional = userRepository.getUserById(userId);
@@ -54,5 +58,12 @@ public class UserService {
     public void delete(Long userId) {
         final User userToDelete = getUserById(userId);
         userRepository.delete(userToDelete);
+        evictItemRequestsAfterCommit();
+    }
+
+    // Запросы пользователя удаляет сама БД (requests.requester_id ... ON DELETE CASCADE) в обход Hibernate,
+    // поэтому регион ItemRequest кэша второго уровня сбрасывается целиком после фиксации удаления
+    private void evictItemRequestsAfterCommit() {
+        AfterCommit.run(() -> entityManagerFactory.getCache().evict(ItemRequest.class));
     }
 }
\ No newline at end of file
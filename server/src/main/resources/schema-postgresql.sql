@@ -0,0 +1,32 @@
+CREATE EXTENSION IF NOT EXISTS pg_trgm;
+
+CREATE INDEX IF NOT EXISTS ix_items_name_trgm ON items USING gin (name gin_trgm_ops);
+
+CREATE INDEX IF NOT EXISTS ix_items_description_trgm ON items USING gin (description gin_trgm_ops);
+
+CREATE INDEX IF NOT EXISTS ix_items_fulltext ON items USING gin (to_tsvector('simple', name || ' ' || description));
+
+CREATE EXTENSION IF NOT EXISTS btree_gist;
+
+-- Подтверждённые бронирования одной вещи не пересекаются: ограничение-исключение по tsrange с GiST-индексом.
+-- Если в БД уже есть пересекающиеся подтверждения, скрипт (а с ним и запуск сервера) завершается ошибкой
+-- со списком их id: видимое пользователям состояние бронирований меняет только оператор, см. README.
+-- Тело DO в обычных кавычках, а не в $$: скрипт делится на команды по ';' с учётом только кавычек
+DO 'DECLARE
+  conflicts TEXT;
+BEGIN
+  IF NOT EXISTS (SELECT 1 FROM pg_constraint WHERE conname = ''ex_bookings_approved_overlap'') THEN
+    SELECT string_agg(earlier.id || ''/'' || later.id, '', '' ORDER BY earlier.id, later.id) INTO conflicts
+    FROM bookings earlier
+    JOIN bookings later ON later.item_id = earlier.item_id AND later.id > earlier.id
+      AND tsrange(later.start_date, later.end_date) && tsrange(earlier.start_date, earlier.end_date)
+    WHERE earlier.status = ''APPROVED'' AND later.status = ''APPROVED'';
+    IF conflicts IS NOT NULL THEN
+      RAISE EXCEPTION ''ex_bookings_approved_overlap: overlapping APPROVED bookings (id/id): %'', conflicts
+        USING HINT = ''Resolve the overlaps with server/db/approved-overlap-cleanup.sql (see README) and restart'';
+    END IF;
+    ALTER TABLE bookings ADD CONSTRAINT ex_bookings_approved_overlap
+      EXCLUDE USING gist (item_id WITH =, tsrange(start_date, end_date) WITH &&)
+      WHERE (status = ''APPROVED'');
+  END IF;
+END';
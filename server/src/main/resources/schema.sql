@@ -20,6 +20,7 @@ CREATE TABLE IF NOT EXISTS items (
   available BOOLEAN NOT NULL,
   owner_id BIGINT NOT NULL,
   request_id BIGINT,
+  version BIGINT NOT NULL DEFAULT 0,
   CONSTRAINT pk_items PRIMARY KEY (id),
   CONSTRAINT fk_items_to_users FOREIGN KEY(owner_id) REFERENCES users(id),
   CONSTRAINT fk_items_to_requests FOREIGN KEY(request_id) REFERENCES requests(id)
@@ -32,6 +33,7 @@ CREATE TABLE IF NOT EXISTS bookings (
   item_id BIGINT NOT NULL,
   booker_id BIGINT NOT NULL,
   status VARCHAR(50),
+  version BIGINT NOT NULL DEFAULT 0,
   CONSTRAINT pk_bookings PRIMARY KEY (id),
   CONSTRAINT fk_bookings_to_users FOREIGN KEY(booker_id) REFERENCES users(id),
   CONSTRAINT fk_bookings_to_items FOREIGN KEY(item_id) REFERENCES items(id)
@@ -47,3 +49,24 @@ CREATE TABLE IF NOT EXISTS comments (
   CONSTRAINT fk_comments_to_items FOREIGN KEY(item_id) REFERENCES items(id),
   CONSTRAINT fk_comments_to_users FOREIGN KEY(author_id) REFERENCES users(id)
 );
+
+-- Столбцы версий для БД, созданных до введения оптимистической блокировки
+ALTER TABLE items ADD COLUMN IF NOT EXISTS version BIGINT NOT NULL DEFAULT 0;
+
+ALTER TABLE bookings ADD COLUMN IF NOT EXISTS version BIGINT NOT NULL DEFAULT 0;
+
+CREATE INDEX IF NOT EXISTS ix_items_owner_id ON items (owner_id);
+
+CREATE INDEX IF NOT EXISTS ix_items_request_id ON items (request_id);
+
+CREATE INDEX IF NOT EXISTS ix_bookings_booker_start ON bookings (booker_id, start_date, id);
+
+CREATE INDEX IF NOT EXISTS ix_bookings_item_start ON bookings (item_id, start_date);
+
+CREATE INDEX IF NOT EXISTS ix_bookings_item_end ON bookings (item_id, end_date);
+
+CREATE INDEX IF NOT EXISTS ix_comments_item_author ON comments (item_id, author_id);
+
+CREATE INDEX IF NOT EXISTS ix_requests_requester_created ON requests (requester_id, created DESC);
+
+CREATE INDEX IF NOT EXISTS ix_requests_created ON requests (created DESC);
@@ -1,17 +1,23 @@
 package ru.practicum.shareit;
 
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.validation.ConstraintViolationException;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.dao.OptimisticLockingFailureException;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import ru.practicum.shareit.exception.AccessViolationException;
+import ru.practicum.shareit.exception.ConflictException;
 import ru.practicum.shareit.exception.ErrorHandler;
 import ru.practicum.shareit.exception.ErrorResponse;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.when;
 
@@ -19,10 +25,15 @@ class ErrorHandlerTest {
 
     private ErrorHandler errorHandler;
     private HttpServletRequest request;
+    private MeterRegistry meterRegistry;
 
     @BeforeEach
+    @SuppressWarnings("unchecked")
     void setUp() {
-        errorHandler = new ErrorHandler();
+        meterRegistry = new SimpleMeterRegistry();
+        ObjectProvider<MeterRegistry> meterRegistryProvider = mock(ObjectProvider.class);
+        when(meterRegistryProvider.getIfAvailable(any())).thenReturn(meterRegistry);
+        errorHandler = new ErrorHandler(meterRegistryProvider);
         request = mock(HttpServletRequest.class);
         when(request.getRequestURI()).thenReturn("/test-uri");
     }
@@ -68,6 +79,31 @@ class ErrorHandlerTest {
         assertEquals("/test-uri", response.getBody().getPath());
     }
 
+    @Test
+    void handleConflictException_returnsConflict() {
+        ConflictException ex = new ConflictException("Already booked");
+
+        ResponseEntity<ErrorResponse> response = errorHandler.handleConflictException(ex, request);
+
+        assertEquals(HttpStatus.CONFLICT, response.getStatusCode());
+        assertNotNull(response.getBody());
+        assertEquals("CONFLICT", response.getBody().getError());
+        assertEquals("Already booked", response.getBody().getMessage());
+        assertEquals("/test-uri", response.getBody().getPath());
+    }
+
+    @Test
+    void handleOptimisticLockingFailureException_returnsConflict() {
+        OptimisticLockingFailureException ex = new OptimisticLockingFailureException("Row was updated");
+
+        ResponseEntity<ErrorResponse> response = errorHandler.handleOptimisticLockingFailureException(ex, request);
+
+        assertEquals(HttpStatus.CONFLICT, response.getStatusCode());
+        assertNotNull(response.getBody());
+        assertEquals("CONFLICT", response.getBody().getError());
+        assertEquals("/test-uri", response.getBody().getPath());
+    }
+
     @Test
     void handleConstraintViolationException_returnsInternalServerError() {
         ConstraintViolationException ex = new ConstraintViolationException("Validation failed", null);
@@ -80,4 +116,16 @@ class ErrorHandlerTest {
         assertEquals("Validation failed", response.getBody().getMessage());
         assertEquals("/test-uri", response.getBody().getPath());
     }
+
+    @Test
+    void handlers_countErrorsByExceptionTypeAndStatus() {
+        errorHandler.handleConflictException(new ConflictException("Already booked"), request);
+        errorHandler.handleConflictException(new ConflictException("Already booked"), request);
+        errorHandler.handle(new IllegalStateException("Broken"), request);
+
+        assertEquals(2, meterRegistry.get("shareit.errors")
+                .tags("exception", "ConflictException", "status", "409").counter().count());
+        assertEquals(1, meterRegistry.get("shareit.errors")
+                .tags("exception", "IllegalStateException", "status", "500").counter().count());
+    }
 }
@@ -0,0 +1,187 @@
+package ru.practicum.shareit;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import ru.practicum.shareit.booking.BookingStatus;
+import ru.practicum.shareit.booking.approval.ItemRowApprovalLock;
+import ru.practicum.shareit.booking.dto.BookingAddDto;
+import ru.practicum.shareit.booking.repository.BookingRepository;
+import ru.practicum.shareit.booking.service.BookingIntervalIndex;
+import ru.practicum.shareit.booking.service.BookingService;
+import ru.practicum.shareit.exception.ValidationException;
+import ru.practicum.shareit.item.dto.ItemUpdateDto;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.item.repository.ItemRepository;
+import ru.practicum.shareit.item.search.LikeItemSearchEngine;
+import ru.practicum.shareit.item.service.ItemService;
+import ru.practicum.shareit.item.service.ItemServiceImpl;
+import ru.practicum.shareit.transaction.OptimisticLockRetry;
+import ru.practicum.shareit.user.model.User;
+import ru.practicum.shareit.user.repository.UserRepository;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.*;
+import java.util.function.IntFunction;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// Одновременные решения по бронированиям и изменения вещи из нескольких потоков, каждое - в своей транзакции.
+// Проигравший конфликт версий повторяется не более max-attempts раз; попыток по числу участников достаточно,
+// так как каждый из них может опередить другого не больше одного раза
+@DataJpaTest(properties = "shareit.optimistic-lock.max-attempts=" + OptimisticLockingStressTest.THREADS)
+@Import({BookingService.class, BookingIntervalIndex.class, ItemRowApprovalLock.class, OptimisticLockRetry.class,
+        ItemServiceImpl.class, LikeItemSearchEngine.class})
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class OptimisticLockingStressTest {
+    static final int THREADS = 8;
+    private static final int BOOKINGS = 64;
+
+    @Autowired
+    private BookingService bookingService;
+
+    @Autowired
+    private ItemService itemService;
+
+    @Autowired
+    private BookingRepository bookingRepository;
+
+    @Autowired
+    private ItemRepository itemRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    private User owner;
+    private User booker;
+    private Item item;
+    private LocalDateTime start;
+
+    @BeforeEach
+    void setUp() {
+        owner = new User();
+        owner.setName("Owner");
+        owner.setEmail("owner@mail.com");
+        owner = userRepository.save(owner);
+
+        booker = new User();
+        booker.setName("Booker");
+        booker.setEmail("booker@mail.com");
+        booker = userRepository.save(booker);
+
+        item = new Item();
+        item.setName("Drill");
+        item.setDescription("Cordless drill");
+        item.setAvailable(true);
+        item.setOwner(owner);
+        item = itemRepository.save(item);
+
+        start = LocalDateTime.now().plusDays(1).withNano(0);
+    }
+
+    @AfterEach
+    void cleanUp() {
+        bookingRepository.deleteAll();
+        itemRepository.deleteAll();
+        userRepository.deleteAll();
+    }
+
+    private Long createBooking(int slot) {
+        BookingAddDto dto = new BookingAddDto();
+        dto.setItemId(item.getId());
+        dto.setStart(start.plusHours(slot));
+        dto.setEnd(start.plusHours(slot + 1));
+        return bookingService.create(booker.getId(), dto).getId();
+    }
+
+    // Запускает tasks задач на THREADS потоках одновременно и возвращает их результаты по порядку
+    private <T> List<T> runConcurrently(int tasks, IntFunction<T> task) throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        CountDownLatch ready = new CountDownLatch(Math.min(tasks, THREADS));
+        try {
+            List<Future<T>> futures = new ArrayList<>();
+            for (int i = 0; i < tasks; i++) {
+                int index = i;
+                futures.add(executor.submit(() -> {
+                    if (index < THREADS) {
+                        ready.countDown();
+                        ready.await();
+                    }
+                    return task.apply(index);
+                }));
+            }
+            List<T> results = new ArrayList<>();
+            for (Future<T> future : futures) {
+                results.add(future.get(1, TimeUnit.MINUTES));
+            }
+            return results;
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    @DisplayName("Одновременные решения по одному бронированию: принимается ровно одно, остальные отклоняются")
+    void concurrentDecisionsOnSameBooking_exactlyOneWins() throws Exception {
+        Long bookingId = createBooking(0);
+
+        List<BookingStatus> decisions = runConcurrently(THREADS, i -> {
+            try {
+                return bookingService.approve(owner.getId(), bookingId, i % 2 == 0).getStatus();
+            } catch (ValidationException e) {
+                return null;
+            }
+        });
+
+        List<BookingStatus> winners = decisions.stream().filter(Objects::nonNull).toList();
+        assertThat(winners).hasSize(1);
+        assertThat(bookingRepository.findById(bookingId).orElseThrow().getStatus()).isEqualTo(winners.getFirst());
+    }
+
+    @Test
+    @DisplayName("Множество решений по бронированиям одной вещи одновременно: ни одно не теряется")
+    void concurrentDecisionsOnSameItem_allApplied() throws Exception {
+        List<Long> bookingIds = new ArrayList<>();
+        for (int slot = 0; slot < BOOKINGS; slot++) {
+            bookingIds.add(createBooking(slot));
+        }
+
+        List<BookingStatus> decisions = runConcurrently(BOOKINGS, i ->
+                bookingService.approve(owner.getId(), bookingIds.get(i), i % 3 != 0).getStatus());
+
+        for (int i = 0; i < BOOKINGS; i++) {
+            BookingStatus expected = i % 3 != 0 ? BookingStatus.APPROVED : BookingStatus.REJECTED;
+            assertThat(decisions.get(i)).isEqualTo(expected);
+            assertThat(bookingRepository.findById(bookingIds.get(i)).orElseThrow().getStatus()).isEqualTo(expected);
+        }
+    }
+
+    @Test
+    @DisplayName("Одновременные изменения разных полей вещи: ни одно изменение не затирается")
+    void concurrentItemUpdates_noLostUpdates() throws Exception {
+        runConcurrently(THREADS, i -> {
+            ItemUpdateDto update = new ItemUpdateDto();
+            update.setId(item.getId());
+            if (i % 2 == 0) {
+                update.setName("Drill " + i);
+            } else {
+                update.setDescription("Cordless drill " + i);
+            }
+            return itemService.update(owner.getId(), update);
+        });
+
+        Item updated = itemRepository.findById(item.getId()).orElseThrow();
+        assertThat(updated.getName()).startsWith("Drill ");
+        assertThat(updated.getDescription()).startsWith("Cordless drill ");
+        assertThat(updated.getVersion()).isEqualTo(THREADS);
+    }
+}
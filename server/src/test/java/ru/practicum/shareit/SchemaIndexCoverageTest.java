@@ -0,0 +1,267 @@
+package ru.practicum.shareit;
+
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.Arguments;
+import org.junit.jupiter.params.provider.MethodSource;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Import;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+import ru.practicum.shareit.booking.BookingStatus;
+import ru.practicum.shareit.booking.model.Booking;
+import ru.practicum.shareit.booking.repository.BookingRepository;
+import ru.practicum.shareit.item.repository.CommentRepository;
+import ru.practicum.shareit.item.repository.ItemRepository;
+import ru.practicum.shareit.request.repository.ItemRequestRepository;
+import ru.practicum.shareit.user.repository.UserRepository;
+
+import javax.sql.DataSource;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// Каждый путь доступа репозиториев должен обслуживаться индексом из schema.sql: запросы, которые методы
+// репозиториев действительно отправляют в БД (текст и параметры перехватываются на уровне DataSource),
+// на заполненной БД не должны содержать полного просмотра таблицы в плане.
+// Поиск по подстроке (LIKE '%text%') сюда не входит - для него отдельные индексы в schema-postgresql.sql
+@DataJpaTest
+@Import(SchemaIndexCoverageTest.RecordingDataSourceConfig.class)
+class SchemaIndexCoverageTest {
+    private static final String TABLE_SCAN = "tableScan";
+    private static final LocalDateTime CURSOR_START = LocalDateTime.of(2030, 1, 1, 0, 0);
+    private static final Long CURSOR_ID = 100L;
+    private static final Pageable PAGE = PageRequest.of(0, 10);
+
+    @TestConfiguration
+    static class RecordingDataSourceConfig {
+
+        @Bean
+        static BeanPostProcessor recordingDataSourcePostProcessor() {
+            return new BeanPostProcessor() {
+                @Override
+                public Object postProcessAfterInitialization(Object bean, String beanName) {
+                    return bean instanceof DataSource dataSource && !(bean instanceof RecordingDataSource)
+                            ? new RecordingDataSource(dataSource) : bean;
+                }
+            };
+        }
+    }
+
+    // Выполненный запрос: текст и значения параметров в порядке их номеров
+    record RecordedQuery(String sql, List<Object> parameters) {
+    }
+
+    // Запоминает запросы, выполненные через PreparedStatement
+    static final class RecordingDataSource extends DelegatingDataSource {
+        private final List<RecordedQuery> queries = new CopyOnWriteArrayList<>();
+
+        RecordingDataSource(DataSource target) {
+            super(target);
+        }
+
+        @Override
+        public Connection getConnection() throws SQLException {
+            return recording(super.getConnection());
+        }
+
+        @Override
+        public Connection getConnection(String username, String password) throws SQLException {
+            return recording(super.getConnection(username, password));
+        }
+
+        List<RecordedQuery> queries() {
+            return List.copyOf(queries);
+        }
+
+        void clear() {
+            queries.clear();
+        }
+
+        private Connection recording(Connection connection) {
+            return proxy(Connection.class, connection, (method, args, result) ->
+                    method.getName().equals("prepareStatement") && args != null && args[0] instanceof String sql
+                            ? recording((PreparedStatement) result, sql) : result);
+        }
+
+        private PreparedStatement recording(PreparedStatement statement, String sql) {
+            Map<Integer, Object> parameters = new TreeMap<>();
+            return proxy(PreparedStatement.class, statement, (method, args, result) -> {
+                String name = method.getName();
+                if (name.startsWith("set") && args != null && args.length >= 2 && args[0] instanceof Integer index) {
+                    parameters.put(index, name.equals("setNull") ? null : args[1]);
+                } else if ((name.equals("executeQuery") || name.equals("execute")) && args == null) {
+                    queries.add(new RecordedQuery(sql, new ArrayList<>(parameters.values())));
+                }
+                return result;
+            });
+        }
+
+        private interface ResultMapper {
+            Object map(Method method, Object[] args, Object result);
+        }
+
+        private static <T> T proxy(Class<T> type, T target, ResultMapper resultMapper) {
+            return type.cast(Proxy.newProxyInstance(type.getClassLoader(), new Class<?>[]{type},
+                    (proxy, method, args) -> {
+                        try {
+                            return resultMapper.map(method, args, method.invoke(target, args));
+                        } catch (InvocationTargetException e) {
+                            throw e.getCause();
+                        }
+                    }));
+        }
+    }
+
+    // Вызов метода репозитория, запросы которого проверяются
+    interface AccessPath {
+        void run(SchemaIndexCoverageTest test);
+    }
+
+    @Autowired
+    private DataSource dataSource;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private EntityManager em;
+
+    @Autowired
+    private BookingRepository bookingRepository;
+
+    @Autowired
+    private ItemRepository itemRepository;
+
+    @Autowired
+    private CommentRepository commentRepository;
+
+    @Autowired
+    private ItemRequestRepository itemRequestRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    private static Arguments path(String finder, AccessPath accessPath) {
+        return Arguments.of(finder, accessPath);
+    }
+
+    static Stream<Arguments> accessPaths() {
+        LocalDateTime now = LocalDateTime.of(2024, 6, 1, 0, 0);
+        return Stream.of(
+                path("BookingRepository.findByBookerId", test -> test.bookingRepository
+                        .findByBookerId(1L, CURSOR_START, CURSOR_ID, PAGE)),
+                path("BookingRepository.findCurrentByBookerId", test -> test.bookingRepository
+                        .findCurrentByBookerId(1L, now, CURSOR_START, CURSOR_ID, PAGE)),
+                path("BookingRepository.findPastByBookerId", test -> test.bookingRepository
+                        .findPastByBookerId(1L, now, CURSOR_START, CURSOR_ID, PAGE)),
+                path("BookingRepository.findFutureByBookerId", test -> test.bookingRepository
+                        .findFutureByBookerId(1L, now, CURSOR_START, CURSOR_ID, PAGE)),
+                path("BookingRepository.findByBookerIdAndStatus", test -> test.bookingRepository
+                        .findByBookerIdAndStatus(1L, BookingStatus.WAITING, CURSOR_START, CURSOR_ID, PAGE)),
+                path("BookingRepository.findByOwnerId", test -> test.bookingRepository
+                        .findByOwnerId(1L, CURSOR_START, CURSOR_ID, PAGE)),
+                path("BookingRepository.findCurrentByOwnerId", test -> test.bookingRepository
+                        .findCurrentByOwnerId(1L, now, CURSOR_START, CURSOR_ID, PAGE)),
+                path("BookingRepository.findPastByOwnerId", test -> test.bookingRepository
+                        .findPastByOwnerId(1L, now, CURSOR_START, CURSOR_ID, PAGE)),
+                path("BookingRepository.findFutureByOwnerId", test -> test.bookingRepository
+                        .findFutureByOwnerId(1L, now, CURSOR_START, CURSOR_ID, PAGE)),
+                path("BookingRepository.findByOwnerIdAndStatus", test -> test.bookingRepository
+                        .findByOwnerIdAndStatus(1L, BookingStatus.WAITING, CURSOR_START, CURSOR_ID, PAGE)),
+                path("BookingRepository.streamByOwnerId", test -> {
+                    // Запрос выполняется при открытии потока, записи дочитываются до конца
+                    try (Stream<Booking> bookings = test.bookingRepository.streamByOwnerId(1L)) {
+                        bookings.forEach(test.em::detach);
+                    }
+                }),
+                path("BookingRepository.getItemById", test -> test.bookingRepository.getItemById(1L)),
+                path("BookingRepository.checkApprovedBookingExist", test -> test.bookingRepository
+                        .checkApprovedBookingExist(1L, 1L)),
+                path("BookingRepository.existsApprovedOverlap", test -> test.bookingRepository
+                        .existsApprovedOverlap(1L, now.minusDays(1), now, 100L)),
+                path("BookingRepository.findApprovedNotEndedByItemId", test -> test.bookingRepository
+                        .findApprovedNotEndedByItemId(1L, now)),
+                path("BookingRepository.getLastAndNextBookingsByItemIds", test -> test.bookingRepository
+                        .getLastAndNextBookingsByItemIds(List.of(1L, 2L, 3L))),
+                path("ItemRepository.findByOwnerId", test -> test.itemRepository.findByOwnerId(1L)),
+                path("ItemRepository.findAllByItemRequestIdIn", test -> test.itemRepository
+                        .findAllByItemRequestIdIn(List.of(1L, 2L, 3L))),
+                path("CommentRepository.findAllByItemId", test -> test.commentRepository.findAllByItemId(1L)),
+                path("CommentRepository.findAllByItemIdIn", test -> test.commentRepository
+                        .findAllByItemIdIn(List.of(1L, 2L, 3L))),
+                path("CommentRepository.findAllByItemIdAndAuthorId", test -> test.commentRepository
+                        .findAllByItemIdAndAuthorId(1L, 2L)),
+                path("ItemRequestRepository.findByRequesterIdOrderByCreatedDesc", test -> test.itemRequestRepository
+                        .findByRequesterIdOrderByCreatedDesc(1L)),
+                path("ItemRequestRepository.findOtherUserRequests", test -> test.itemRequestRepository
+                        .findOtherUserRequests(1L, LocalDateTime.of(2025, 1, 2, 0, 0), CURSOR_ID, PAGE)),
+                path("UserRepository.findAllByEmail", test -> test.userRepository.findAllByEmail("user1@mail.com"))
+        );
+    }
+
+    @BeforeEach
+    void seed() {
+        // id задаются явно: последовательности не откатываются вместе с тестовой транзакцией
+        jdbcTemplate.update("INSERT INTO users(id, name, email) " +
+                "SELECT x, 'User ' || x, 'user' || x || '@mail.com' FROM SYSTEM_RANGE(1, 200)");
+        jdbcTemplate.update("INSERT INTO requests(id, description, requester_id, created) " +
+                "SELECT x, 'Request ' || x, MOD(x, 200) + 1, DATEADD('MINUTE', x, TIMESTAMP '2025-01-01 00:00:00') " +
+                "FROM SYSTEM_RANGE(1, 2000)");
+        jdbcTemplate.update("INSERT INTO items(id, name, description, available, owner_id, request_id) " +
+                "SELECT x, 'Item ' || x, 'Description ' || x, TRUE, MOD(x, 200) + 1, " +
+                "CASE WHEN MOD(x, 10) = 0 THEN x / 10 END FROM SYSTEM_RANGE(1, 5000)");
+        jdbcTemplate.update("INSERT INTO bookings(start_date, end_date, item_id, booker_id, status) " +
+                "SELECT DATEADD('HOUR', x, TIMESTAMP '2024-01-01 00:00:00'), " +
+                "DATEADD('HOUR', x + 2, TIMESTAMP '2024-01-01 00:00:00'), " +
+                "MOD(x, 5000) + 1, MOD(x, 199) + 1, CASE WHEN MOD(x, 3) = 0 THEN 'WAITING' ELSE 'APPROVED' END " +
+                "FROM SYSTEM_RANGE(1, 20000)");
+        jdbcTemplate.update("INSERT INTO comments(text, item_id, author_id, created) " +
+                "SELECT 'Comment ' || x, MOD(x, 5000) + 1, MOD(x, 199) + 1, TIMESTAMP '2025-01-01 00:00:00' " +
+                "FROM SYSTEM_RANGE(1, 10000)");
+    }
+
+    private String explain(RecordedQuery query) {
+        return jdbcTemplate.queryForObject("EXPLAIN " + query.sql(), String.class, query.parameters().toArray());
+    }
+
+    @ParameterizedTest(name = "{0}")
+    @MethodSource("accessPaths")
+    @DisplayName("Запросы репозиториев используют индексы, а не полный просмотр таблицы")
+    void accessPathIsServedByIndex(String finder, AccessPath accessPath) {
+        RecordingDataSource recordingDataSource = (RecordingDataSource) dataSource;
+        em.clear();
+        recordingDataSource.clear();
+
+        accessPath.run(this);
+
+        List<RecordedQuery> queries = recordingDataSource.queries();
+        assertThat(queries).as("Запросы %s", finder).isNotEmpty();
+        for (RecordedQuery query : queries) {
+            String plan = explain(query);
+            assertThat(plan)
+                    .as("План запроса %s:%n%s", finder, plan)
+                    .doesNotContain(TABLE_SCAN);
+        }
+    }
+}
@@ -0,0 +1,149 @@
+package ru.practicum.shareit;
+
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.item.repository.ItemRepository;
+import ru.practicum.shareit.request.model.ItemRequest;
+import ru.practicum.shareit.request.repository.ItemRequestRepository;
+import ru.practicum.shareit.user.model.User;
+import ru.practicum.shareit.user.repository.UserRepository;
+import ru.practicum.shareit.user.service.UserService;
+
+import java.time.LocalDateTime;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// Каждый вызов репозитория - отдельная транзакция и отдельная сессия Hibernate,
+// поэтому повторное чтение может быть обслужено только кэшем второго уровня
+@DataJpaTest(properties = {
+        "spring.jpa.properties.hibernate.cache.use_second_level_cache=true",
+        "spring.jpa.properties.hibernate.generate_statistics=true"})
+@Import(UserService.class)
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class SecondLevelCacheTest {
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private ItemRepository itemRepository;
+
+    @Autowired
+    private ItemRequestRepository itemRequestRepository;
+
+    @Autowired
+    private UserService userService;
+
+    @Autowired
+    private EntityManagerFactory emf;
+
+    private Statistics statistics;
+    private User owner;
+
+    @BeforeEach
+    void setUp() {
+        owner = new User();
+        owner.setName("Owner");
+        owner.setEmail("owner@mail.com");
+        owner = userRepository.save(owner);
+        statistics = emf.unwrap(SessionFactory.class).getStatistics();
+    }
+
+    @AfterEach
+    void cleanUp() {
+        itemRepository.deleteAll();
+        itemRequestRepository.deleteAll();
+        userRepository.deleteAll();
+        emf.getCache().evictAll();
+    }
+
+    // Первое чтение загружает сущность в кэш, второе выполняется без обращения к БД
+    private void assertSecondReadServedFromCache(Runnable read) {
+        emf.getCache().evictAll();
+        read.run();
+        statistics.clear();
+
+        read.run();
+
+        assertThat(statistics.getPrepareStatementCount()).isZero();
+        assertThat(statistics.getSecondLevelCacheHitCount()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("getUserById: повторное чтение пользователя обслуживается кэшем второго уровня")
+    void getUserById_isServedFromCache() {
+        assertSecondReadServedFromCache(() -> assertThat(userRepository.getUserById(owner.getId())).isPresent());
+    }
+
+    @Test
+    @DisplayName("checkUserExists: повторная проверка пользователя обслуживается кэшем второго уровня")
+    void checkUserExists_isServedFromCache() {
+        assertSecondReadServedFromCache(() -> userRepository.checkUserExists(owner.getId()));
+    }
+
+    @Test
+    @DisplayName("getItemById: повторное чтение вещи обслуживается кэшем второго уровня")
+    void getItemById_isServedFromCache() {
+        Item item = new Item();
+        item.setName("Дрель");
+        item.setDescription("Аккумуляторная дрель");
+        item.setAvailable(true);
+        item.setOwner(owner);
+        Long itemId = itemRepository.save(item).getId();
+
+        assertSecondReadServedFromCache(() -> assertThat(itemRepository.getItemById(itemId)).isPresent());
+    }
+
+    @Test
+    @DisplayName("getItemById: повторное чтение запроса вещи обслуживается кэшем второго уровня")
+    void getItemRequestById_isServedFromCache() {
+        ItemRequest request = new ItemRequest();
+        request.setDescription("Нужна дрель");
+        request.setCreated(LocalDateTime.now());
+        request.setRequester(owner);
+        Long requestId = itemRequestRepository.save(request).getId();
+
+        assertSecondReadServedFromCache(() -> assertThat(itemRequestRepository.getItemById(requestId)).isPresent());
+    }
+
+    @Test
+    @DisplayName("Изменение пользователя обновляет запись в кэше, удаление - удаляет её")
+    void updateAndDelete_invalidateCache() {
+        User cached = userRepository.getUserById(owner.getId()).orElseThrow();
+        cached.setName("Renamed");
+        userRepository.save(cached);
+
+        assertThat(userRepository.getUserById(owner.getId()))
+                .hasValueSatisfying(user -> assertThat(user.getName()).isEqualTo("Renamed"));
+
+        userRepository.deleteById(owner.getId());
+
+        assertThat(userRepository.getUserById(owner.getId())).isEmpty();
+    }
+
+    @Test
+    @DisplayName("Удаление пользователя сбрасывает из кэша его запросы, удалённые каскадом в БД")
+    void deleteUser_evictsCascadeDeletedRequests() {
+        ItemRequest request = new ItemRequest();
+        request.setDescription("Нужна дрель");
+        request.setCreated(LocalDateTime.now());
+        request.setRequester(owner);
+        Long requestId = itemRequestRepository.save(request).getId();
+        assertThat(itemRequestRepository.getItemById(requestId)).isPresent();
+
+        userService.delete(owner.getId());
+
+        assertThat(itemRequestRepository.getItemById(requestId)).isEmpty();
+    }
+}
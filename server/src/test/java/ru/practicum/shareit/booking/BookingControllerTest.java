@@ -9,18 +9,25 @@ import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
 import org.springframework.http.MediaType;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
 import ru.practicum.shareit.booking.dto.BookingAddDto;
 import ru.practicum.shareit.booking.dto.BookingFrontDto;
 import ru.practicum.shareit.booking.service.BookingService;
+import ru.practicum.shareit.pagination.KeysetPage;
 
 import java.time.LocalDateTime;
 import java.util.List;
+import java.util.function.Consumer;
 
+import static org.assertj.core.api.Assertions.assertThat;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.verify;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
 @WebMvcTest(BookingController.class)
@@ -100,8 +107,8 @@ class BookingControllerTest {
         BookingFrontDto dto = new BookingFrontDto();
         dto.setId(1L);
 
-        Mockito.when(bookingService.getBookingOfUserByState(1L, BookingQueryState.ALL))
-                .thenReturn(List.of(dto));
+        Mockito.when(bookingService.getBookingOfUserByState(1L, BookingQueryState.ALL, 0, 10, null))
+                .thenReturn(new KeysetPage<>(List.of(dto), null));
 
         mockMvc.perform(get("/bookings")
                         .header("X-Sharer-User-Id", 1L)
@@ -109,7 +116,7 @@ class BookingControllerTest {
                 .andExpect(status().isOk())
                 .andExpect(jsonPath("$[0].id").value(1L));
 
-        verify(bookingService).getBookingOfUserByState(1L, BookingQueryState.ALL);
+        verify(bookingService).getBookingOfUserByState(1L, BookingQueryState.ALL, 0, 10, null);
     }
 
     @Test
@@ -118,15 +125,66 @@ class BookingControllerTest {
         BookingFrontDto dto = new BookingFrontDto();
         dto.setId(5L);
 
-        Mockito.when(bookingService.getBookingOfOwnerByState(1L, BookingQueryState.ALL))
-                .thenReturn(List.of(dto));
+        Mockito.when(bookingService.getBookingOfOwnerByState(1L, BookingQueryState.ALL, 0, 10, null))
+                .thenReturn(new KeysetPage<>(List.of(dto), null));
 
         mockMvc.perform(get("/bookings/owner")
                         .header("X-Sharer-User-Id", 1L)
                         .param("state", "ALL"))
                 .andExpect(status().isOk())
+                .andExpect(header().doesNotExist(KeysetPage.NEXT_CURSOR_HEADER))
                 .andExpect(jsonPath("$[0].id").value(5L));
 
-        verify(bookingService).getBookingOfOwnerByState(1L, BookingQueryState.ALL);
+        verify(bookingService).getBookingOfOwnerByState(1L, BookingQueryState.ALL, 0, 10, null);
+    }
+
+    @Test
+    @DisplayName("GET /bookings/owner — курсор следующей страницы возвращается в заголовке")
+    void getBookingOfOwnerByState_withCursor() throws Exception {
+        BookingFrontDto dto = new BookingFrontDto();
+        dto.setId(5L);
+
+        Mockito.when(bookingService.getBookingOfOwnerByState(1L, BookingQueryState.WAITING, 0, 1, "abc"))
+                .thenReturn(new KeysetPage<>(List.of(dto), "next"));
+
+        mockMvc.perform(get("/bookings/owner")
+                        .header("X-Sharer-User-Id", 1L)
+                        .param("state", "WAITING")
+                        .param("size", "1")
+                        .param("cursor", "abc"))
+                .andExpect(status().isOk())
+                .andExpect(header().string(KeysetPage.NEXT_CURSOR_HEADER, "next"))
+                .andExpect(jsonPath("$[0].id").value(5L));
+    }
+
+    @Test
+    @DisplayName("GET /bookings/owner/export — бронирования выгружаются построчно в NDJSON")
+    void exportBookingsOfOwner() throws Exception {
+        BookingFrontDto first = new BookingFrontDto();
+        first.setId(1L);
+        BookingFrontDto second = new BookingFrontDto();
+        second.setId(2L);
+
+        Mockito.doAnswer(invocation -> {
+            Consumer<BookingFrontDto> consumer = invocation.getArgument(1);
+            consumer.accept(first);
+            consumer.accept(second);
+            return null;
+        }).when(bookingService).exportBookingsOfOwner(eq(1L), any());
+
+        MvcResult result = mockMvc.perform(get("/bookings/owner/export")
+                        .header("X-Sharer-User-Id", 1L))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        String body = mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(MediaType.APPLICATION_NDJSON))
+                .andReturn().getResponse().getContentAsString();
+
+        assertThat(body.lines().toList()).containsExactly(
+                objectMapper.writeValueAsString(first),
+                objectMapper.writeValueAsString(second));
+        verify(bookingService).checkUserExists(1L);
     }
 }
@@ -7,11 +7,14 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
 import ru.practicum.shareit.booking.dto.BookingFrontDto;
 import ru.practicum.shareit.booking.model.Booking;
 import ru.practicum.shareit.booking.repository.BookingRepository;
 import ru.practicum.shareit.booking.service.BookingService;
 import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.pagination.PageCursor;
 import ru.practicum.shareit.user.model.User;
 import ru.practicum.shareit.user.repository.UserRepository;
 
@@ -36,6 +39,8 @@ class BookingServiceGetBookingOfUserByStateTest {
     @InjectMocks
     private BookingService bookingService;
 
+    private static final Pageable FIRST_PAGE = PageRequest.of(0, 10);
+
     private User booker;
     private Item item;
     private Booking booking;
@@ -69,91 +74,82 @@ class BookingServiceGetBookingOfUserByStateTest {
     @Test
     @DisplayName("ALL — возвращает все бронирования пользователя")
     void getBookingOfUserByState_All() {
-        when(userRepository.getUserById(1L)).thenReturn(Optional.of(booker));
-        when(bookingRepository.findByBookerIdOrderByStartDateDesc(1L))
+        when(bookingRepository.findByBookerId(1L, PageCursor.FIRST.getTimestamp(), PageCursor.FIRST.getId(), FIRST_PAGE))
                 .thenReturn(List.of(booking));
 
-        List<BookingFrontDto> result = bookingService.getBookingOfUserByState(1L, BookingQueryState.ALL);
+        List<BookingFrontDto> result = bookingService.getBookingOfUserByState(1L, BookingQueryState.ALL, 0, 10, null).getContent();
 
         assertThat(result).hasSize(1);
-        verify(bookingRepository).findByBookerIdOrderByStartDateDesc(1L);
+        verify(bookingRepository).findByBookerId(1L, PageCursor.FIRST.getTimestamp(), PageCursor.FIRST.getId(), FIRST_PAGE);
     }
 
     @Test
     @DisplayName("CURRENT — активные бронирования на текущий момент")
     void getBookingOfUserByState_Current() {
-        when(userRepository.getUserById(1L)).thenReturn(Optional.of(booker));
-        when(bookingRepository.findByBookerIdAndStartDateBeforeAndEndDateAfterOrderByStartDateDesc(
-                anyLong(), any(LocalDateTime.class), any(LocalDateTime.class)))
+        when(bookingRepository.findCurrentByBookerId(anyLong(), any(LocalDateTime.class), any(LocalDateTime.class), anyLong(), any(Pageable.class)))
                 .thenReturn(List.of(booking));
 
-        List<BookingFrontDto> result = bookingService.getBookingOfUserByState(1L, BookingQueryState.CURRENT);
+        List<BookingFrontDto> result = bookingService.getBookingOfUserByState(1L, BookingQueryState.CURRENT, 0, 10, null).getContent();
 
         assertThat(result).hasSize(1);
-        verify(bookingRepository).findByBookerIdAndStartDateBeforeAndEndDateAfterOrderByStartDateDesc(
-                eq(1L), any(LocalDateTime.class), any(LocalDateTime.class));
+        verify(bookingRepository).findCurrentByBookerId(eq(1L), any(LocalDateTime.class), any(LocalDateTime.class), anyLong(), any(Pageable.class));
     }
 
     @Test
     @DisplayName("PAST — завершённые бронирования")
     void getBookingOfUserByState_Past() {
-        when(userRepository.getUserById(1L)).thenReturn(Optional.of(booker));
-        when(bookingRepository.findByBookerIdAndEndDateBeforeOrderByStartDateDesc(
-                anyLong(), any(LocalDateTime.class)))
+        when(bookingRepository.findPastByBookerId(anyLong(), any(LocalDateTime.class), any(LocalDateTime.class), anyLong(), any(Pageable.class)))
                 .thenReturn(List.of(booking));
 
-        List<BookingFrontDto> result = bookingService.getBookingOfUserByState(1L, BookingQueryState.PAST);
+        List<BookingFrontDto> result = bookingService.getBookingOfUserByState(1L, BookingQueryState.PAST, 0, 10, null).getContent();
 
         assertThat(result).hasSize(1);
-        verify(bookingRepository).findByBookerIdAndEndDateBeforeOrderByStartDateDesc(eq(1L), any(LocalDateTime.class));
+        verify(bookingRepository).findPastByBookerId(eq(1L), any(LocalDateTime.class), any(LocalDateTime.class), anyLong(), any(Pageable.class));
     }
 
     @Test
     @DisplayName("FUTURE — предстоящие бронирования")
     void getBookingOfUserByState_Future() {
-        when(userRepository.getUserById(1L)).thenReturn(Optional.of(booker));
-        when(bookingRepository.findByBookerIdAndStartDateAfterOrderByStartDateDesc(
-                anyLong(), any(LocalDateTime.class)))
+        when(bookingRepository.findFutureByBookerId(anyLong(), any(LocalDateTime.class), any(LocalDateTime.class), anyLong(), any(Pageable.class)))
                 .thenReturn(List.of(booking));
 
-        List<BookingFrontDto> result = bookingService.getBookingOfUserByState(1L, BookingQueryState.FUTURE);
+        List<BookingFrontDto> result = bookingService.getBookingOfUserByState(1L, BookingQueryState.FUTURE, 0, 10, null).getContent();
 
         assertThat(result).hasSize(1);
-        verify(bookingRepository).findByBookerIdAndStartDateAfterOrderByStartDateDesc(eq(1L), any(LocalDateTime.class));
+        verify(bookingRepository).findFutureByBookerId(eq(1L), any(LocalDateTime.class), any(LocalDateTime.class), anyLong(), any(Pageable.class));
     }
 
     @Test
     @DisplayName("WAITING — бронирования в ожидании подтверждения")
     void getBookingOfUserByState_Waiting() {
-        when(userRepository.getUserById(1L)).thenReturn(Optional.of(booker));
-        when(bookingRepository.findByBookerIdAndStatusOrderByStartDateDesc(1L, BookingStatus.WAITING))
+        when(bookingRepository.findByBookerIdAndStatus(1L, BookingStatus.WAITING, PageCursor.FIRST.getTimestamp(), PageCursor.FIRST.getId(), FIRST_PAGE))
                 .thenReturn(List.of(booking));
 
-        List<BookingFrontDto> result = bookingService.getBookingOfUserByState(1L, BookingQueryState.WAITING);
+        List<BookingFrontDto> result = bookingService.getBookingOfUserByState(1L, BookingQueryState.WAITING, 0, 10, null).getContent();
 
         assertThat(result).hasSize(1);
-        verify(bookingRepository).findByBookerIdAndStatusOrderByStartDateDesc(1L, BookingStatus.WAITING);
+        verify(bookingRepository).findByBookerIdAndStatus(1L, BookingStatus.WAITING, PageCursor.FIRST.getTimestamp(), PageCursor.FIRST.getId(), FIRST_PAGE);
     }
 
     @Test
     @DisplayName("REJECTED — отклонённые бронирования")
     void getBookingOfUserByState_Rejected() {
-        when(userRepository.getUserById(1L)).thenReturn(Optional.of(booker));
-        when(bookingRepository.findByBookerIdAndStatusOrderByStartDateDesc(1L, BookingStatus.REJECTED))
+        when(bookingRepository.findByBookerIdAndStatus(1L, BookingStatus.REJECTED, PageCursor.FIRST.getTimestamp(), PageCursor.FIRST.getId(), FIRST_PAGE))
                 .thenReturn(List.of(booking));
 
-        List<BookingFrontDto> result = bookingService.getBookingOfUserByState(1L, BookingQueryState.REJECTED);
+        List<BookingFrontDto> result = bookingService.getBookingOfUserByState(1L, BookingQueryState.REJECTED, 0, 10, null).getContent();
 
         assertThat(result).hasSize(1);
-        verify(bookingRepository).findByBookerIdAndStatusOrderByStartDateDesc(1L, BookingStatus.REJECTED);
+        verify(bookingRepository).findByBookerIdAndStatus(1L, BookingStatus.REJECTED, PageCursor.FIRST.getTimestamp(), PageCursor.FIRST.getId(), FIRST_PAGE);
     }
 
     @Test
     @DisplayName("Пользователь не найден — выбрасывает NoSuchElementException")
     void getBookingOfUserByState_UserNotFound() {
+        doCallRealMethod().when(userRepository).checkUserExists(999L);
         when(userRepository.getUserById(999L)).thenReturn(Optional.empty());
 
-        assertThatThrownBy(() -> bookingService.getBookingOfUserByState(999L, BookingQueryState.ALL))
+        assertThatThrownBy(() -> bookingService.getBookingOfUserByState(999L, BookingQueryState.ALL, 0, 10, null))
                 .isInstanceOf(NoSuchElementException.class)
                 .hasMessageContaining("Пользователь с id=999 не найден");
     }
@@ -0,0 +1,186 @@
+package ru.practicum.shareit.booking.approval;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import ru.practicum.shareit.booking.BookingStatus;
+import ru.practicum.shareit.booking.dto.BookingAddDto;
+import ru.practicum.shareit.booking.model.Booking;
+import ru.practicum.shareit.booking.repository.BookingRepository;
+import ru.practicum.shareit.booking.service.BookingIntervalIndex;
+import ru.practicum.shareit.booking.service.BookingService;
+import ru.practicum.shareit.exception.ConflictException;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.item.repository.ItemRepository;
+import ru.practicum.shareit.transaction.OptimisticLockRetry;
+import ru.practicum.shareit.user.model.User;
+import ru.practicum.shareit.user.repository.UserRepository;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.*;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// Стратегия exclusion-constraint под нагрузкой: пересечения подтверждений без блокировки вещи исключает только
+// ограничение ex_bookings_approved_overlap, которого нет в H2. Нужен PostgreSQL с расширением btree_gist, запуск:
+// mvn test -Dtest=ExclusionConstraintApprovalLockStressTest -Dshareit.benchmark.postgres.url=jdbc:postgresql://localhost:5432/shareit
+//     -Dshareit.benchmark.postgres.user=shareit -Dshareit.benchmark.postgres.password=shareit
+// БД общая, поэтому тест удаляет только созданные им записи
+@EnabledIfSystemProperty(named = "shareit.benchmark.postgres.url", matches = ".+")
+@DataJpaTest(properties = {
+        "spring.datasource.url=${shareit.benchmark.postgres.url}",
+        "spring.datasource.username=${shareit.benchmark.postgres.user:shareit}",
+        "spring.datasource.password=${shareit.benchmark.postgres.password:shareit}",
+        "spring.datasource.driver-class-name=org.postgresql.Driver",
+        "spring.sql.init.platform=postgresql",
+        "spring.sql.init.schema-locations=classpath:schema.sql,classpath:schema-postgresql.sql",
+        BookingApprovalLock.STRATEGY_PROPERTY + "=exclusion-constraint"})
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Import({BookingService.class, BookingIntervalIndex.class, ExclusionConstraintApprovalLock.class,
+        OptimisticLockRetry.class})
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class ExclusionConstraintApprovalLockStressTest {
+    private static final int THREADS = 8;
+    private static final int ROUNDS = 25;
+
+    @Autowired
+    private BookingService bookingService;
+
+    @Autowired
+    private BookingRepository bookingRepository;
+
+    @Autowired
+    private ItemRepository itemRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private User owner;
+    private User booker;
+    private Item item;
+    private LocalDateTime start;
+
+    private User createUser(String name) {
+        User user = new User();
+        user.setName(name);
+        user.setEmail(name.toLowerCase() + "-" + UUID.randomUUID() + "@mail.com");
+        return userRepository.save(user);
+    }
+
+    @BeforeEach
+    void setUp() {
+        owner = createUser("Owner");
+        booker = createUser("Booker");
+
+        item = new Item();
+        item.setName("Drill");
+        item.setDescription("Cordless drill");
+        item.setAvailable(true);
+        item.setOwner(owner);
+        item = itemRepository.save(item);
+
+        start = LocalDateTime.now().plusDays(1).withNano(0);
+    }
+
+    @AfterEach
+    void cleanUp() {
+        jdbcTemplate.update("DELETE FROM bookings WHERE item_id = ?", item.getId());
+        jdbcTemplate.update("DELETE FROM items WHERE id = ?", item.getId());
+        jdbcTemplate.update("DELETE FROM users WHERE id IN (?, ?)", owner.getId(), booker.getId());
+    }
+
+    private Long createBooking(int startHour, int endHour) {
+        BookingAddDto dto = new BookingAddDto();
+        dto.setItemId(item.getId());
+        dto.setStart(start.plusHours(startHour));
+        dto.setEnd(start.plusHours(endHour));
+        return bookingService.create(booker.getId(), dto).getId();
+    }
+
+    // Одновременное подтверждение бронирований из отдельных потоков; результат - число подтверждённых
+    private int approveConcurrently(ExecutorService executor, List<Long> bookingIds) throws Exception {
+        // Одновременно стартуют столько подтверждений, сколько потоков в пуле
+        CountDownLatch ready = new CountDownLatch(Math.min(bookingIds.size(), THREADS));
+        List<Future<Boolean>> results = new ArrayList<>();
+        for (Long bookingId : bookingIds) {
+            results.add(executor.submit(() -> {
+                ready.countDown();
+                ready.await();
+                try {
+                    bookingService.approve(owner.getId(), bookingId, true);
+                    return true;
+                } catch (ConflictException e) {
+                    return false;
+                }
+            }));
+        }
+        int approved = 0;
+        for (Future<Boolean> result : results) {
+            if (result.get(30, TimeUnit.SECONDS)) {
+                approved++;
+            }
+        }
+        return approved;
+    }
+
+    @Test
+    @DisplayName("Параллельные подтверждения пересекающихся бронирований: в каждом раунде подтверждено ровно одно")
+    void concurrentApprove_approvesExactlyOneOverlappingBookingPerRound() throws Exception {
+        List<Long> allBookingIds = new ArrayList<>();
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        try {
+            for (int round = 0; round < ROUNDS; round++) {
+                // Раунды занимают непересекающиеся периоды, внутри раунда все бронирования пересекаются
+                int roundStart = round * THREADS * 2;
+                List<Long> bookingIds = new ArrayList<>();
+                for (int i = 0; i < THREADS; i++) {
+                    bookingIds.add(createBooking(roundStart + i, roundStart + i + THREADS));
+                }
+                allBookingIds.addAll(bookingIds);
+
+                assertThat(approveConcurrently(executor, bookingIds)).as("Раунд %d", round).isEqualTo(1);
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+
+        assertThat(bookingRepository.findAllById(allBookingIds))
+                .filteredOn(booking -> booking.getStatus() == BookingStatus.APPROVED)
+                .hasSize(ROUNDS);
+    }
+
+    @Test
+    @DisplayName("Непересекающиеся бронирования одной вещи подтверждаются параллельно без конфликтов")
+    void concurrentApprove_approvesAllDisjointBookings() throws Exception {
+        List<Long> bookingIds = new ArrayList<>();
+        for (int i = 0; i < THREADS * 4; i++) {
+            bookingIds.add(createBooking(i * 2, i * 2 + 2));
+        }
+
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        try {
+            assertThat(approveConcurrently(executor, bookingIds)).isEqualTo(bookingIds.size());
+        } finally {
+            executor.shutdownNow();
+        }
+
+        assertThat(bookingRepository.findAllById(bookingIds))
+                .extracting(Booking::getStatus)
+                .containsOnly(BookingStatus.APPROVED);
+    }
+}
@@ -0,0 +1,126 @@
+package ru.practicum.shareit.booking.repository;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.jdbc.datasource.init.ResourceDatabasePopulator;
+import org.springframework.jdbc.datasource.init.ScriptStatementFailedException;
+
+import javax.sql.DataSource;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+// Добавление ограничения ex_bookings_approved_overlap (schema-postgresql.sql) в БД, где уже есть
+// пересекающиеся подтверждённые бронирования, и разовая миграция db/approved-overlap-cleanup.sql.
+// Нужен PostgreSQL с расширением btree_gist, запуск:
+// mvn test -Dtest=ApprovedOverlapConstraintMigrationTest -Dshareit.benchmark.postgres.url=jdbc:postgresql://localhost:5432/shareit
+//     -Dshareit.benchmark.postgres.user=shareit -Dshareit.benchmark.postgres.password=shareit
+@EnabledIfSystemProperty(named = "shareit.benchmark.postgres.url", matches = ".+")
+class ApprovedOverlapConstraintMigrationTest {
+    private static final String EMAIL = "overlap-migration@shareit.ru";
+    private static final LocalDateTime START = LocalDateTime.of(2030, 1, 1, 0, 0);
+    private static final Path CLEANUP_SCRIPT = Path.of("db", "approved-overlap-cleanup.sql");
+
+    private static DataSource dataSource;
+    private static JdbcTemplate jdbc;
+
+    private Long itemId;
+
+    @BeforeAll
+    static void setUpDatabase() {
+        dataSource = new DriverManagerDataSource(
+                System.getProperty("shareit.benchmark.postgres.url"),
+                System.getProperty("shareit.benchmark.postgres.user", "shareit"),
+                System.getProperty("shareit.benchmark.postgres.password", "shareit"));
+        new ResourceDatabasePopulator(new ClassPathResource("schema.sql"),
+                new ClassPathResource("schema-postgresql.sql")).execute(dataSource);
+        jdbc = new JdbcTemplate(dataSource);
+    }
+
+    @BeforeEach
+    void setUp() {
+        Long userId = jdbc.queryForObject("INSERT INTO users(name, email) VALUES ('Owner', ?) RETURNING id",
+                Long.class, EMAIL);
+        itemId = jdbc.queryForObject("INSERT INTO items(name, description, available, owner_id) " +
+                "VALUES ('Drill', 'Cordless drill', TRUE, ?) RETURNING id", Long.class, userId);
+        // Состояние БД до появления ограничения
+        jdbc.execute("ALTER TABLE bookings DROP CONSTRAINT IF EXISTS ex_bookings_approved_overlap");
+    }
+
+    @AfterEach
+    void cleanUp() {
+        jdbc.update("DELETE FROM bookings WHERE item_id = ?", itemId);
+        jdbc.update("DELETE FROM items WHERE id = ?", itemId);
+        jdbc.update("DELETE FROM users WHERE email = ?", EMAIL);
+        // Ограничение восстанавливается для остальных тестов на этой БД
+        runSchemaScript();
+    }
+
+    private Long booking(int startDay, int endDay, String status) {
+        return jdbc.queryForObject("INSERT INTO bookings(start_date, end_date, item_id, booker_id, status) " +
+                        "SELECT ?, ?, ?, owner_id, ? FROM items WHERE id = ? RETURNING id", Long.class,
+                START.plusDays(startDay), START.plusDays(endDay), itemId, status, itemId);
+    }
+
+    private boolean constraintExists() {
+        return jdbc.queryForObject("SELECT count(*) FROM pg_constraint " +
+                "WHERE conname = 'ex_bookings_approved_overlap'", Long.class) > 0;
+    }
+
+    private String status(Long bookingId) {
+        return jdbc.queryForObject("SELECT status FROM bookings WHERE id = ?", String.class, bookingId);
+    }
+
+    private void runSchemaScript() {
+        new ResourceDatabasePopulator(new ClassPathResource("schema-postgresql.sql")).execute(dataSource);
+    }
+
+    @Test
+    @DisplayName("Пересекающиеся подтверждения: скрипт схемы падает с их id и не меняет бронирования")
+    void overlappingApprovals_schemaScriptFailsWithConflictingIds() {
+        Long earliest = booking(1, 5, "APPROVED");
+        Long overlapsEarliest = booking(3, 7, "APPROVED");
+        Long waiting = booking(2, 4, "WAITING");
+
+        assertThatThrownBy(this::runSchemaScript)
+                .isInstanceOf(ScriptStatementFailedException.class)
+                .rootCause()
+                .hasMessageContaining(earliest + "/" + overlapsEarliest);
+
+        assertThat(status(earliest)).isEqualTo("APPROVED");
+        assertThat(status(overlapsEarliest)).isEqualTo("APPROVED");
+        assertThat(status(waiting)).isEqualTo("WAITING");
+        assertThat(constraintExists()).isFalse();
+    }
+
+    @Test
+    @DisplayName("Разовая миграция оставляет самое раннее из пересекающихся подтверждений, после неё ограничение добавляется")
+    void cleanupMigration_demotesLaterOverlapsSoConstraintCanBeAdded() throws IOException {
+        Long earliest = booking(1, 5, "APPROVED");
+        Long overlapsEarliest = booking(3, 7, "APPROVED");
+        // Пересекалось только с вернувшимся в WAITING - остаётся подтверждённым
+        Long overlapsDemoted = booking(6, 8, "APPROVED");
+        Long waiting = booking(2, 4, "WAITING");
+
+        // Скрипт целиком одной командой: ResourceDatabasePopulator не разбирает тело DO в $$
+        jdbc.execute(Files.readString(CLEANUP_SCRIPT));
+        runSchemaScript();
+
+        assertThat(status(earliest)).isEqualTo("APPROVED");
+        assertThat(status(overlapsEarliest)).isEqualTo("WAITING");
+        assertThat(status(overlapsDemoted)).isEqualTo("APPROVED");
+        assertThat(status(waiting)).isEqualTo("WAITING");
+        assertThat(constraintExists()).isTrue();
+    }
+}
@@ -0,0 +1,126 @@
+package ru.practicum.shareit.booking.repository;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.Hibernate;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.data.domain.PageRequest;
+import ru.practicum.shareit.booking.BookingMapper;
+import ru.practicum.shareit.booking.BookingStatus;
+import ru.practicum.shareit.booking.dto.BookingFrontDto;
+import ru.practicum.shareit.booking.model.Booking;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.pagination.PageCursor;
+import ru.practicum.shareit.user.model.User;
+
+import java.time.LocalDateTime;
+import java.util.Comparator;
+import java.util.List;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DataJpaTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+class BookingRepositoryFetchTest {
+
+    @Autowired
+    private BookingRepository bookingRepository;
+
+    @Autowired
+    private EntityManager em;
+
+    @Autowired
+    private EntityManagerFactory emf;
+
+    private User owner;
+    private Booking lastBooking;
+
+    private User createUser(String name, String email) {
+        User user = new User();
+        user.setName(name);
+        user.setEmail(email);
+        em.persist(user);
+        return user;
+    }
+
+    @BeforeEach
+    void setUp() {
+        owner = createUser("Owner", "owner@mail.com");
+        for (int i = 0; i < 20; i++) {
+            Item item = new Item();
+            item.setName("Item " + i);
+            item.setDescription("Description " + i);
+            item.setAvailable(true);
+            item.setOwner(owner);
+            em.persist(item);
+
+            Booking booking = new Booking();
+            booking.setItem(item);
+            booking.setBooker(createUser("Booker " + i, "booker" + i + "@mail.com"));
+            booking.setStartDate(LocalDateTime.now().plusDays(i + 1));
+            booking.setEndDate(LocalDateTime.now().plusDays(i + 2));
+            booking.setStatus(BookingStatus.WAITING);
+            em.persist(booking);
+            lastBooking = booking;
+        }
+        em.flush();
+        em.clear();
+    }
+
+    private Statistics statistics() {
+        Statistics statistics = emf.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+        return statistics;
+    }
+
+    @Test
+    @DisplayName("Список бронирований владельца вместе с вещами загружается одним SQL-запросом")
+    void ownerBookings_singleStatement() {
+        Statistics statistics = statistics();
+
+        List<BookingFrontDto> result = bookingRepository.findByOwnerId(owner.getId(),
+                        PageCursor.FIRST.getTimestamp(), PageCursor.FIRST.getId(), PageRequest.of(0, 50)).stream()
+                .map(BookingMapper::bookingToFrontBookingDto)
+                .toList();
+
+        assertThat(result).hasSize(20).allSatisfy(dto -> {
+            assertThat(dto.getItem()).isNotNull();
+            assertThat(dto.getBooker()).isNotNull();
+        });
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("getItemById загружает бронирование с вещью одним запросом, владелец и автор не загружаются")
+    void getItemById_loadsOnlyWhatIsNeeded() {
+        Statistics statistics = statistics();
+
+        Booking booking = bookingRepository.getItemById(lastBooking.getId()).orElseThrow();
+        BookingFrontDto dto = BookingMapper.bookingToFrontBookingDto(booking);
+
+        assertThat(dto.getId()).isEqualTo(lastBooking.getId());
+        assertThat(booking.getItem().getOwner().getId()).isEqualTo(owner.getId());
+        assertThat(Hibernate.isInitialized(booking.getItem().getOwner())).isFalse();
+        assertThat(Hibernate.isInitialized(booking.getBooker())).isFalse();
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("streamByOwnerId — поток всех бронирований владельца в порядке убывания даты начала")
+    void streamByOwnerId_returnsAllBookingsOrdered() {
+        try (Stream<Booking> bookings = bookingRepository.streamByOwnerId(owner.getId())) {
+            List<Booking> result = bookings.toList();
+
+            assertThat(result).hasSize(20);
+            assertThat(result.getFirst().getId()).isEqualTo(lastBooking.getId());
+            assertThat(result).extracting(Booking::getStartDate)
+                    .isSortedAccordingTo(Comparator.reverseOrder());
+        }
+    }
+}
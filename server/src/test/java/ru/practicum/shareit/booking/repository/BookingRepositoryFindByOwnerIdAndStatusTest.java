@@ -5,13 +5,17 @@ import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
 import org.springframework.test.annotation.Rollback;
 import ru.practicum.shareit.booking.BookingStatus;
 import ru.practicum.shareit.booking.model.Booking;
 import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.pagination.PageCursor;
 import ru.practicum.shareit.user.model.User;
 
 import java.time.LocalDateTime;
+import java.util.ArrayList;
 import java.util.List;
 
 import static org.assertj.core.api.Assertions.assertThat;
@@ -26,6 +30,8 @@ class BookingRepositoryFindByOwnerIdAndStatusTest {
     @Autowired
     private EntityManager em;
 
+    private static final Pageable FIRST_PAGE = PageRequest.of(0, 10);
+
     private User createUser(String name, String email) {
         User user = new User();
         user.setName(name);
@@ -56,8 +62,8 @@ class BookingRepositoryFindByOwnerIdAndStatusTest {
     }
 
     @Test
-    @DisplayName("findByOwnerIdAndStatus — возвращает текущие бронирования владельца")
-    void findByOwnerIdAndStatus_ShouldReturnCurrentBookings() {
+    @DisplayName("findCurrentByOwnerId — возвращает текущие бронирования владельца")
+    void findCurrentByOwnerId_ShouldReturnCurrentBookings() {
         // given
         User owner = createUser("Owner", "owner@mail.com");
         User booker = createUser("Booker", "booker@mail.com");
@@ -79,7 +85,8 @@ class BookingRepositoryFindByOwnerIdAndStatusTest {
         em.clear();
 
         // when
-        List<Booking> result = bookingRepository.findByOwnerIdAndStatus(owner.getId(), BookingStatus.APPROVED, "CURRENT");
+        List<Booking> result = bookingRepository.findCurrentByOwnerId(owner.getId(), LocalDateTime.now(),
+                PageCursor.FIRST.getTimestamp(), PageCursor.FIRST.getId(), FIRST_PAGE);
 
         // then
         assertThat(result)
@@ -92,8 +99,8 @@ class BookingRepositoryFindByOwnerIdAndStatusTest {
     }
 
     @Test
-    @DisplayName("findByOwnerIdAndStatus — возвращает прошедшие бронирования")
-    void findByOwnerIdAndStatus_ShouldReturnPastBookings() {
+    @DisplayName("findPastByOwnerId — возвращает прошедшие бронирования")
+    void findPastByOwnerId_ShouldReturnPastBookings() {
         // given
         User owner = createUser("Owner", "owner@mail.com");
         User booker = createUser("Booker", "booker@mail.com");
@@ -113,7 +120,8 @@ class BookingRepositoryFindByOwnerIdAndStatusTest {
         em.clear();
 
         // when
-        List<Booking> result = bookingRepository.findByOwnerIdAndStatus(owner.getId(), BookingStatus.APPROVED, "PAST");
+        List<Booking> result = bookingRepository.findPastByOwnerId(owner.getId(), LocalDateTime.now(),
+                PageCursor.FIRST.getTimestamp(), PageCursor.FIRST.getId(), FIRST_PAGE);
 
         // then
         assertThat(result)
@@ -122,8 +130,8 @@ class BookingRepositoryFindByOwnerIdAndStatusTest {
     }
 
     @Test
-    @DisplayName("findByOwnerIdAndStatus — возвращает будущие бронирования")
-    void findByOwnerIdAndStatus_ShouldReturnFutureBookings() {
+    @DisplayName("findFutureByOwnerId — возвращает будущие бронирования")
+    void findFutureByOwnerId_ShouldReturnFutureBookings() {
         // given
         User owner = createUser("Owner", "owner@mail.com");
         User booker = createUser("Booker", "booker@mail.com");
@@ -138,7 +146,8 @@ class BookingRepositoryFindByOwnerIdAndStatusTest {
         em.clear();
 
         // when
-        List<Booking> result = bookingRepository.findByOwnerIdAndStatus(owner.getId(), BookingStatus.WAITING, "FUTURE");
+        List<Booking> result = bookingRepository.findFutureByOwnerId(owner.getId(), LocalDateTime.now(),
+                PageCursor.FIRST.getTimestamp(), PageCursor.FIRST.getId(), FIRST_PAGE);
 
         // then
         assertThat(result)
@@ -151,8 +160,8 @@ class BookingRepositoryFindByOwnerIdAndStatusTest {
     }
 
     @Test
-    @DisplayName("findByOwnerIdAndStatus — возвращает все бронирования без фильтров (status=null, timeFilter=null)")
-    void findByOwnerIdAndStatus_ShouldReturnAll_WhenNoFilters() {
+    @DisplayName("findByOwnerId — возвращает все бронирования владельца")
+    void findByOwnerId_ShouldReturnAll() {
         // given
         User owner = createUser("Owner", "owner@mail.com");
         User booker = createUser("Booker", "booker@mail.com");
@@ -172,9 +181,108 @@ class BookingRepositoryFindByOwnerIdAndStatusTest {
         em.clear();
 
         // when
-        List<Booking> result = bookingRepository.findByOwnerIdAndStatus(owner.getId(), null, null);
+        List<Booking> result = bookingRepository.findByOwnerId(owner.getId(),
+                PageCursor.FIRST.getTimestamp(), PageCursor.FIRST.getId(), FIRST_PAGE);
 
         // then
         assertThat(result).hasSize(2);
     }
-}
\ No newline at end of file
+
+    @Test
+    @DisplayName("findByOwnerId — постраничный обход по курсору без пропусков и повторов")
+    void findByOwnerId_ShouldPageByCursor() {
+        // given
+        User owner = createUser("Owner", "owner@mail.com");
+        User booker = createUser("Booker", "booker@mail.com");
+        Item item = createItem("Tent", owner);
+        LocalDateTime start = LocalDateTime.now().plusDays(1).withNano(0);
+
+        // два бронирования с одинаковой датой начала - порядок между ними определяет id
+        List<Booking> bookings = List.of(
+                createBooking(booker, item, start, start.plusHours(1), BookingStatus.WAITING),
+                createBooking(booker, item, start, start.plusHours(2), BookingStatus.WAITING),
+                createBooking(booker, item, start.plusDays(1), start.plusDays(2), BookingStatus.WAITING),
+                createBooking(booker, item, start.plusDays(2), start.plusDays(3), BookingStatus.WAITING),
+                createBooking(booker, item, start.plusDays(3), start.plusDays(4), BookingStatus.WAITING));
+
+        em.flush();
+        em.clear();
+
+        // when
+        List<Long> visited = new ArrayList<>();
+        PageCursor cursor = PageCursor.FIRST;
+        List<Booking> page;
+        do {
+            page = bookingRepository.findByOwnerId(owner.getId(),
+                    cursor.getTimestamp(), cursor.getId(), PageRequest.of(0, 2));
+            page.forEach(b -> visited.add(b.getId()));
+            if (!page.isEmpty()) {
+                cursor = new PageCursor(page.getLast().getStartDate(), page.getLast().getId());
+            }
+        } while (page.size() == 2);
+
+        // then
+        assertThat(visited).containsExactly(
+                bookings.get(4).getId(),
+                bookings.get(3).getId(),
+                bookings.get(2).getId(),
+                bookings.get(1).getId(),
+                bookings.get(0).getId());
+    }
+
+    @Test
+    @DisplayName("findByOwnerId — смещение from, не кратное size, пропускает ровно from записей")
+    void findByOwnerId_offsetNotMultipleOfSize() {
+        // given
+        User owner = createUser("Owner", "owner@mail.com");
+        User booker = createUser("Booker", "booker@mail.com");
+        Item item = createItem("Tent", owner);
+        LocalDateTime start = LocalDateTime.now().plusDays(1).withNano(0);
+
+        List<Booking> bookings = new ArrayList<>();
+        for (int day = 0; day < 5; day++) {
+            bookings.add(createBooking(booker, item, start.plusDays(day), start.plusDays(day).plusHours(1),
+                    BookingStatus.WAITING));
+        }
+
+        em.flush();
+        em.clear();
+
+        // when
+        List<Booking> page = bookingRepository.findByOwnerId(owner.getId(),
+                PageCursor.FIRST.getTimestamp(), PageCursor.FIRST.getId(), PageCursor.toPageable(1, 2, null));
+
+        // then
+        assertThat(page).extracting(Booking::getId)
+                .containsExactly(bookings.get(3).getId(), bookings.get(2).getId());
+    }
+
+    @Test
+    @DisplayName("findByOwnerIdAndStatus — возвращает бронирования владельца с заданным статусом")
+    void findByOwnerIdAndStatus_ShouldFilterByStatus() {
+        // given
+        User owner = createUser("Owner", "owner@mail.com");
+        User booker = createUser("Booker", "booker@mail.com");
+        Item item = createItem("Kayak", owner);
+
+        Booking waiting = createBooking(booker, item,
+                LocalDateTime.now().plusDays(1),
+                LocalDateTime.now().plusDays(2),
+                BookingStatus.WAITING);
+
+        createBooking(booker, item,
+                LocalDateTime.now().plusDays(3),
+                LocalDateTime.now().plusDays(4),
+                BookingStatus.REJECTED);
+
+        em.flush();
+        em.clear();
+
+        // when
+        List<Booking> result = bookingRepository.findByOwnerIdAndStatus(owner.getId(), BookingStatus.WAITING,
+                PageCursor.FIRST.getTimestamp(), PageCursor.FIRST.getId(), FIRST_PAGE);
+
+        // then
+        assertThat(result).extracting(Booking::getId).containsExactly(waiting.getId());
+    }
+}
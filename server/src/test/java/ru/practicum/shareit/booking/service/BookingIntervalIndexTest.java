@@ -0,0 +1,122 @@
+package ru.practicum.shareit.booking.service;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import ru.practicum.shareit.booking.BookingStatus;
+import ru.practicum.shareit.booking.model.Booking;
+import ru.practicum.shareit.booking.repository.BookingRepository;
+import ru.practicum.shareit.item.model.Item;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class BookingIntervalIndexTest {
+    private static final LocalDateTime BASE = LocalDateTime.now().plusDays(1).withNano(0);
+    private static final long MAX_ITEMS = 100;
+
+    @Mock
+    private BookingRepository bookingRepository;
+
+    private BookingIntervalIndex bookingIntervalIndex;
+
+    private Item item;
+
+    @BeforeEach
+    void setUp() {
+        bookingIntervalIndex = new BookingIntervalIndex(bookingRepository, Duration.ofMinutes(1), MAX_ITEMS);
+        item = new Item();
+        item.setId(1L);
+    }
+
+    private Booking approved(long id, int startHour, int endHour) {
+        Booking booking = new Booking();
+        booking.setId(id);
+        booking.setItem(item);
+        booking.setStartDate(BASE.plusHours(startHour));
+        booking.setEndDate(BASE.plusHours(endHour));
+        booking.setStatus(BookingStatus.APPROVED);
+        return booking;
+    }
+
+    private boolean overlaps(int startHour, int endHour, Long excludeBookingId) {
+        return bookingIntervalIndex.overlapsApproved(1L, BASE.plusHours(startHour), BASE.plusHours(endHour),
+                excludeBookingId);
+    }
+
+    @Test
+    @DisplayName("Пересечение с подтверждёнными интервалами; смежные полуинтервалы не пересекаются")
+    void overlapsApproved_detectsIntersections() {
+        when(bookingRepository.findApprovedNotEndedByItemId(eq(1L), any()))
+                .thenReturn(List.of(approved(10L, 0, 2), approved(11L, 4, 6)));
+
+        assertThat(overlaps(1, 3, null)).isTrue();
+        assertThat(overlaps(3, 5, null)).isTrue();
+        assertThat(overlaps(-1, 10, null)).isTrue();
+        assertThat(overlaps(4, 5, null)).isTrue();
+        assertThat(overlaps(2, 4, null)).isFalse();
+        assertThat(overlaps(-2, 0, null)).isFalse();
+        assertThat(overlaps(6, 8, null)).isFalse();
+    }
+
+    @Test
+    @DisplayName("Собственный интервал подтверждаемого бронирования не считается пересечением")
+    void overlapsApproved_excludesOwnBooking() {
+        when(bookingRepository.findApprovedNotEndedByItemId(eq(1L), any()))
+                .thenReturn(List.of(approved(10L, 0, 2), approved(11L, 2, 4)));
+
+        assertThat(overlaps(0, 2, 10L)).isFalse();
+        assertThat(overlaps(1, 3, 10L)).isTrue();
+    }
+
+    @Test
+    @DisplayName("Интервалы вещи загружаются из БД один раз, дальше индекс обновляется подтверждениями")
+    void approved_updatesLoadedIntervals() {
+        when(bookingRepository.findApprovedNotEndedByItemId(eq(1L), any())).thenReturn(List.of());
+
+        assertThat(overlaps(0, 2, null)).isFalse();
+        bookingIntervalIndex.approved(approved(10L, 0, 2));
+        assertThat(overlaps(1, 3, null)).isTrue();
+        assertThat(overlaps(2, 3, null)).isFalse();
+
+        verify(bookingRepository, times(1)).findApprovedNotEndedByItemId(eq(1L), any());
+    }
+
+    @Test
+    @DisplayName("Периоды за диапазон: только пересекающиеся с ним, в порядке начала")
+    void approvedBetween_returnsOverlappingPeriodsInOrder() {
+        when(bookingRepository.findApprovedNotEndedByItemId(eq(1L), any()))
+                .thenReturn(List.of(approved(12L, 8, 10), approved(10L, 0, 2), approved(11L, 4, 6)));
+
+        assertThat(bookingIntervalIndex.approvedBetween(1L, BASE.plusHours(1), BASE.plusHours(8)))
+                .containsExactly(new BookingIntervalIndex.Period(BASE, BASE.plusHours(2)),
+                        new BookingIntervalIndex.Period(BASE.plusHours(4), BASE.plusHours(6)));
+        assertThat(bookingIntervalIndex.approvedBetween(1L, BASE.plusHours(2), BASE.plusHours(4))).isEmpty();
+        assertThat(bookingIntervalIndex.approvedBetween(1L, BASE.plusHours(9), BASE.plusHours(20)))
+                .containsExactly(new BookingIntervalIndex.Period(BASE.plusHours(8), BASE.plusHours(10)));
+    }
+
+    @Test
+    @DisplayName("По истечении ttl интервалы вещи перечитываются из БД")
+    void intervals_reloadedAfterTtl() {
+        bookingIntervalIndex = new BookingIntervalIndex(bookingRepository, Duration.ZERO, MAX_ITEMS);
+        when(bookingRepository.findApprovedNotEndedByItemId(eq(1L), any()))
+                .thenReturn(List.of())
+                .thenReturn(List.of(approved(10L, 0, 2)));
+
+        assertThat(overlaps(0, 2, null)).isFalse();
+        assertThat(overlaps(0, 2, null)).isTrue();
+
+        verify(bookingRepository, times(2)).findApprovedNotEndedByItemId(eq(1L), any());
+    }
+}
@@ -8,15 +8,21 @@ import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 import ru.practicum.shareit.booking.BookingStatus;
+import ru.practicum.shareit.booking.approval.BookingApprovalLock;
 import ru.practicum.shareit.booking.dto.BookingFrontDto;
 import ru.practicum.shareit.booking.model.Booking;
 import ru.practicum.shareit.booking.repository.BookingRepository;
 import ru.practicum.shareit.exception.AccessViolationException;
+import ru.practicum.shareit.exception.ConflictException;
+import ru.practicum.shareit.exception.ValidationException;
 import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.transaction.OptimisticLockRetry;
 import ru.practicum.shareit.user.model.User;
 
+import java.time.LocalDateTime;
 import java.util.NoSuchElementException;
 import java.util.Optional;
+import java.util.function.Supplier;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatThrownBy;
@@ -29,6 +35,15 @@ class BookingServiceApproveTest {
     @Mock
     private BookingRepository bookingRepository;
 
+    @Mock
+    private BookingApprovalLock bookingApprovalLock;
+
+    @Mock
+    private OptimisticLockRetry optimisticLockRetry;
+
+    @Mock
+    private BookingIntervalIndex bookingIntervalIndex;
+
     @InjectMocks
     private BookingService bookingService;
 
@@ -56,7 +71,12 @@ class BookingServiceApproveTest {
         booking.setId(1L);
         booking.setItem(item);
         booking.setBooker(booker);
+        booking.setStartDate(LocalDateTime.now().plusDays(1));
+        booking.setEndDate(LocalDateTime.now().plusDays(2));
         booking.setStatus(BookingStatus.WAITING);
+
+        // Повтор при конфликте версий здесь не проверяется: действие выполняется один раз
+        when(optimisticLockRetry.execute(any())).thenAnswer(inv -> inv.getArgument(0, Supplier.class).get());
     }
 
     @Test
@@ -64,14 +84,51 @@ class BookingServiceApproveTest {
     void approveBooking_ShouldSetApprovedStatus() {
         // given
         when(bookingRepository.getItemById(1L)).thenReturn(Optional.of(booking));
-        when(bookingRepository.save(any(Booking.class))).thenAnswer(inv -> inv.getArgument(0));
+        when(bookingRepository.saveAndFlush(any(Booking.class))).thenAnswer(inv -> inv.getArgument(0));
 
         // when
         BookingFrontDto result = bookingService.approve(10L, 1L, true);
 
         // then
         assertThat(result.getStatus()).isEqualTo(BookingStatus.APPROVED);
-        verify(bookingRepository).save(booking);
+        verify(bookingApprovalLock).lock(100L);
+        verify(bookingRepository).existsApprovedOverlap(100L, booking.getStartDate(), booking.getEndDate(), 1L);
+        verify(bookingRepository).saveAndFlush(booking);
+        verify(bookingIntervalIndex).approved(booking);
+    }
+
+    @Test
+    @DisplayName("approve — конфликт, если период пересекается с подтверждённым бронированием")
+    void approveBooking_ShouldThrow_WhenOverlapsApprovedBooking() {
+        // given
+        when(bookingRepository.getItemById(1L)).thenReturn(Optional.of(booking));
+        when(bookingRepository.existsApprovedOverlap(100L, booking.getStartDate(), booking.getEndDate(), 1L))
+                .thenReturn(true);
+
+        // then
+        assertThatThrownBy(() -> bookingService.approve(10L, 1L, true))
+                .isInstanceOf(ConflictException.class)
+                .hasMessageContaining("Предмет с id=100 уже забронирован");
+
+        assertThat(booking.getStatus()).isEqualTo(BookingStatus.WAITING);
+        verify(bookingRepository, never()).saveAndFlush(any());
+        verify(bookingIntervalIndex, never()).approved(any());
+    }
+
+    @Test
+    @DisplayName("approve — пересечение, найденное индексом в памяти, отклоняется без блокировки вещи")
+    void approveBooking_ShouldThrow_WithoutLock_WhenIndexFindsOverlap() {
+        // given
+        when(bookingRepository.getItemById(1L)).thenReturn(Optional.of(booking));
+        when(bookingIntervalIndex.overlapsApproved(100L, booking.getStartDate(), booking.getEndDate(), 1L))
+                .thenReturn(true);
+
+        // then
+        assertThatThrownBy(() -> bookingService.approve(10L, 1L, true))
+                .isInstanceOf(ConflictException.class);
+
+        verifyNoInteractions(bookingApprovalLock);
+        verify(bookingRepository, never()).existsApprovedOverlap(any(), any(), any(), any());
     }
 
     @Test
@@ -79,14 +136,31 @@ class BookingServiceApproveTest {
     void approveBooking_ShouldSetRejectedStatus() {
         // given
         when(bookingRepository.getItemById(1L)).thenReturn(Optional.of(booking));
-        when(bookingRepository.save(any(Booking.class))).thenAnswer(inv -> inv.getArgument(0));
+        when(bookingRepository.saveAndFlush(any(Booking.class))).thenAnswer(inv -> inv.getArgument(0));
 
         // when
         BookingFrontDto result = bookingService.approve(10L, 1L, false);
 
         // then
         assertThat(result.getStatus()).isEqualTo(BookingStatus.REJECTED);
-        verify(bookingRepository).save(booking);
+        verify(bookingRepository).saveAndFlush(booking);
+        verifyNoInteractions(bookingApprovalLock, bookingIntervalIndex);
+    }
+
+    @Test
+    @DisplayName("approve — решение по уже подтверждённому бронированию не принимается повторно")
+    void approveBooking_ShouldThrow_WhenAlreadyDecided() {
+        // given
+        booking.setStatus(BookingStatus.APPROVED);
+        when(bookingRepository.getItemById(1L)).thenReturn(Optional.of(booking));
+
+        // then
+        assertThatThrownBy(() -> bookingService.approve(10L, 1L, false))
+                .isInstanceOf(ValidationException.class)
+                .hasMessageContaining("Решение по бронированию с id=1 уже принято");
+
+        assertThat(booking.getStatus()).isEqualTo(BookingStatus.APPROVED);
+        verify(bookingRepository, never()).saveAndFlush(any());
     }
 
     @Test
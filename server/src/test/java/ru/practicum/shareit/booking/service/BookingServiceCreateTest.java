@@ -12,6 +12,7 @@ import ru.practicum.shareit.booking.dto.BookingAddDto;
 import ru.practicum.shareit.booking.dto.BookingFrontDto;
 import ru.practicum.shareit.booking.model.Booking;
 import ru.practicum.shareit.booking.repository.BookingRepository;
+import ru.practicum.shareit.exception.ConflictException;
 import ru.practicum.shareit.exception.ValidationException;
 import ru.practicum.shareit.item.model.Item;
 import ru.practicum.shareit.item.repository.ItemRepository;
@@ -39,6 +40,9 @@ class BookingServiceCreateTest {
     @Mock
     private UserRepository userRepository;
 
+    @Mock
+    private BookingIntervalIndex bookingIntervalIndex;
+
     @InjectMocks
     private BookingService bookingService;
 
@@ -157,4 +161,45 @@ class BookingServiceCreateTest {
                 .isInstanceOf(IllegalStateException.class)
                 .hasMessageContaining("не доступен для бронирования");
     }
+
+    @Test
+    @DisplayName("Ошибка — период пересекается с подтверждённым бронированием")
+    void createBooking_ShouldThrow_WhenOverlapsApprovedBooking() {
+        // given
+        BookingAddDto dto = new BookingAddDto();
+        dto.setItemId(2L);
+        dto.setStart(LocalDateTime.now().plusHours(1));
+        dto.setEnd(LocalDateTime.now().plusHours(2));
+
+        when(itemRepository.getItemById(2L)).thenReturn(Optional.of(item));
+        when(userRepository.getUserById(1L)).thenReturn(Optional.of(booker));
+        when(bookingRepository.existsApprovedOverlap(2L, dto.getStart(), dto.getEnd(), null)).thenReturn(true);
+
+        // then
+        assertThatThrownBy(() -> bookingService.create(1L, dto))
+                .isInstanceOf(ConflictException.class)
+                .hasMessageContaining("Предмет с id=2 уже забронирован на пересекающийся период");
+
+        verify(bookingRepository, never()).save(any());
+    }
+
+    @Test
+    @DisplayName("Ошибка — пересечение найдено индексом в памяти, запрос к БД не выполняется")
+    void createBooking_ShouldThrow_WhenIndexFindsOverlap() {
+        // given
+        BookingAddDto dto = new BookingAddDto();
+        dto.setItemId(2L);
+        dto.setStart(LocalDateTime.now().plusHours(1));
+        dto.setEnd(LocalDateTime.now().plusHours(2));
+
+        when(itemRepository.getItemById(2L)).thenReturn(Optional.of(item));
+        when(userRepository.getUserById(1L)).thenReturn(Optional.of(booker));
+        when(bookingIntervalIndex.overlapsApproved(2L, dto.getStart(), dto.getEnd(), null)).thenReturn(true);
+
+        // then
+        assertThatThrownBy(() -> bookingService.create(1L, dto))
+                .isInstanceOf(ConflictException.class);
+
+        verifyNoInteractions(bookingRepository);
+    }
 }
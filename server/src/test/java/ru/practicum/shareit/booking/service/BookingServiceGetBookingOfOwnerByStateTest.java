@@ -7,13 +7,16 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
 import ru.practicum.shareit.booking.BookingQueryState;
 import ru.practicum.shareit.booking.BookingStatus;
-import ru.practicum.shareit.booking.BookingTimeFilter;
 import ru.practicum.shareit.booking.dto.BookingFrontDto;
 import ru.practicum.shareit.booking.model.Booking;
 import ru.practicum.shareit.booking.repository.BookingRepository;
 import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.pagination.KeysetPage;
+import ru.practicum.shareit.pagination.PageCursor;
 import ru.practicum.shareit.user.model.User;
 import ru.practicum.shareit.user.repository.UserRepository;
 
@@ -24,6 +27,11 @@ import java.util.Optional;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doCallRealMethod;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
@@ -39,6 +47,8 @@ class BookingServiceGetBookingOfOwnerByStateTest {
     @InjectMocks
     private BookingService bookingService;
 
+    private static final Pageable FIRST_PAGE = PageRequest.of(0, 10);
+
     private User owner;
     private Item item;
     private Booking booking;
@@ -68,15 +78,16 @@ class BookingServiceGetBookingOfOwnerByStateTest {
         booking.setStartDate(LocalDateTime.now().minusDays(1));
         booking.setEndDate(LocalDateTime.now().plusDays(1));
 
-        when(userRepository.getUserById(1L)).thenReturn(Optional.of(owner));
-        when(bookingRepository.findByOwnerIdAndStatus(1L, null, null))
+        when(bookingRepository.findByOwnerId(1L, PageCursor.FIRST.getTimestamp(), PageCursor.FIRST.getId(), FIRST_PAGE))
                 .thenReturn(List.of(booking));
 
-        List<BookingFrontDto> result = bookingService.getBookingOfOwnerByState(1L, BookingQueryState.ALL);
+        List<BookingFrontDto> result = bookingService.getBookingOfOwnerByState(1L, BookingQueryState.ALL, 0, 10, null).getContent();
 
         assertThat(result).hasSize(1);
         assertThat(result.get(0).getId()).isEqualTo(100L);
-        verify(bookingRepository).findByOwnerIdAndStatus(1L, null, null);
+        verify(bookingRepository).findByOwnerId(1L, PageCursor.FIRST.getTimestamp(), PageCursor.FIRST.getId(), FIRST_PAGE);
+        // Непустая страница подтверждает существование владельца - отдельной проверки нет
+        verify(userRepository, never()).checkUserExists(anyLong());
     }
 
     @Test
@@ -85,15 +96,16 @@ class BookingServiceGetBookingOfOwnerByStateTest {
         booking.setStartDate(LocalDateTime.now().minusDays(3));
         booking.setEndDate(LocalDateTime.now().minusDays(1));
 
-        when(userRepository.getUserById(1L)).thenReturn(Optional.of(owner));
-        when(bookingRepository.findByOwnerIdAndStatus(1L, null, BookingTimeFilter.PAST.name()))
+        when(bookingRepository.findPastByOwnerId(eq(1L), any(LocalDateTime.class),
+                eq(PageCursor.FIRST.getTimestamp()), eq(PageCursor.FIRST.getId()), eq(FIRST_PAGE)))
                 .thenReturn(List.of(booking));
 
-        List<BookingFrontDto> result = bookingService.getBookingOfOwnerByState(1L, BookingQueryState.PAST);
+        List<BookingFrontDto> result = bookingService.getBookingOfOwnerByState(1L, BookingQueryState.PAST, 0, 10, null).getContent();
 
         assertThat(result).hasSize(1);
         assertThat(result.get(0).getId()).isEqualTo(100L);
-        verify(bookingRepository).findByOwnerIdAndStatus(1L, null, BookingTimeFilter.PAST.name());
+        verify(bookingRepository).findPastByOwnerId(eq(1L), any(LocalDateTime.class),
+                eq(PageCursor.FIRST.getTimestamp()), eq(PageCursor.FIRST.getId()), eq(FIRST_PAGE));
     }
 
     @Test
@@ -102,15 +114,16 @@ class BookingServiceGetBookingOfOwnerByStateTest {
         booking.setStartDate(LocalDateTime.now().minusHours(1));
         booking.setEndDate(LocalDateTime.now().plusHours(2));
 
-        when(userRepository.getUserById(1L)).thenReturn(Optional.of(owner));
-        when(bookingRepository.findByOwnerIdAndStatus(1L, null, BookingTimeFilter.CURRENT.name()))
+        when(bookingRepository.findCurrentByOwnerId(eq(1L), any(LocalDateTime.class),
+                eq(PageCursor.FIRST.getTimestamp()), eq(PageCursor.FIRST.getId()), eq(FIRST_PAGE)))
                 .thenReturn(List.of(booking));
 
-        List<BookingFrontDto> result = bookingService.getBookingOfOwnerByState(1L, BookingQueryState.CURRENT);
+        List<BookingFrontDto> result = bookingService.getBookingOfOwnerByState(1L, BookingQueryState.CURRENT, 0, 10, null).getContent();
 
         assertThat(result).hasSize(1);
         assertThat(result.get(0).getId()).isEqualTo(100L);
-        verify(bookingRepository).findByOwnerIdAndStatus(1L, null, BookingTimeFilter.CURRENT.name());
+        verify(bookingRepository).findCurrentByOwnerId(eq(1L), any(LocalDateTime.class),
+                eq(PageCursor.FIRST.getTimestamp()), eq(PageCursor.FIRST.getId()), eq(FIRST_PAGE));
     }
 
     @Test
@@ -119,15 +132,16 @@ class BookingServiceGetBookingOfOwnerByStateTest {
         booking.setStartDate(LocalDateTime.now().plusDays(1));
         booking.setEndDate(LocalDateTime.now().plusDays(3));
 
-        when(userRepository.getUserById(1L)).thenReturn(Optional.of(owner));
-        when(bookingRepository.findByOwnerIdAndStatus(1L, null, BookingTimeFilter.FUTURE.toString()))
+        when(bookingRepository.findFutureByOwnerId(eq(1L), any(LocalDateTime.class),
+                eq(PageCursor.FIRST.getTimestamp()), eq(PageCursor.FIRST.getId()), eq(FIRST_PAGE)))
                 .thenReturn(List.of(booking));
 
-        List<BookingFrontDto> result = bookingService.getBookingOfOwnerByState(1L, BookingQueryState.FUTURE);
+        List<BookingFrontDto> result = bookingService.getBookingOfOwnerByState(1L, BookingQueryState.FUTURE, 0, 10, null).getContent();
 
         assertThat(result).hasSize(1);
         assertThat(result.get(0).getId()).isEqualTo(100L);
-        verify(bookingRepository).findByOwnerIdAndStatus(1L, null, BookingTimeFilter.FUTURE.toString());
+        verify(bookingRepository).findFutureByOwnerId(eq(1L), any(LocalDateTime.class),
+                eq(PageCursor.FIRST.getTimestamp()), eq(PageCursor.FIRST.getId()), eq(FIRST_PAGE));
     }
 
     @Test
@@ -137,16 +151,15 @@ class BookingServiceGetBookingOfOwnerByStateTest {
         booking.setEndDate(LocalDateTime.now().plusHours(5));
         booking.setStatus(BookingStatus.WAITING);
 
-        when(userRepository.getUserById(1L)).thenReturn(Optional.of(owner));
-        when(bookingRepository.findByOwnerIdAndStatus(1L, BookingStatus.WAITING, null))
+        when(bookingRepository.findByOwnerIdAndStatus(1L, BookingStatus.WAITING, PageCursor.FIRST.getTimestamp(), PageCursor.FIRST.getId(), FIRST_PAGE))
                 .thenReturn(List.of(booking));
 
-        List<BookingFrontDto> result = bookingService.getBookingOfOwnerByState(1L, BookingQueryState.WAITING);
+        List<BookingFrontDto> result = bookingService.getBookingOfOwnerByState(1L, BookingQueryState.WAITING, 0, 10, null).getContent();
 
         assertThat(result).hasSize(1);
         assertThat(result.get(0).getId()).isEqualTo(100L);
 
-        verify(bookingRepository).findByOwnerIdAndStatus(1L, BookingStatus.WAITING, null);
+        verify(bookingRepository).findByOwnerIdAndStatus(1L, BookingStatus.WAITING, PageCursor.FIRST.getTimestamp(), PageCursor.FIRST.getId(), FIRST_PAGE);
     }
 
     @Test
@@ -156,27 +169,59 @@ class BookingServiceGetBookingOfOwnerByStateTest {
         booking.setEndDate(LocalDateTime.now().minusDays(1));
         booking.setStatus(BookingStatus.REJECTED);
 
-        when(userRepository.getUserById(1L)).thenReturn(Optional.of(owner));
-        when(bookingRepository.findByOwnerIdAndStatus(1L, BookingStatus.REJECTED, null))
+        when(bookingRepository.findByOwnerIdAndStatus(1L, BookingStatus.REJECTED, PageCursor.FIRST.getTimestamp(), PageCursor.FIRST.getId(), FIRST_PAGE))
                 .thenReturn(List.of(booking));
 
-        List<BookingFrontDto> result = bookingService.getBookingOfOwnerByState(1L, BookingQueryState.REJECTED);
+        List<BookingFrontDto> result = bookingService.getBookingOfOwnerByState(1L, BookingQueryState.REJECTED, 0, 10, null).getContent();
 
         assertThat(result).hasSize(1);
         assertThat(result.get(0).getId()).isEqualTo(100L);
 
-        verify(bookingRepository).findByOwnerIdAndStatus(1L, BookingStatus.REJECTED, null);
+        verify(bookingRepository).findByOwnerIdAndStatus(1L, BookingStatus.REJECTED, PageCursor.FIRST.getTimestamp(), PageCursor.FIRST.getId(), FIRST_PAGE);
     }
 
 
     @Test
     @DisplayName("Бросает исключение, если пользователь не найден")
     void getBookingOfOwnerByState_UserNotFound() {
+        doCallRealMethod().when(userRepository).checkUserExists(999L);
         when(userRepository.getUserById(999L)).thenReturn(Optional.empty());
 
-        assertThatThrownBy(() -> bookingService.getBookingOfOwnerByState(999L, BookingQueryState.ALL))
+        assertThatThrownBy(() -> bookingService.getBookingOfOwnerByState(999L, BookingQueryState.ALL, 0, 10, null))
                 .isInstanceOf(NoSuchElementException.class)
                 .hasMessageContaining("Пользователь с id=999 не найден");
     }
 
+    @Test
+    @DisplayName("Возвращает курсор следующей страницы, если страница заполнена")
+    void getBookingOfOwnerByState_FullPage_ReturnsNextCursor() {
+        booking.setStartDate(LocalDateTime.of(2030, 1, 1, 12, 0));
+        booking.setEndDate(LocalDateTime.of(2030, 1, 2, 12, 0));
+
+        when(bookingRepository.findByOwnerId(1L,
+                PageCursor.FIRST.getTimestamp(), PageCursor.FIRST.getId(), PageRequest.of(0, 1)))
+                .thenReturn(List.of(booking));
+
+        KeysetPage<BookingFrontDto> page = bookingService.getBookingOfOwnerByState(1L, BookingQueryState.ALL, 0, 1, null);
+
+        assertThat(page.getContent()).hasSize(1);
+        assertThat(PageCursor.decode(page.getNextCursor()))
+                .isEqualTo(new PageCursor(booking.getStartDate(), booking.getId()));
+    }
+
+    @Test
+    @DisplayName("Читает страницу после переданного курсора")
+    void getBookingOfOwnerByState_WithCursor() {
+        PageCursor cursor = new PageCursor(LocalDateTime.of(2030, 1, 1, 12, 0), 50L);
+
+        when(bookingRepository.findByOwnerId(1L,
+                cursor.getTimestamp(), cursor.getId(), FIRST_PAGE))
+                .thenReturn(List.of());
+
+        KeysetPage<BookingFrontDto> page = bookingService.getBookingOfOwnerByState(1L, BookingQueryState.ALL,
+                30, 10, cursor.encode());
+
+        assertThat(page.getContent()).isEmpty();
+        assertThat(page.getNextCursor()).isNull();
+    }
 }
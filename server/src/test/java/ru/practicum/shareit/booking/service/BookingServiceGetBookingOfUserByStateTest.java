@@ -7,12 +7,15 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
 import ru.practicum.shareit.booking.BookingQueryState;
 import ru.practicum.shareit.booking.BookingStatus;
 import ru.practicum.shareit.booking.dto.BookingFrontDto;
 import ru.practicum.shareit.booking.model.Booking;
 import ru.practicum.shareit.booking.repository.BookingRepository;
 import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.pagination.PageCursor;
 import ru.practicum.shareit.user.model.User;
 import ru.practicum.shareit.user.repository.UserRepository;
 
@@ -23,6 +26,7 @@ import java.util.Optional;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.doCallRealMethod;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
@@ -38,6 +42,8 @@ class BookingServiceGetBookingOfUserByStateTest {
     @InjectMocks
     private BookingService bookingService;
 
+    private static final Pageable FIRST_PAGE = PageRequest.of(0, 10);
+
     private User booker;
     private Booking booking;
     private Item item;
@@ -71,23 +77,23 @@ class BookingServiceGetBookingOfUserByStateTest {
     @Test
     @DisplayName("Возвращает все бронирования пользователя при состоянии ALL")
     void getBookingOfUserByState_All() {
-        when(userRepository.getUserById(1L)).thenReturn(Optional.of(booker));
-        when(bookingRepository.findByBookerIdOrderByStartDateDesc(1L))
+        when(bookingRepository.findByBookerId(1L, PageCursor.FIRST.getTimestamp(), PageCursor.FIRST.getId(), FIRST_PAGE))
                 .thenReturn(List.of(booking));
 
-        List<BookingFrontDto> result = bookingService.getBookingOfUserByState(1L, BookingQueryState.ALL);
+        List<BookingFrontDto> result = bookingService.getBookingOfUserByState(1L, BookingQueryState.ALL, 0, 10, null).getContent();
 
         assertThat(result).hasSize(1);
         assertThat(result.get(0).getId()).isEqualTo(100L);
-        verify(bookingRepository).findByBookerIdOrderByStartDateDesc(1L);
+        verify(bookingRepository).findByBookerId(1L, PageCursor.FIRST.getTimestamp(), PageCursor.FIRST.getId(), FIRST_PAGE);
     }
 
     @Test
     @DisplayName("Бросает исключение, если пользователь не найден")
     void getBookingOfUserByState_UserNotFound() {
+        doCallRealMethod().when(userRepository).checkUserExists(999L);
         when(userRepository.getUserById(999L)).thenReturn(Optional.empty());
 
-        assertThatThrownBy(() -> bookingService.getBookingOfUserByState(999L, BookingQueryState.ALL))
+        assertThatThrownBy(() -> bookingService.getBookingOfUserByState(999L, BookingQueryState.ALL, 0, 10, null))
                 .isInstanceOf(NoSuchElementException.class)
                 .hasMessageContaining("Пользователь с id=999 не найден");
     }
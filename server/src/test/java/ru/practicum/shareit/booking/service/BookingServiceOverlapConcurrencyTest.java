@@ -0,0 +1,170 @@
+package ru.practicum.shareit.booking.service;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import ru.practicum.shareit.booking.BookingStatus;
+import ru.practicum.shareit.booking.approval.ItemRowApprovalLock;
+import ru.practicum.shareit.booking.dto.BookingAddDto;
+import ru.practicum.shareit.booking.model.Booking;
+import ru.practicum.shareit.booking.repository.BookingRepository;
+import ru.practicum.shareit.exception.ConflictException;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.item.repository.ItemRepository;
+import ru.practicum.shareit.transaction.OptimisticLockRetry;
+import ru.practicum.shareit.user.model.User;
+import ru.practicum.shareit.user.repository.UserRepository;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.*;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+// Подтверждения выполняются параллельно в отдельных транзакциях, поэтому тест работает без общей
+// тестовой транзакции и сам очищает данные
+@DataJpaTest
+@Import({BookingService.class, BookingIntervalIndex.class, ItemRowApprovalLock.class, OptimisticLockRetry.class})
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class BookingServiceOverlapConcurrencyTest {
+    private static final int THREADS = 8;
+
+    @Autowired
+    private BookingService bookingService;
+
+    @Autowired
+    private BookingRepository bookingRepository;
+
+    @Autowired
+    private ItemRepository itemRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    private User owner;
+    private User booker;
+    private Item item;
+    private LocalDateTime start;
+
+    @BeforeEach
+    void setUp() {
+        owner = new User();
+        owner.setName("Owner");
+        owner.setEmail("owner@mail.com");
+        owner = userRepository.save(owner);
+
+        booker = new User();
+        booker.setName("Booker");
+        booker.setEmail("booker@mail.com");
+        booker = userRepository.save(booker);
+
+        item = new Item();
+        item.setName("Drill");
+        item.setDescription("Cordless drill");
+        item.setAvailable(true);
+        item.setOwner(owner);
+        item = itemRepository.save(item);
+
+        start = LocalDateTime.now().plusDays(1).withNano(0);
+    }
+
+    @AfterEach
+    void cleanUp() {
+        bookingRepository.deleteAll();
+        itemRepository.deleteAll();
+        userRepository.deleteAll();
+    }
+
+    private Long createBooking(int startHour, int endHour) {
+        BookingAddDto dto = new BookingAddDto();
+        dto.setItemId(item.getId());
+        dto.setStart(start.plusHours(startHour));
+        dto.setEnd(start.plusHours(endHour));
+        return bookingService.create(booker.getId(), dto).getId();
+    }
+
+    @Test
+    @DisplayName("Параллельные подтверждения пересекающихся бронирований: подтверждено ровно одно")
+    void concurrentApprove_approvesExactlyOneOverlappingBooking() throws Exception {
+        List<Long> bookingIds = new ArrayList<>();
+        for (int i = 0; i < THREADS; i++) {
+            bookingIds.add(createBooking(i, i + THREADS));
+        }
+
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        CountDownLatch ready = new CountDownLatch(THREADS);
+        List<Future<Boolean>> results = new ArrayList<>();
+        try {
+            for (Long bookingId : bookingIds) {
+                results.add(executor.submit(() -> {
+                    ready.countDown();
+                    ready.await();
+                    try {
+                        bookingService.approve(owner.getId(), bookingId, true);
+                        return true;
+                    } catch (ConflictException e) {
+                        return false;
+                    }
+                }));
+            }
+            int approved = 0;
+            for (Future<Boolean> result : results) {
+                if (result.get(30, TimeUnit.SECONDS)) {
+                    approved++;
+                }
+            }
+            assertThat(approved).isEqualTo(1);
+        } finally {
+            executor.shutdownNow();
+        }
+
+        assertThat(bookingRepository.findAll())
+                .filteredOn(booking -> booking.getStatus() == BookingStatus.APPROVED)
+                .hasSize(1);
+    }
+
+    @Test
+    @DisplayName("Непересекающиеся бронирования одной вещи подтверждаются параллельно без конфликтов")
+    void concurrentApprove_approvesAllDisjointBookings() throws Exception {
+        List<Long> bookingIds = new ArrayList<>();
+        for (int i = 0; i < THREADS; i++) {
+            bookingIds.add(createBooking(i * 2, i * 2 + 2));
+        }
+
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        try {
+            List<Future<?>> results = bookingIds.stream()
+                    .<Future<?>>map(bookingId -> executor.submit(() ->
+                            bookingService.approve(owner.getId(), bookingId, true)))
+                    .toList();
+            for (Future<?> result : results) {
+                result.get(30, TimeUnit.SECONDS);
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+
+        assertThat(bookingRepository.findAll())
+                .extracting(Booking::getStatus)
+                .containsOnly(BookingStatus.APPROVED)
+                .hasSize(THREADS);
+    }
+
+    @Test
+    @DisplayName("Новое бронирование на период подтверждённого отклоняется, смежное - создаётся")
+    void create_rejectsOverlapWithApprovedBooking() {
+        bookingService.approve(owner.getId(), createBooking(0, 4), true);
+
+        assertThatThrownBy(() -> createBooking(3, 5))
+                .isInstanceOf(ConflictException.class);
+        assertThat(createBooking(4, 6)).isNotNull();
+    }
+}
@@ -0,0 +1,45 @@
+package ru.practicum.shareit.config;
+
+import io.micrometer.common.KeyValue;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.server.observation.ServerRequestObservationContext;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class BookingStateObservationConventionTest {
+    private final BookingStateObservationConvention convention = new BookingStateObservationConvention();
+
+    private String stateTag(String method, String uri, String state) {
+        MockHttpServletRequest request = new MockHttpServletRequest(method, uri);
+        if (state != null) {
+            request.setParameter("state", state);
+        }
+        ServerRequestObservationContext context =
+                new ServerRequestObservationContext(request, new MockHttpServletResponse());
+        return convention.getLowCardinalityKeyValues(context).stream()
+                .filter(keyValue -> keyValue.getKey().equals(BookingStateObservationConvention.STATE_TAG))
+                .map(KeyValue::getValue)
+                .findFirst()
+                .orElseThrow();
+    }
+
+    @Test
+    @DisplayName("Списки бронирований помечаются состоянием фильтра, по умолчанию - ALL")
+    void bookingLists_taggedWithState() {
+        assertThat(stateTag("GET", "/bookings", "FUTURE")).isEqualTo("FUTURE");
+        assertThat(stateTag("GET", "/bookings/owner", "WAITING")).isEqualTo("WAITING");
+        assertThat(stateTag("GET", "/bookings", null)).isEqualTo("ALL");
+    }
+
+    @Test
+    @DisplayName("Неизвестное состояние не порождает новый тег, остальные запросы - state=none")
+    void otherRequests_taggedWithBoundedValues() {
+        assertThat(stateTag("GET", "/bookings", "anything-" + System.nanoTime())).isEqualTo("INVALID");
+        assertThat(stateTag("POST", "/bookings", null)).isEqualTo("none");
+        assertThat(stateTag("GET", "/items/search", "FUTURE")).isEqualTo("none");
+        assertThat(stateTag("GET", "/bookings/5", null)).isEqualTo("none");
+    }
+}
@@ -3,6 +3,10 @@ package ru.practicum.shareit.item;
 import org.junit.jupiter.api.Test;
 import ru.practicum.shareit.item.dto.CommentNestedDto;
 import ru.practicum.shareit.item.model.Comment;
+import ru.practicum.shareit.item.model.Item;
+
+import java.util.List;
+import java.util.Map;
 
 import static org.junit.jupiter.api.Assertions.*;
 
@@ -35,4 +39,29 @@ class CommentMapperTest {
         assertNotNull(dto);
         assertNull(dto.getText());
     }
-}
\ No newline at end of file
+
+    @Test
+    void commentToCommentNestedDtoByItemId_shouldGroupCommentsByItem() {
+        // given
+        Item drill = new Item();
+        drill.setId(1L);
+        Item saw = new Item();
+        saw.setId(2L);
+
+        // when
+        Map<Long, List<CommentNestedDto>> result = CommentMapper.commentToCommentNestedDtoByItemId(List.of(
+                comment(drill, "Мощная"), comment(saw, "Острая"), comment(drill, "Тяжёлая")));
+
+        // then
+        assertEquals(2, result.size());
+        assertEquals(List.of(new CommentNestedDto("Мощная"), new CommentNestedDto("Тяжёлая")), result.get(1L));
+        assertEquals(List.of(new CommentNestedDto("Острая")), result.get(2L));
+    }
+
+    private Comment comment(Item item, String text) {
+        Comment comment = new Comment();
+        comment.setItem(item);
+        comment.setText(text);
+        return comment;
+    }
+}
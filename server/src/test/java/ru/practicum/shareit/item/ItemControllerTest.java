@@ -194,5 +194,33 @@ class ItemControllerTest {
                 .andExpect(jsonPath("$.length()").value(0));
     }
 
+    @Test
+    @DisplayName("GET /items/{id}/availability - календарь доступности вещи за период")
+    void getAvailability_success() throws Exception {
+        LocalDateTime from = LocalDateTime.of(2030, 1, 1, 10, 0);
+        LocalDateTime to = from.plusHours(4);
+        ItemAvailabilityDto availability = new ItemAvailabilityDto(1L, from, to,
+                List.of(new AvailabilityPeriodDto(from, from.plusHours(1))),
+                List.of(new AvailabilityPeriodDto(from.plusHours(1), to)));
+        when(itemService.getAvailability(1L, from, to)).thenReturn(availability);
+
+        mockMvc.perform(get("/items/{id}/availability", 1L)
+                        .param("from", "2030-01-01T10:00:00")
+                        .param("to", "2030-01-01T14:00:00"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.itemId").value(1L))
+                .andExpect(jsonPath("$.booked.length()").value(1))
+                .andExpect(jsonPath("$.free.length()").value(1));
+
+        verify(itemService).getAvailability(1L, from, to);
+    }
 
+    @Test
+    @DisplayName("GET /items/{id}/availability без границ периода - 400")
+    void getAvailability_missingRange_badRequest() throws Exception {
+        mockMvc.perform(get("/items/{id}/availability", 1L))
+                .andExpect(status().isBadRequest());
+
+        verifyNoInteractions(itemService);
+    }
 }
@@ -0,0 +1,74 @@
+package ru.practicum.shareit.item.repository;
+
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.data.domain.PageRequest;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.user.model.User;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DataJpaTest
+class ItemRepositorySearchTest {
+
+    @Autowired
+    private ItemRepository itemRepository;
+
+    @Autowired
+    private EntityManager em;
+
+    private User owner;
+
+    private Item createItem(String name, String description, boolean available) {
+        Item item = new Item();
+        item.setName(name);
+        item.setDescription(description);
+        item.setAvailable(available);
+        item.setOwner(owner);
+        em.persist(item);
+        return item;
+    }
+
+    @BeforeEach
+    void setUp() {
+        owner = new User();
+        owner.setName("Owner");
+        owner.setEmail("owner@mail.com");
+        em.persist(owner);
+    }
+
+    @Test
+    @DisplayName("searchAvailableToBooking — совпадения в названии выше совпадений в описании, недоступные вещи исключены")
+    void searchAvailableToBooking_ranksNameMatchesFirst() {
+        Item byDescription = createItem("Набор свёрл", "Подходит для любой дрели", true);
+        Item byName = createItem("Дрель", "Ударная, 800 Вт", true);
+        createItem("Дрель старая", "Сломана", false);
+        createItem("Молоток", "Обычный", true);
+        em.flush();
+        em.clear();
+
+        List<Item> result = itemRepository.searchAvailableToBooking("дрел", PageRequest.of(0, 10));
+
+        assertThat(result).extracting(Item::getId).containsExactly(byName.getId(), byDescription.getId());
+    }
+
+    @Test
+    @DisplayName("searchAvailableToBooking — размер результата ограничен")
+    void searchAvailableToBooking_respectsLimit() {
+        for (int i = 0; i < 5; i++) {
+            createItem("Палатка " + i, "Туристическая", true);
+        }
+        em.flush();
+        em.clear();
+
+        List<Item> result = itemRepository.searchAvailableToBooking("палатка", PageRequest.of(0, 3));
+
+        assertThat(result).hasSize(3);
+    }
+}
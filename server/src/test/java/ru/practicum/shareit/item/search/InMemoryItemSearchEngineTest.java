@@ -0,0 +1,111 @@
+package ru.practicum.shareit.item.search;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.item.repository.ItemRepository;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class InMemoryItemSearchEngineTest {
+
+    @Mock
+    private ItemRepository itemRepository;
+
+    private InMemoryItemSearchEngine searchEngine;
+
+    private static Item item(long id, String name, String description, boolean available) {
+        Item item = new Item();
+        item.setId(id);
+        item.setName(name);
+        item.setDescription(description);
+        item.setAvailable(available);
+        return item;
+    }
+
+    private void build(Item... items) {
+        when(itemRepository.findAll(any(Pageable.class)))
+                .thenReturn(new PageImpl<>(List.of(items), PageRequest.of(0, 10_000), items.length));
+        searchEngine.rebuild();
+    }
+
+    @BeforeEach
+    void setUp() {
+        searchEngine = new InMemoryItemSearchEngine(itemRepository, 2);
+    }
+
+    @Test
+    @DisplayName("search — подстрока без учёта регистра, совпадения в названии выше совпадений в описании")
+    void search_substringRankedByName() {
+        build(item(1L, "Набор свёрл", "Подходит для любой ДРЕЛИ", true),
+                item(2L, "Аккумуляторная дрель", "Ударная", true));
+
+        assertThat(searchEngine.search("Дрел")).extracting(Item::getId).containsExactly(2L, 1L);
+    }
+
+    @Test
+    @DisplayName("search — недоступные для бронирования вещи не возвращаются")
+    void search_skipsUnavailable() {
+        build(item(1L, "Дрель", "Старая", false),
+                item(2L, "Дрель", "Новая", true));
+
+        assertThat(searchEngine.search("дрель")).extracting(Item::getId).containsExactly(2L);
+    }
+
+    @Test
+    @DisplayName("search — короткий запрос и ограничение размера результата")
+    void search_shortQueryAndLimit() {
+        build(item(1L, "Пила", "А", true),
+                item(2L, "Пилка", "Б", true),
+                item(3L, "Пилон", "В", true));
+
+        assertThat(searchEngine.search("пи")).extracting(Item::getId).containsExactly(1L, 2L);
+    }
+
+    @Test
+    @DisplayName("search — совпадение триграмм без совпадения подстроки не считается результатом")
+    void search_verifiesSubstring() {
+        build(item(1L, "абв где", "-", true));
+
+        assertThat(searchEngine.search("абвгде")).isEmpty();
+    }
+
+    @Test
+    @DisplayName("index — изменения вещи сразу видны в поиске")
+    void index_updatesPostings() {
+        build(item(1L, "Палатка", "Двухместная", true));
+
+        searchEngine.index(item(1L, "Шатёр", "Двухместный", true));
+        searchEngine.index(item(2L, "Палатка", "Трёхместная", true));
+
+        assertThat(searchEngine.search("палат")).extracting(Item::getId).containsExactly(2L);
+        assertThat(searchEngine.search("шатёр")).extracting(Item::getId).containsExactly(1L);
+
+        searchEngine.index(item(2L, "Палатка", "Трёхместная", false));
+
+        assertThat(searchEngine.search("палат")).isEmpty();
+    }
+
+    @Test
+    @DisplayName("search — до построения индекса поиск выполняется через БД")
+    void search_beforeRebuild_fallsBackToRepository() {
+        Item found = item(1L, "Дрель", "Ударная", true);
+        when(itemRepository.searchAvailableToBooking("дрель", PageRequest.of(0, 2))).thenReturn(List.of(found));
+
+        assertThat(searchEngine.search("дрель")).containsExactly(found);
+        verify(itemRepository).searchAvailableToBooking("дрель", PageRequest.of(0, 2));
+    }
+}
@@ -11,6 +11,7 @@ import ru.practicum.shareit.item.dto.ItemAddDto;
 import ru.practicum.shareit.item.dto.ItemFrontDto;
 import ru.practicum.shareit.item.model.Item;
 import ru.practicum.shareit.item.repository.ItemRepository;
+import ru.practicum.shareit.item.search.ItemSearchEngine;
 import ru.practicum.shareit.request.model.ItemRequest;
 import ru.practicum.shareit.request.repository.ItemRequestRepository;
 import ru.practicum.shareit.user.model.User;
@@ -34,6 +35,9 @@ class ItemCreateTest {
     @Mock
     ItemRequestRepository itemRequestRepository;
 
+    @Mock
+    ItemSearchEngine itemSearchEngine;
+
     @InjectMocks
     ItemServiceImpl itemService;
 
@@ -65,6 +69,7 @@ class ItemCreateTest {
 
             verify(userRepository).getUserById(ownerId);
             verify(itemRepository).save(item);
+            verify(itemSearchEngine).index(item);
         }
     }
 
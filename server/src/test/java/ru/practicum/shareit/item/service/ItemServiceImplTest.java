@@ -6,12 +6,12 @@ import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
-import org.mockito.MockedStatic;
 import org.mockito.junit.jupiter.MockitoExtension;
 import ru.practicum.shareit.booking.BookingStatus;
-import ru.practicum.shareit.booking.dto.BookingDtoOnlyDate;
+import ru.practicum.shareit.booking.dto.BookingDtoOnlyDateWithItem;
 import ru.practicum.shareit.booking.model.Booking;
 import ru.practicum.shareit.booking.repository.BookingRepository;
+import ru.practicum.shareit.booking.service.BookingIntervalIndex;
 import ru.practicum.shareit.exception.AccessViolationException;
 import ru.practicum.shareit.exception.ValidationException;
 import ru.practicum.shareit.item.CommentMapper;
@@ -21,7 +21,9 @@ import ru.practicum.shareit.item.model.Comment;
 import ru.practicum.shareit.item.model.Item;
 import ru.practicum.shareit.item.repository.CommentRepository;
 import ru.practicum.shareit.item.repository.ItemRepository;
+import ru.practicum.shareit.item.search.ItemSearchEngine;
 import ru.practicum.shareit.request.repository.ItemRequestRepository;
+import ru.practicum.shareit.transaction.OptimisticLockRetry;
 import ru.practicum.shareit.user.model.User;
 import ru.practicum.shareit.user.repository.UserRepository;
 
@@ -30,6 +32,7 @@ import java.util.Collection;
 import java.util.List;
 import java.util.NoSuchElementException;
 import java.util.Optional;
+import java.util.function.Supplier;
 
 import static org.assertj.core.api.Assertions.*;
 import static org.junit.jupiter.api.Assertions.assertEquals;
@@ -49,6 +52,12 @@ class ItemServiceImplTest {
     private CommentRepository commentRepository;
     @Mock
     private ItemRequestRepository itemRequestRepository;
+    @Mock
+    private ItemSearchEngine itemSearchEngine;
+    @Mock
+    private OptimisticLockRetry optimisticLockRetry;
+    @Mock
+    private BookingIntervalIndex bookingIntervalIndex;
 
     private CommentMapper commentMapper;
 
@@ -86,14 +95,11 @@ class ItemServiceImplTest {
         item.setAvailable(true);
         item.setOwner(owner);
 
-        // Мокируем возврат пользователя
-        when(userRepository.getUserById(1L)).thenReturn(Optional.of(owner));
-
         // Мокируем возврат списка вещей
         when(itemRepository.findByOwnerId(1L)).thenReturn(List.of(item));
 
         // Мокируем возврат комментариев (пустой список)
-        when(commentRepository.findAllByItemId(item.getId())).thenReturn(List.of());
+        when(commentRepository.findAllByItemIdIn(List.of(item.getId()))).thenReturn(List.of());
 
         // Вызов метода
         Collection<ItemFrontDto> result = itemService.getItemsFromUser(1L);
@@ -106,20 +112,31 @@ class ItemServiceImplTest {
         assertThat(dto.getDescription()).isEqualTo("Electric drill");
         assertThat(dto.isAvailable()).isTrue();
 
-        // Проверка взаимодействий с моками
-        verify(userRepository).getUserById(1L);
+        // Проверка взаимодействий с моками: непустой список вещей подтверждает существование владельца
+        verify(userRepository, never()).checkUserExists(anyLong());
         verify(itemRepository).findByOwnerId(1L);
-        verify(commentRepository).findAllByItemId(item.getId());
+        verify(commentRepository).findAllByItemIdIn(List.of(item.getId()));
+    }
+
+    @Test
+    @DisplayName("Не запрашивает комментарии, если у пользователя нет вещей")
+    void getItemsFromUser_noItems() {
+        when(itemRepository.findByOwnerId(1L)).thenReturn(List.of());
+
+        assertThat(itemService.getItemsFromUser(1L)).isEmpty();
+
+        verifyNoInteractions(commentRepository);
     }
 
     @Test
     @DisplayName("Бросает исключение, если пользователь не найден")
     void getItemsFromUser_userNotFound() {
+        doCallRealMethod().when(userRepository).checkUserExists(999L);
         when(userRepository.getUserById(999L)).thenReturn(Optional.empty());
 
         assertThatThrownBy(() -> itemService.getItemsFromUser(999L))
                 .isInstanceOf(NoSuchElementException.class)
-                .hasMessageContaining("Пользователь с id 999 не найден");
+                .hasMessageContaining("Пользователь с id=999 не найден");
     }
 
     @Test
@@ -146,6 +163,7 @@ class ItemServiceImplTest {
         updateDto.setId(10L);
         updateDto.setName("New Drill");
 
+        when(optimisticLockRetry.execute(any())).thenAnswer(inv -> inv.getArgument(0, Supplier.class).get());
         when(itemRepository.getItemById(10L)).thenReturn(Optional.of(item));
         when(userRepository.getUserById(1L)).thenReturn(Optional.of(owner));
         when(itemRepository.save(item)).thenReturn(item);
@@ -165,6 +183,7 @@ class ItemServiceImplTest {
         otherUser.setId(2L);
 
         item.setOwner(otherUser);
+        when(optimisticLockRetry.execute(any())).thenAnswer(inv -> inv.getArgument(0, Supplier.class).get());
         when(itemRepository.getItemById(10L)).thenReturn(Optional.of(item));
         when(userRepository.getUserById(1L)).thenReturn(Optional.of(owner));
 
@@ -245,16 +264,20 @@ class ItemServiceImplTest {
     @Test
     @DisplayName("Возвращает список вещей владельца с данными бронирования и комментариями")
     void getOwnerItemsWithBookingDetails_success() {
+        Comment comment = new Comment();
+        comment.setText("Отличная дрель");
+        comment.setItem(item);
+
+        BookingDtoOnlyDateWithItem lastBooking = bookingWithItem("LAST", 100L,
+                LocalDateTime.now().minusDays(2), LocalDateTime.now().minusDays(1));
+        BookingDtoOnlyDateWithItem nextBooking = bookingWithItem("NEXT", 101L,
+                LocalDateTime.now().plusDays(1), LocalDateTime.now().plusDays(2));
+
         // Моки
-        when(userRepository.getUserById(1L)).thenReturn(Optional.of(owner));
         when(itemRepository.findByOwnerId(1L)).thenReturn(List.of(item));
-        when(bookingRepository.getLastBookingById(item.getId())).thenReturn(
-                new BookingDtoOnlyDate(100L, LocalDateTime.now().minusDays(2), LocalDateTime.now().minusDays(1), BookingStatus.WAITING)
-        );
-        when(bookingRepository.getNextBookingById(item.getId())).thenReturn(
-                new BookingDtoOnlyDate(101L, LocalDateTime.now().plusDays(1), LocalDateTime.now().plusDays(2), BookingStatus.WAITING)
-        );
-        when(commentRepository.findAllByItemId(item.getId())).thenReturn(List.of());
+        when(bookingRepository.getLastAndNextBookingsByItemIds(List.of(item.getId())))
+                .thenReturn(List.of(lastBooking, nextBooking));
+        when(commentRepository.findAllByItemIdIn(List.of(item.getId()))).thenReturn(List.of(comment));
 
         // Вызов метода
         Collection<ItemFrontDtoWithBookingDate> result = itemService.getOwnerItemsWithBookingDetails(1L);
@@ -268,23 +291,45 @@ class ItemServiceImplTest {
         assertThat(dto.isAvailable()).isEqualTo(item.isAvailable());
         assertThat(dto.getLastBooking().getId()).isEqualTo(100L);
         assertThat(dto.getNextBooking().getId()).isEqualTo(101L);
+        assertThat(dto.getComment()).extracting(CommentNestedDto::getText).containsExactly("Отличная дрель");
 
-        // Проверка взаимодействий с моками
-        verify(userRepository).getUserById(1L);
+        // Проверка взаимодействий с моками: по одному запросу на весь список вещей
         verify(itemRepository).findByOwnerId(1L);
-        verify(bookingRepository).getLastBookingById(item.getId());
-        verify(bookingRepository).getNextBookingById(item.getId());
-        verify(commentRepository).findAllByItemId(item.getId());
+        verify(bookingRepository).getLastAndNextBookingsByItemIds(List.of(item.getId()));
+        verify(commentRepository).findAllByItemIdIn(List.of(item.getId()));
+        verifyNoMoreInteractions(bookingRepository, commentRepository);
+    }
+
+    @Test
+    @DisplayName("Не обращается к бронированиям и комментариям, если у владельца нет вещей")
+    void getOwnerItemsWithBookingDetails_noItems() {
+        when(itemRepository.findByOwnerId(1L)).thenReturn(List.of());
+
+        assertThat(itemService.getOwnerItemsWithBookingDetails(1L)).isEmpty();
+
+        verifyNoInteractions(bookingRepository, commentRepository);
+    }
+
+    private BookingDtoOnlyDateWithItem bookingWithItem(String kind, Long id, LocalDateTime start, LocalDateTime end) {
+        BookingDtoOnlyDateWithItem booking = mock(BookingDtoOnlyDateWithItem.class);
+        when(booking.getKind()).thenReturn(kind);
+        when(booking.getItemId()).thenReturn(item.getId());
+        when(booking.getId()).thenReturn(id);
+        when(booking.getStartDate()).thenReturn(start);
+        when(booking.getEndDate()).thenReturn(end);
+        when(booking.getStatus()).thenReturn(BookingStatus.APPROVED);
+        return booking;
     }
 
     @Test
     @DisplayName("Бросает исключение, если пользователь не найден")
     void getOwnerItemsWithBookingDetails_userNotFound() {
+        doCallRealMethod().when(userRepository).checkUserExists(999L);
         when(userRepository.getUserById(999L)).thenReturn(Optional.empty());
 
         assertThatThrownBy(() -> itemService.getOwnerItemsWithBookingDetails(999L))
                 .isInstanceOf(NoSuchElementException.class)
-                .hasMessageContaining("Пользователь с id 999 не найден");
+                .hasMessageContaining("Пользователь с id=999 не найден");
     }
 
     @Test
@@ -292,38 +337,91 @@ class ItemServiceImplTest {
         // --- Данные для теста ---
         String text = "дрель";
 
-        Item item = new Item();
-        item.setId(1L);
+        Item found = new Item();
+        found.setId(1L);
+        found.setName("Дрель");
+
+        Item withoutComments = new Item();
+        withoutComments.setId(2L);
+        withoutComments.setName("Дрель-шуруповёрт");
 
         Comment comment = new Comment();
         comment.setId(10L);
-
-        CommentNestedDto commentDto = new CommentNestedDto();
-        ItemFrontDto frontDto = new ItemFrontDto();
+        comment.setText("Хорошо сверлит");
+        comment.setItem(found);
 
         // --- Мок репозиториев ---
-        when(itemRepository.searchAvailableToBooking(text)).thenReturn(List.of(item));
-        when(commentRepository.findAllByItemId(1L)).thenReturn(List.of(comment));
+        when(itemSearchEngine.search(text)).thenReturn(List.of(found, withoutComments));
+        when(commentRepository.findAllByItemIdIn(List.of(1L, 2L))).thenReturn(List.of(comment));
 
-        // --- Мок статических мапперов ---
-        try (MockedStatic<CommentMapper> commentMapperMock = mockStatic(CommentMapper.class);
-             MockedStatic<ItemMapper> itemMapperMock = mockStatic(ItemMapper.class)) {
+        // --- Вызов тестируемого метода ---
+        List<ItemFrontDto> result = List.copyOf(itemService.itemSearchByNameOrDescription(text));
 
-            commentMapperMock.when(() -> CommentMapper.commentToCommentNestedDtoList(List.of(comment)))
-                    .thenReturn(List.of(commentDto));
+        // --- Проверки ---
+        assertEquals(2, result.size());
+        assertThat(result.get(0).getComments()).containsExactly(new CommentNestedDto("Хорошо сверлит"));
+        assertTrue(result.get(1).getComments().isEmpty());
 
-            itemMapperMock.when(() -> ItemMapper.itemToFrontItemDto(List.of(commentDto), item))
-                    .thenReturn(frontDto);
+        verify(itemSearchEngine).search(text);
+        verify(commentRepository).findAllByItemIdIn(List.of(1L, 2L));
+        verifyNoMoreInteractions(commentRepository);
+    }
 
-            // --- Вызов тестируемого метода ---
-            Collection<ItemFrontDto> result = itemService.itemSearchByNameOrDescription(text);
+    @Test
+    @DisplayName("Календарь доступности: занятые периоды обрезаются по границам, свободные - промежутки между ними")
+    void getAvailability_splitsRangeIntoBookedAndFree() {
+        LocalDateTime from = LocalDateTime.now().plusDays(1).withNano(0);
+        LocalDateTime to = from.plusHours(10);
+        when(itemRepository.getItemById(10L)).thenReturn(Optional.of(item));
+        when(bookingIntervalIndex.approvedBetween(10L, from, to)).thenReturn(List.of(
+                new BookingIntervalIndex.Period(from.minusHours(1), from.plusHours(2)),
+                new BookingIntervalIndex.Period(from.plusHours(4), from.plusHours(6)),
+                new BookingIntervalIndex.Period(from.plusHours(9), to.plusHours(3))));
+
+        ItemAvailabilityDto availability = itemService.getAvailability(10L, from, to);
+
+        assertThat(availability.getBooked())
+                .extracting(AvailabilityPeriodDto::getStart, AvailabilityPeriodDto::getEnd)
+                .containsExactly(tuple(from, from.plusHours(2)),
+                        tuple(from.plusHours(4), from.plusHours(6)),
+                        tuple(from.plusHours(9), to));
+        assertThat(availability.getFree())
+                .extracting(AvailabilityPeriodDto::getStart, AvailabilityPeriodDto::getEnd)
+                .containsExactly(tuple(from.plusHours(2), from.plusHours(4)),
+                        tuple(from.plusHours(6), from.plusHours(9)));
+        verifyNoInteractions(bookingRepository);
+    }
 
-            // --- Проверки ---
-            assertEquals(1, result.size());
-            assertTrue(result.contains(frontDto));
+    @Test
+    @DisplayName("Календарь доступности: прошедший период не запрашивается и свободным не считается")
+    void getAvailability_pastRange_empty() {
+        LocalDateTime from = LocalDateTime.now().minusDays(2);
+        when(itemRepository.getItemById(10L)).thenReturn(Optional.of(item));
+
+        ItemAvailabilityDto availability = itemService.getAvailability(10L, from, from.plusDays(1));
+
+        assertThat(availability.getBooked()).isEmpty();
+        assertThat(availability.getFree()).isEmpty();
+        verifyNoInteractions(bookingIntervalIndex);
+    }
+
+    @Test
+    @DisplayName("Календарь доступности: конец периода раньше начала - ошибка валидации")
+    void getAvailability_invalidRange_throwsValidation() {
+        LocalDateTime from = LocalDateTime.now().plusDays(1);
+
+        assertThatThrownBy(() -> itemService.getAvailability(10L, from, from.minusHours(1)))
+                .isInstanceOf(ValidationException.class);
+        verifyNoInteractions(itemRepository, bookingIntervalIndex);
+    }
+
+    @Test
+    @DisplayName("Календарь доступности несуществующей вещи - NoSuchElementException")
+    void getAvailability_itemNotFound() {
+        LocalDateTime from = LocalDateTime.now().plusDays(1);
+        when(itemRepository.getItemById(99L)).thenReturn(Optional.empty());
 
-            verify(itemRepository).searchAvailableToBooking(text);
-            verify(commentRepository).findAllByItemId(1L);
-        }
+        assertThatThrownBy(() -> itemService.getAvailability(99L, from, from.plusHours(1)))
+                .isInstanceOf(NoSuchElementException.class);
     }
 }
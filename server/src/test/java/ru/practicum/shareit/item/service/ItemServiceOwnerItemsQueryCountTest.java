@@ -0,0 +1,110 @@
+package ru.practicum.shareit.item.service;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import ru.practicum.shareit.booking.BookingStatus;
+import ru.practicum.shareit.booking.model.Booking;
+import ru.practicum.shareit.booking.service.BookingIntervalIndex;
+import ru.practicum.shareit.item.dto.ItemFrontDtoWithBookingDate;
+import ru.practicum.shareit.item.model.Comment;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.item.search.LikeItemSearchEngine;
+import ru.practicum.shareit.transaction.OptimisticLockRetry;
+import ru.practicum.shareit.user.model.User;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DataJpaTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+@Import({ItemServiceImpl.class, LikeItemSearchEngine.class, OptimisticLockRetry.class, BookingIntervalIndex.class})
+class ItemServiceOwnerItemsQueryCountTest {
+
+    @Autowired
+    private ItemService itemService;
+
+    @Autowired
+    private EntityManager em;
+
+    @Autowired
+    private EntityManagerFactory emf;
+
+    private User createUser(String name, String email) {
+        User user = new User();
+        user.setName(name);
+        user.setEmail(email);
+        em.persist(user);
+        return user;
+    }
+
+    private void createItemsWithHistory(User owner, User booker, int count) {
+        for (int i = 0; i < count; i++) {
+            Item item = new Item();
+            item.setName("Item " + i);
+            item.setDescription("Description " + i);
+            item.setAvailable(true);
+            item.setOwner(owner);
+            em.persist(item);
+
+            createBooking(item, booker, LocalDateTime.now().minusDays(3), LocalDateTime.now().minusDays(2));
+            createBooking(item, booker, LocalDateTime.now().plusDays(2), LocalDateTime.now().plusDays(3));
+
+            Comment comment = new Comment();
+            comment.setText("Comment " + i);
+            comment.setItem(item);
+            comment.setAuthor(booker);
+            em.persist(comment);
+        }
+    }
+
+    private void createBooking(Item item, User booker, LocalDateTime start, LocalDateTime end) {
+        Booking booking = new Booking();
+        booking.setItem(item);
+        booking.setBooker(booker);
+        booking.setStartDate(start);
+        booking.setEndDate(end);
+        booking.setStatus(BookingStatus.APPROVED);
+        em.persist(booking);
+    }
+
+    private long countStatements(Long ownerId, int expectedItems) {
+        em.flush();
+        em.clear();
+        Statistics statistics = emf.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+
+        Collection<ItemFrontDtoWithBookingDate> result = itemService.getOwnerItemsWithBookingDetails(ownerId);
+
+        assertThat(result)
+                .hasSize(expectedItems)
+                .allSatisfy(dto -> {
+                    assertThat(dto.getLastBooking()).isNotNull();
+                    assertThat(dto.getNextBooking()).isNotNull();
+                    assertThat(dto.getComment()).hasSize(1);
+                });
+        return statistics.getPrepareStatementCount();
+    }
+
+    @Test
+    @DisplayName("getOwnerItemsWithBookingDetails — число SQL-запросов не зависит от количества вещей")
+    void getOwnerItemsWithBookingDetails_statementCountIsConstant() {
+        User booker = createUser("Booker", "booker@mail.com");
+        User smallOwner = createUser("Small owner", "small@mail.com");
+        User largeOwner = createUser("Large owner", "large@mail.com");
+        createItemsWithHistory(smallOwner, booker, 2);
+        createItemsWithHistory(largeOwner, booker, 50);
+
+        long smallOwnerStatements = countStatements(smallOwner.getId(), 2);
+        long largeOwnerStatements = countStatements(largeOwner.getId(), 50);
+
+        assertThat(largeOwnerStatements).isEqualTo(smallOwnerStatements);
+    }
+}
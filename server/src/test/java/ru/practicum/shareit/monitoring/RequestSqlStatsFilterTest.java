@@ -0,0 +1,76 @@
+package ru.practicum.shareit.monitoring;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.servlet.http.HttpServlet;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class RequestSqlStatsFilterTest {
+    private MeterRegistry meterRegistry;
+    private RequestSqlStatsFilter filter;
+
+    @BeforeEach
+    @SuppressWarnings("unchecked")
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        ObjectProvider<MeterRegistry> meterRegistryProvider = mock(ObjectProvider.class);
+        when(meterRegistryProvider.getIfAvailable(any())).thenReturn(meterRegistry);
+        filter = new RequestSqlStatsFilter(meterRegistryProvider, 20, Duration.ofMillis(200));
+    }
+
+    // Обработчик, выполняющий statements SQL-запросов по millis мс
+    private static HttpServlet handler(int statements, long millis) {
+        return new HttpServlet() {
+            @Override
+            protected void service(HttpServletRequest request, HttpServletResponse response) {
+                request.setAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE, "/items/{id}");
+                for (int i = 0; i < statements; i++) {
+                    RequestSqlStats.recordStatement(TimeUnit.MILLISECONDS.toNanos(millis));
+                }
+            }
+        };
+    }
+
+    @Test
+    @DisplayName("Число SQL-запросов и время JDBC записываются в метрики с шаблоном uri")
+    void doFilter_recordsStatementsAndJdbcTimePerEndpoint() throws Exception {
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        filter.doFilter(new MockHttpServletRequest("GET", "/items/1"), response,
+                new MockFilterChain(handler(3, 2)));
+        filter.doFilter(new MockHttpServletRequest("GET", "/items/2"), response,
+                new MockFilterChain(handler(1, 2)));
+
+        assertThat(meterRegistry.get(RequestSqlStatsFilter.STATEMENTS_METRIC)
+                .tags("method", "GET", "uri", "/items/{id}").summary().totalAmount()).isEqualTo(4);
+        assertThat(meterRegistry.get(RequestSqlStatsFilter.TIME_METRIC)
+                .tags("method", "GET", "uri", "/items/{id}").timer().totalTime(TimeUnit.MILLISECONDS)).isEqualTo(8);
+    }
+
+    @Test
+    @DisplayName("Запросы вне обработки HTTP-запроса в сводку не попадают")
+    void recordStatement_outsideRequest_ignored() throws Exception {
+        RequestSqlStats.recordStatement(1_000);
+        filter.doFilter(new MockHttpServletRequest("GET", "/items/1"), new MockHttpServletResponse(),
+                new MockFilterChain(handler(0, 0)));
+        RequestSqlStats.recordStatement(1_000);
+
+        assertThat(meterRegistry.get(RequestSqlStatsFilter.STATEMENTS_METRIC).summary().totalAmount()).isZero();
+    }
+}
@@ -0,0 +1,146 @@
+package ru.practicum.shareit.monitoring;
+
+import io.micrometer.observation.ObservationRegistry;
+import io.micrometer.tracing.handler.DefaultTracingObservationHandler;
+import io.micrometer.tracing.otel.bridge.OtelCurrentTraceContext;
+import io.micrometer.tracing.otel.bridge.OtelTracer;
+import io.opentelemetry.api.common.AttributeKey;
+import io.opentelemetry.api.trace.StatusCode;
+import io.opentelemetry.sdk.testing.exporter.InMemorySpanExporter;
+import io.opentelemetry.sdk.trace.SdkTracerProvider;
+import io.opentelemetry.sdk.trace.data.SpanData;
+import io.opentelemetry.sdk.trace.export.SimpleSpanProcessor;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.EnableAspectJAutoProxy;
+import org.springframework.context.annotation.Import;
+import ru.practicum.shareit.booking.service.BookingIntervalIndex;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.item.repository.ItemRepository;
+import ru.practicum.shareit.item.search.LikeItemSearchEngine;
+import ru.practicum.shareit.item.service.ItemService;
+import ru.practicum.shareit.item.service.ItemServiceImpl;
+import ru.practicum.shareit.transaction.OptimisticLockRetry;
+import ru.practicum.shareit.user.model.User;
+import ru.practicum.shareit.user.repository.UserRepository;
+
+import java.util.List;
+import java.util.NoSuchElementException;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+// Трассировка без HTTP и коллектора: спаны наблюдений аспекта синхронно попадают в экспортёр в памяти
+@DataJpaTest
+@Import({ServiceObservationAspect.class, ServiceObservationAspectTest.TracingTestConfig.class, ItemServiceImpl.class,
+        LikeItemSearchEngine.class, OptimisticLockRetry.class, BookingIntervalIndex.class})
+class ServiceObservationAspectTest {
+
+    @TestConfiguration
+    @EnableAspectJAutoProxy(proxyTargetClass = true)
+    static class TracingTestConfig {
+
+        @Bean
+        InMemorySpanExporter spanExporter() {
+            return InMemorySpanExporter.create();
+        }
+
+        @Bean
+        SdkTracerProvider sdkTracerProvider(InMemorySpanExporter spanExporter) {
+            return SdkTracerProvider.builder()
+                    .addSpanProcessor(SimpleSpanProcessor.create(spanExporter))
+                    .build();
+        }
+
+        @Bean
+        ObservationRegistry observationRegistry(SdkTracerProvider sdkTracerProvider) {
+            OtelTracer tracer = new OtelTracer(sdkTracerProvider.get("shareit-test"), new OtelCurrentTraceContext(),
+                    event -> {
+                    });
+            ObservationRegistry registry = ObservationRegistry.create();
+            registry.observationConfig().observationHandler(new DefaultTracingObservationHandler(tracer));
+            return registry;
+        }
+    }
+
+    @Autowired
+    private ItemService itemService;
+
+    @Autowired
+    private ItemRepository itemRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private InMemorySpanExporter spanExporter;
+
+    private User owner;
+
+    @BeforeEach
+    void setUp() {
+        owner = new User();
+        owner.setName("Owner");
+        owner.setEmail("owner@mail.com");
+        owner = userRepository.save(owner);
+
+        Item item = new Item();
+        item.setName("Drill");
+        item.setDescription("Cordless drill");
+        item.setAvailable(true);
+        item.setOwner(owner);
+        itemRepository.save(item);
+
+        spanExporter.reset();
+    }
+
+    // Класс и метод вызова из атрибутов спана: имя спана при экспорте приводится к kebab-case и обрезается
+    private static String calledMethod(SpanData span) {
+        return span.getAttributes().get(AttributeKey.stringKey("class")) + "."
+                + span.getAttributes().get(AttributeKey.stringKey("method"));
+    }
+
+    private SpanData span(List<SpanData> spans, String calledMethod) {
+        return spans.stream()
+                .filter(span -> calledMethod(span).equals(calledMethod))
+                .findFirst()
+                .orElseThrow();
+    }
+
+    @Test
+    @DisplayName("Вызов сервиса - спан с дочерними спанами запросов к репозиториям в одной трассе")
+    void serviceCall_tracedDownToRepositoryCalls() {
+        itemService.getOwnerItemsWithBookingDetails(owner.getId());
+
+        List<SpanData> spans = spanExporter.getFinishedSpanItems();
+        SpanData service = span(spans, "ItemServiceImpl.getOwnerItemsWithBookingDetails");
+        assertThat(service.getAttributes().get(AttributeKey.stringKey("class"))).isEqualTo("ItemServiceImpl");
+        assertThat(service.getAttributes().get(AttributeKey.stringKey("method")))
+                .isEqualTo("getOwnerItemsWithBookingDetails");
+
+        assertThat(spans)
+                .filteredOn(span -> span.getParentSpanId().equals(service.getSpanId()))
+                .extracting(ServiceObservationAspectTest::calledMethod)
+                .containsExactly("ItemRepository.findByOwnerId",
+                        "BookingRepository.getLastAndNextBookingsByItemIds",
+                        "CommentRepository.findAllByItemIdIn");
+        assertThat(spans).extracting(SpanData::getTraceId).containsOnly(service.getTraceId());
+    }
+
+    @Test
+    @DisplayName("Исключение в сервисе отмечает спан ошибкой")
+    void serviceError_recordedOnSpan() {
+        assertThatThrownBy(() -> itemService.getOwnerItemsWithBookingDetails(owner.getId() + 1000))
+                .isInstanceOf(NoSuchElementException.class);
+
+        SpanData service = span(spanExporter.getFinishedSpanItems(), "ItemServiceImpl.getOwnerItemsWithBookingDetails");
+        assertThat(service.getStatus().getStatusCode()).isEqualTo(StatusCode.ERROR);
+        assertThat(span(spanExporter.getFinishedSpanItems(), "UserRepository.checkUserExists").getParentSpanId())
+                .isEqualTo(service.getSpanId());
+    }
+}
@@ -0,0 +1,78 @@
+package ru.practicum.shareit.monitoring;
+
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import ru.practicum.shareit.user.model.User;
+import ru.practicum.shareit.user.repository.UserRepository;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DataJpaTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+@Import(SlowQueriesEndpoint.class)
+class SqlStatsTest {
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private EntityManager em;
+
+    @Autowired
+    private SlowQueriesEndpoint slowQueriesEndpoint;
+
+    @AfterEach
+    void tearDown() {
+        RequestSqlStats.stop();
+    }
+
+    private void saveUser(String email) {
+        User user = new User();
+        user.setName("User");
+        user.setEmail(email);
+        userRepository.save(user);
+    }
+
+    @Test
+    @DisplayName("Слушатель сессии считает каждый выполненный SQL-запрос в сводке текущего запроса")
+    void sessionListener_countsStatementsOfCurrentRequest() {
+        saveUser("first@mail.com");
+        saveUser("second@mail.com");
+        em.flush();
+        em.clear();
+
+        RequestSqlStats stats = RequestSqlStats.start();
+        userRepository.findAll();
+        em.createQuery("select count(u) from User u", Long.class).getSingleResult();
+        RequestSqlStats.stop();
+        userRepository.findAll();
+
+        assertThat(stats.statements()).isEqualTo(2);
+        assertThat(stats.jdbcTime()).isPositive();
+    }
+
+    @Test
+    @DisplayName("/actuator/slowqueries возвращает выполненные запросы не больше limit, сброс очищает статистику")
+    void slowQueries_listsExecutedQueries() {
+        slowQueriesEndpoint.reset();
+        saveUser("user@mail.com");
+        em.flush();
+        em.createQuery("select u from User u where u.email = :email", User.class)
+                .setParameter("email", "user@mail.com")
+                .getResultList();
+        em.createQuery("select count(u) from User u", Long.class).getSingleResult();
+
+        assertThat(slowQueriesEndpoint.slowQueries(null, "total"))
+                .extracting(SlowQueriesEndpoint.SlowQuery::query)
+                .contains("select u from User u where u.email = :email", "select count(u) from User u");
+        assertThat(slowQueriesEndpoint.slowQueries(1, null)).hasSize(1)
+                .allSatisfy(query -> assertThat(query.executions()).isEqualTo(1));
+
+        slowQueriesEndpoint.reset();
+        assertThat(slowQueriesEndpoint.slowQueries(null, null)).isEmpty();
+    }
+}
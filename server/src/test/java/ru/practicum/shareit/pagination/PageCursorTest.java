@@ -0,0 +1,67 @@
+package ru.practicum.shareit.pagination;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import ru.practicum.shareit.exception.ValidationException;
+
+import java.time.LocalDateTime;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class PageCursorTest {
+
+    @Test
+    @DisplayName("encode/decode — курсор восстанавливается без потерь")
+    void encodeDecode_roundTrip() {
+        PageCursor cursor = new PageCursor(LocalDateTime.of(2030, 5, 17, 10, 30, 15, 123_000_000), 42L);
+
+        assertThat(PageCursor.decode(cursor.encode())).isEqualTo(cursor);
+    }
+
+    @Test
+    @DisplayName("decode — без курсора возвращается начало выборки")
+    void decode_emptyToken_returnsFirst() {
+        assertThat(PageCursor.decode(null)).isEqualTo(PageCursor.FIRST);
+        assertThat(PageCursor.decode(" ")).isEqualTo(PageCursor.FIRST);
+    }
+
+    @Test
+    @DisplayName("decode — некорректный курсор приводит к ValidationException")
+    void decode_invalidToken_throwsValidationException() {
+        assertThatThrownBy(() -> PageCursor.decode("not-a-cursor"))
+                .isInstanceOf(ValidationException.class)
+                .hasMessageContaining("Некорректный курсор страницы");
+    }
+
+    @Test
+    @DisplayName("toPageable — без курсора используется смещение from, с курсором - первая страница")
+    void toPageable() {
+        String token = new PageCursor(LocalDateTime.of(2030, 1, 1, 0, 0), 1L).encode();
+
+        assertThat(PageCursor.toPageable(20, 10, null)).isEqualTo(PageRequest.of(2, 10));
+        assertThat(PageCursor.toPageable(20, 10, token)).isEqualTo(PageRequest.of(0, 10));
+    }
+
+    @Test
+    @DisplayName("toPageable — from, не кратный size, даёт смещение ровно from, без повторно выданных записей")
+    void toPageable_offsetNotMultipleOfSize() {
+        Pageable pageable = PageCursor.toPageable(5, 10, null);
+
+        assertThat(pageable.getOffset()).isEqualTo(5);
+        assertThat(pageable.getPageSize()).isEqualTo(10);
+        assertThat(pageable.next().getOffset()).isEqualTo(15);
+        assertThat(pageable.previousOrFirst().getOffset()).isZero();
+    }
+
+    @Test
+    @DisplayName("toPageable — отрицательный from или неположительный size приводят к ValidationException")
+    void toPageable_invalidParameters() {
+        assertThatThrownBy(() -> PageCursor.toPageable(-1, 10, null))
+                .isInstanceOf(ValidationException.class);
+        assertThatThrownBy(() -> PageCursor.toPageable(0, 0, null))
+                .isInstanceOf(ValidationException.class);
+    }
+}
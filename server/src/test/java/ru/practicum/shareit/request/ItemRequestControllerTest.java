@@ -11,6 +11,7 @@ import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.http.MediaType;
 import org.springframework.test.web.servlet.MockMvc;
 import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import ru.practicum.shareit.pagination.KeysetPage;
 import ru.practicum.shareit.request.dto.ItemRequestAddDto;
 import ru.practicum.shareit.request.dto.ItemRequestCreateDto;
 import ru.practicum.shareit.request.dto.ItemRequestWithAnswer;
@@ -22,6 +23,7 @@ import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.when;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
@@ -92,12 +94,14 @@ class ItemRequestControllerTest {
         dto.setId(2L);
         dto.setDescription("Чужой запрос");
 
-        when(itemRequestService.getOtherUserRequests(5L))
-                .thenReturn(List.of(dto));
+        when(itemRequestService.getOtherUserRequests(5L, 0, 1, null))
+                .thenReturn(new KeysetPage<>(List.of(dto), "next"));
 
         mvc.perform(get("/requests/all")
-                        .header("X-Sharer-User-Id", 5L))
+                        .header("X-Sharer-User-Id", 5L)
+                        .param("size", "1"))
                 .andExpect(status().isOk())
+                .andExpect(header().string(KeysetPage.NEXT_CURSOR_HEADER, "next"))
                 .andExpect(jsonPath("$[0].id").value(2L))
                 .andExpect(jsonPath("$[0].description").value("Чужой запрос"));
     }
@@ -7,6 +7,12 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.PageRequest;
+import ru.practicum.shareit.item.dto.ItemNestedRequestDto;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.item.repository.ItemRepository;
+import ru.practicum.shareit.pagination.KeysetPage;
+import ru.practicum.shareit.pagination.PageCursor;
 import ru.practicum.shareit.request.dto.ItemRequestAddDto;
 import ru.practicum.shareit.request.dto.ItemRequestCreateDto;
 import ru.practicum.shareit.request.dto.ItemRequestWithAnswer;
@@ -33,6 +39,9 @@ class ItemRequestServiceTest {
     @Mock
     private UserRepository userRepository;
 
+    @Mock
+    private ItemRepository itemRepository;
+
     @InjectMocks
     private ItemRequestService itemRequestService;
 
@@ -93,7 +102,6 @@ class ItemRequestServiceTest {
     @Test
     @DisplayName("getOwnRequests — успешно")
     void getOwnRequests_success() {
-        when(userRepository.getUserById(1L)).thenReturn(Optional.of(user));
         when(itemRequestRepository.findByRequesterIdOrderByCreatedDesc(1L))
                 .thenReturn(List.of(request));
 
@@ -106,6 +114,7 @@ class ItemRequestServiceTest {
     @Test
     @DisplayName("getOwnRequests — пользователь не найден")
     void getOwnRequests_userNotFound() {
+        doCallRealMethod().when(userRepository).checkUserExists(1L);
         when(userRepository.getUserById(1L)).thenReturn(Optional.empty());
 
         assertThatThrownBy(() -> itemRequestService.getOwnRequests(1L))
@@ -120,22 +129,58 @@ class ItemRequestServiceTest {
     @Test
     @DisplayName("getOtherUserRequests — успешно")
     void getOtherUserRequests_success() {
-        when(userRepository.getUserById(1L)).thenReturn(Optional.of(user));
-        when(itemRequestRepository.findByRequesterIdNotOrderByCreatedDesc(1L))
+        Item answer = new Item();
+        answer.setId(20L);
+        answer.setName("Молоток");
+        answer.setOwner(new User(2L, "Owner", "owner@mail.com"));
+        answer.setItemRequest(request);
+
+        when(itemRequestRepository.findOtherUserRequests(1L, PageCursor.FIRST.getTimestamp(),
+                PageCursor.FIRST.getId(), PageRequest.of(0, 10)))
                 .thenReturn(List.of(request));
+        when(itemRepository.findAllByItemRequestIdIn(List.of(10L))).thenReturn(List.of(answer));
 
-        List<ItemRequestWithAnswer> result = itemRequestService.getOtherUserRequests(1L);
+        KeysetPage<ItemRequestWithAnswer> page = itemRequestService.getOtherUserRequests(1L, 0, 10, null);
 
-        assertThat(result).hasSize(1);
-        assertThat(result.get(0).getId()).isEqualTo(10L);
+        assertThat(page.getContent()).hasSize(1);
+        assertThat(page.getContent().get(0).getId()).isEqualTo(10L);
+        assertThat(page.getContent().get(0).getItems())
+                .extracting(ItemNestedRequestDto::getId)
+                .containsExactly(20L);
+        assertThat(page.getNextCursor()).isNull();
+    }
+
+    @Test
+    @DisplayName("getOtherUserRequests — полная страница возвращает курсор, по нему читается следующая")
+    void getOtherUserRequests_nextPageByCursor() {
+        PageCursor next = new PageCursor(request.getCreated(), request.getId());
+        when(itemRequestRepository.findOtherUserRequests(1L, PageCursor.FIRST.getTimestamp(),
+                PageCursor.FIRST.getId(), PageRequest.of(0, 1)))
+                .thenReturn(List.of(request));
+        when(itemRequestRepository.findOtherUserRequests(1L, next.getTimestamp(), next.getId(),
+                PageRequest.of(0, 1)))
+                .thenReturn(List.of());
+        when(itemRepository.findAllByItemRequestIdIn(List.of(10L))).thenReturn(List.of());
+
+        KeysetPage<ItemRequestWithAnswer> first = itemRequestService.getOtherUserRequests(1L, 0, 1, null);
+        assertThat(PageCursor.decode(first.getNextCursor())).isEqualTo(next);
+
+        KeysetPage<ItemRequestWithAnswer> second = itemRequestService.getOtherUserRequests(1L, 0, 1,
+                first.getNextCursor());
+
+        assertThat(second.getContent()).isEmpty();
+        assertThat(second.getNextCursor()).isNull();
+        // Для пустой страницы ответы не запрашиваются
+        verify(itemRepository, times(1)).findAllByItemRequestIdIn(any());
     }
 
     @Test
     @DisplayName("getOtherUserRequests — пользователь не найден")
     void getOtherUserRequests_userNotFound() {
+        doCallRealMethod().when(userRepository).checkUserExists(1L);
         when(userRepository.getUserById(1L)).thenReturn(Optional.empty());
 
-        assertThatThrownBy(() -> itemRequestService.getOtherUserRequests(1L))
+        assertThatThrownBy(() -> itemRequestService.getOtherUserRequests(1L, 0, 10, null))
                 .isInstanceOf(NoSuchElementException.class)
                 .hasMessageContaining("Пользователь с id=1 не найден");
     }
@@ -5,11 +5,15 @@ import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.data.domain.PageRequest;
+import ru.practicum.shareit.pagination.PageCursor;
 import ru.practicum.shareit.request.model.ItemRequest;
 import ru.practicum.shareit.user.model.User;
 import ru.practicum.shareit.user.repository.UserRepository;
 
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
 import java.util.List;
 import java.util.Optional;
 
@@ -78,10 +82,39 @@ class ItemRequestRepositoryTest {
     }
 
     @Test
-    @DisplayName("findByRequesterIdNotOrderByCreatedDesc возвращает запросы других пользователей")
-    void findByRequesterIdNotOrderByCreatedDesc() {
-        List<ItemRequest> requests = itemRequestRepository.findByRequesterIdNotOrderByCreatedDesc(user1.getId());
+    @DisplayName("findOtherUserRequests возвращает запросы других пользователей")
+    void findOtherUserRequests() {
+        List<ItemRequest> requests = itemRequestRepository.findOtherUserRequests(user1.getId(),
+                PageCursor.FIRST.getTimestamp(), PageCursor.FIRST.getId(), PageRequest.of(0, 10));
         assertThat(requests).hasSize(1);
         assertThat(requests.get(0).getRequester().getName()).isEqualTo("Bob");
     }
+
+    @Test
+    @DisplayName("findOtherUserRequests читает страницы по курсору (created, id) без пропусков и повторов")
+    void findOtherUserRequests_keysetPages() {
+        LocalDateTime created = LocalDateTime.of(2030, 1, 1, 12, 0);
+        for (int i = 0; i < 5; i++) {
+            ItemRequest request = new ItemRequest();
+            request.setDescription("Запрос " + i);
+            request.setRequester(user2);
+            // Одинаковое время у пар запросов: порядок внутри пары определяется id
+            request.setCreated(created.minusHours(i / 2));
+            itemRequestRepository.save(request);
+        }
+
+        List<ItemRequest> firstPage = itemRequestRepository.findOtherUserRequests(user1.getId(),
+                PageCursor.FIRST.getTimestamp(), PageCursor.FIRST.getId(), PageRequest.of(0, 3));
+        ItemRequest last = firstPage.getLast();
+        List<ItemRequest> secondPage = itemRequestRepository.findOtherUserRequests(user1.getId(),
+                last.getCreated(), last.getId(), PageRequest.of(0, 3));
+
+        List<ItemRequest> all = new ArrayList<>(firstPage);
+        all.addAll(secondPage);
+        assertThat(all).hasSize(6)
+                .extracting(ItemRequest::getId)
+                .doesNotHaveDuplicates();
+        assertThat(all).isSortedAccordingTo(Comparator.comparing(ItemRequest::getCreated)
+                .thenComparing(ItemRequest::getId).reversed());
+    }
 }
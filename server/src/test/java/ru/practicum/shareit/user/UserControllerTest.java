@@ -7,8 +7,11 @@ import org.mockito.Mockito;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Import;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
 import org.springframework.test.web.servlet.MockMvc;
+import ru.practicum.shareit.config.WebConfig;
 import ru.practicum.shareit.exception.ValidationException;
 import ru.practicum.shareit.user.dto.UserAddDto;
 import ru.practicum.shareit.user.dto.UserFrontDto;
@@ -21,6 +24,7 @@ import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.
 
 
 @WebMvcTest(UserController.class)
+@Import(WebConfig.class)
 class UserControllerTest {
 
     @Autowired
@@ -95,6 +99,29 @@ class UserControllerTest {
         Mockito.verify(userService).getUserFrontDtoById(1L);
     }
 
+    @Test
+    @DisplayName("getUserFrontDtoById — ответ содержит ETag, повторный запрос с If-None-Match возвращает 304 без тела")
+    void getUserById_ShouldReturnNotModified_WhenEtagMatches() throws Exception {
+        UserFrontDto dto = new UserFrontDto();
+        dto.setId(1L);
+        dto.setName("Alice");
+        dto.setEmail("alice@example.com");
+
+        Mockito.when(userService.getUserFrontDtoById(1L)).thenReturn(dto);
+
+        String etag = mockMvc.perform(get("/users/{userId}", 1L)
+                        .accept(MediaType.APPLICATION_JSON))
+                .andExpect(status().isOk())
+                .andExpect(header().exists(HttpHeaders.ETAG))
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+
+        mockMvc.perform(get("/users/{userId}", 1L)
+                        .accept(MediaType.APPLICATION_JSON)
+                        .header(HttpHeaders.IF_NONE_MATCH, etag))
+                .andExpect(status().isNotModified())
+                .andExpect(content().string(""));
+    }
+
     @Test
     @DisplayName("getUserFrontDtoById — возвращает 404, если пользователь не найден")
     void getUserById_ShouldReturnNotFound_WhenUserDoesNotExist() throws Exception {
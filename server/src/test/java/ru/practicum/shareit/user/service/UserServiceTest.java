@@ -1,5 +1,7 @@
 package ru.practicum.shareit.user.service;
 
+import jakarta.persistence.Cache;
+import jakarta.persistence.EntityManagerFactory;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
@@ -9,6 +11,7 @@ import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.mockito.stubbing.OngoingStubbing;
 import ru.practicum.shareit.exception.ValidationException;
+import ru.practicum.shareit.request.model.ItemRequest;
 import ru.practicum.shareit.user.dto.UserAddDto;
 import ru.practicum.shareit.user.dto.UserFrontDto;
 import ru.practicum.shareit.user.dto.UserUpdateDto;
@@ -30,6 +33,12 @@ class UserServiceTest {
     @Mock
     private UserRepository userRepository;
 
+    @Mock
+    private EntityManagerFactory entityManagerFactory;
+
+    @Mock
+    private Cache cache;
+
     @InjectMocks
     private UserService userService;
 
@@ -148,6 +157,7 @@ class UserServiceTest {
     void delete_ShouldCallRepositoryDelete_WhenUserExists() {
         // given
         when(userRepository.getUserById(1L)).thenReturn(Optional.of(existingUser));
+        when(entityManagerFactory.getCache()).thenReturn(cache);
 
         // when
         userService.delete(1L);
@@ -156,6 +166,8 @@ class UserServiceTest {
         verify(userRepository).getUserById(1L);
         verify(userRepository).delete(existingUser);
         verifyNoMoreInteractions(userRepository);
+        // запросы пользователя удалены каскадом в БД - их записи в кэше второго уровня сброшены
+        verify(cache).evict(ItemRequest.class);
     }
 
     @Test